@@ -0,0 +1,75 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency and allocation of {@code find} with a token, a phrase and a misspelt query, over a full scan, a
+ * parallel scan and the search index. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the allocation
+ * per query, which for a scan should not grow with the number of tasks once their search texts are cached.
+ * The parallel scan should approach the sequential time divided by the number of cores. With the query cache,
+ * every call after the first repeats a cached query and should take microseconds at any list size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FindBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    @Param({"chapter 4242", "\"meeting 77\"", "bokk 99"})
+    public String query;
+
+    private TaskList list;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        list = new TaskList(TaskList.UNBOUNDED);
+        if (indexed) {
+            list.enableSearchIndex();
+        }
+        if (parallel) {
+            list.enableParallelFind();
+        }
+        if (cached) {
+            list.enableQueryCache();
+        }
+        for (int i = 0; i < tasks; i++) {
+            switch (i % 3) {
+                case 0 -> list.add("return book " + i + " /by 2025-09-02", TaskType.DEADLINE);
+                case 1 -> list.add("read chapter " + i, TaskType.TODO);
+                default -> list.add("team meeting " + i + " /from 2025-09-02T14:30 /to 2025-09-02T15:00", TaskType.EVENT);
+            }
+        }
+    }
+
+    @Benchmark
+    public int find() {
+        return list.find(query).length();
+    }
+}
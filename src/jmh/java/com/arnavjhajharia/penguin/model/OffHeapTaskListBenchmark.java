@@ -0,0 +1,69 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of keeping a large list alive: the duration of a full collection while {@code tasks} tasks are held on
+ * the heap or in the off-heap arena, and the time to build the list. Run with {@code -prof gc} to compare
+ * allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+public class OffHeapTaskListBenchmark {
+
+    @Param({"2000000"})
+    public int tasks;
+
+    @Param({"false", "true"})
+    public boolean offHeap;
+
+    private TaskList list;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        list = build();
+    }
+
+    private TaskList build() {
+        TaskList tl = new TaskList(TaskList.UNBOUNDED);
+        if (offHeap) {
+            tl.enableOffHeap();
+        }
+        for (int i = 0; i < tasks; i++) {
+            if (i % 3 == 0) {
+                tl.add("return book " + i + " /by 2025-09-02", TaskType.DEADLINE);
+            } else {
+                tl.add("read chapter " + i, TaskType.TODO);
+            }
+        }
+        return tl;
+    }
+
+    @Benchmark
+    public int fullCollection() {
+        System.gc();
+        return list.size();
+    }
+
+    @Benchmark
+    public int buildList() {
+        return build().size();
+    }
+}
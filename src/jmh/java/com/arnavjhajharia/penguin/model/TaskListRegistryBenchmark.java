@@ -0,0 +1,82 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of commands on a {@link TaskListRegistry} when every thread works on its own list. Run with
+ * {@code -t 1} and then {@code -t} set to the number of cores: with no lock shared between lists, the total
+ * throughput should grow about linearly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TaskListRegistryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Registry {
+        final AtomicInteger nextList = new AtomicInteger();
+        Path dir;
+        TaskListRegistry registry;
+
+        @Setup(Level.Trial)
+        public void open() throws IOException {
+            dir = Files.createTempDirectory("penguin-registry");
+            registry = new TaskListRegistry(dir, TaskListRegistry.DEFAULT_MAX_OPEN,
+                    file -> new TaskList(TaskList.UNBOUNDED, file));
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            registry.close();
+            try (var files = Files.list(dir)) {
+                for (Path f : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(f);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Worker {
+        String name;
+
+        @Setup(Level.Trial)
+        public void pick(Registry r) {
+            name = "list" + r.nextList.getAndIncrement();
+        }
+    }
+
+    /** Leases the thread's list, adds a task, reads the first page and marks the task, like a short session. */
+    @Benchmark
+    public StringBuilder session(Registry r, Worker w) {
+        try (TaskListRegistry.Lease lease = r.registry.acquire(w.name)) {
+            TaskList tasks = lease.tasks();
+            tasks.add("water the plants", TaskType.TODO);
+            if (tasks.size() > 200) {
+                tasks.delete(0);
+            }
+            tasks.markDone(tasks.size() - 1);
+            return tasks.list(1);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of each {@link TaskList} operation as the list grows from a thousand to ten million tasks.
+ * Operations that should not depend on the size ({@code add}, {@code listPage}) must stay flat across the
+ * parameters; {@code find}, {@code save} and the middle deletion are expected to grow linearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class TaskListScalingBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int tasks;
+
+    private TaskList list;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void fill() throws IOException {
+        list = new TaskList(TaskList.UNBOUNDED);
+        for (int i = 0; i < tasks; i++) {
+            switch (i % 3) {
+                case 0 -> list.add("read chapter " + i, TaskType.TODO);
+                case 1 -> list.add("submit report " + i + " /by 2025-09-" + (10 + i % 19), TaskType.DEADLINE);
+                default -> list.add("standup " + i + " /2025-08-06T14:00 /2025-08-06T16:00", TaskType.EVENT);
+            }
+        }
+        file = Files.createTempFile("penguin-scale", ".txt");
+    }
+
+    /** Drops the tasks the previous iteration's {@code add} calls appended, from the end, in O(1) each. */
+    @Setup(Level.Iteration)
+    public void trim() {
+        while (list.size() > tasks) {
+            list.delete(list.size() - 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public StringBuilder add() {
+        return list.add("water the plants", TaskType.TODO);
+    }
+
+    /** Deletes from the middle and adds back, so that the size stays fixed. */
+    @Benchmark
+    public StringBuilder deleteMiddleThenAdd() {
+        list.delete(list.size() / 2);
+        return list.add("water the plants", TaskType.TODO);
+    }
+
+    @Benchmark
+    public StringBuilder listPage() {
+        return list.list(list.size() / 2 / TaskList.LIST_PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public StringBuilder find() {
+        return list.find("chapter 4242");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean save() {
+        return list.saveToFile(file.toString());
+    }
+}
@@ -0,0 +1,61 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to delete the first {@code deletes} tasks of a list of {@code tasks}, one {@code delete(0)} at a time,
+ * with and without tombstone mode. Shifting makes the whole run quadratic; tombstones make it linear plus
+ * the occasional compaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TombstoneDeleteBenchmark {
+
+    @Param({"1000000"})
+    public int tasks;
+
+    @Param({"100000"})
+    public int deletes;
+
+    @Param({"false", "true"})
+    public boolean tombstones;
+
+    private TaskList list;
+
+    /** A fresh list for every run, since each run deletes a tenth of it. */
+    @Setup(Level.Iteration)
+    public void fill() {
+        list = new TaskList(TaskList.UNBOUNDED);
+        if (tombstones) {
+            list.enableTombstones();
+        }
+        for (int i = 0; i < tasks; i++) {
+            list.add("read chapter " + i, TaskType.TODO);
+        }
+    }
+
+    @Benchmark
+    public int deleteFromHead() {
+        for (int i = 0; i < deletes; i++) {
+            list.delete(0);
+        }
+        return list.size();
+    }
+}
@@ -0,0 +1,76 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.util.concurrent.TimeUnit;
+
+import com.arnavjhajharia.penguin.model.task.Deadline;
+import com.arnavjhajharia.penguin.model.task.Event;
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link TaskLineParser#parse(CharSequence, int)} with the regex-split parser it replaced.
+ * Run with {@code -prof gc} to see the allocation rate per line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StorageLineParseBenchmark {
+
+    @Param({
+        "T | 0 | read chapter 42",
+        "D | 1 | submit report | 2025-09-17",
+        "E | 0 | standup | 2025-08-06T14:00 | 2025-08-06T16:00"
+    })
+    public String line;
+
+    @Benchmark
+    public Task tokenizer() {
+        return TaskLineParser.parse(line, 0);
+    }
+
+    @Benchmark
+    public Task regexSplit() {
+        return parseWithSplit(line, 0);
+    }
+
+    /** The parser as it was before {@link StorageLineTokenizer}, kept here as the baseline. */
+    private static Task parseWithSplit(String line, int nextId) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty()) return null;
+
+        String[] parts = trimmed.split("\\s*\\|\\s*");
+        if (parts.length < 3) return null;
+
+        String type = parts[0].trim().toUpperCase();
+        String doneFlag = parts[1].trim();
+        String desc = parts[2].trim();
+
+        Task t = switch (type) {
+            case "T" -> new Todo(desc, nextId);
+            case "D" -> new Deadline(desc, nextId, parts.length >= 4 ? parts[3].trim() : "");
+            case "E" -> {
+                if (parts.length < 5) throw new IllegalArgumentException("Invalid Event line.");
+                yield new Event(desc, nextId, parts[3].trim(), parts[4].trim());
+            }
+            default -> null;
+        };
+
+        if (t != null && ("1".equals(doneFlag) || "true".equalsIgnoreCase(doneFlag))) {
+            t.markDone();
+        }
+        return t;
+    }
+}
@@ -0,0 +1,78 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the sequential streaming loader with {@link ParallelTaskLoader} on large text snapshots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskLoadBenchmark {
+
+    @Param({"1000000", "4000000"})
+    public int lines;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        file = Files.createTempFile("penguin-load", ".txt");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < lines; i++) {
+                out.write(switch (i % 3) {
+                    case 0 -> "T | 0 | read chapter " + i;
+                    case 1 -> "D | 1 | submit report " + i + " | 2025-09-" + (10 + i % 19);
+                    default -> "E | 0 | standup " + i + " | 2025-08-06T14:00 | 2025-08-06T16:00";
+                });
+                out.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Task> sequential() {
+        List<Task> tasks = new ArrayList<>();
+        FileParser.streamLines(file.toString(), line -> {
+            Task t = TaskLineParser.parse(line, tasks.size());
+            if (t != null) tasks.add(t);
+            return true;
+        });
+        return tasks;
+    }
+
+    @Benchmark
+    public List<Task> parallel() throws IOException {
+        return ParallelTaskLoader.load(file.toString(), 0, Integer.MAX_VALUE).tasks();
+    }
+}
@@ -5,6 +5,7 @@ import com.arnavjhajharia.penguin.logic.Parser;
 import com.arnavjhajharia.penguin.logic.commands.Command;
 import com.arnavjhajharia.penguin.logic.commands.CommandResult;
 import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskListRegistry;
 import com.arnavjhajharia.penguin.ui.Ui;
 
 /**
@@ -21,23 +22,60 @@ import com.arnavjhajharia.penguin.ui.Ui;
  */
 public final class Simulator {
 
+    /**
+     * System property that caps the number of tasks; unbounded when unset.
+     */
+    public static final String CAPACITY_PROPERTY = "penguin.capacity";
+
     /** The parser that interprets raw user input into {@link Command} objects. */
     private final Parser parser = new Parser();
 
     /** The in-memory list of tasks being managed. */
     private final TaskList tasks;
 
+    /** The lease on {@link #tasks} if it belongs to a {@link TaskListRegistry}; {@code null} if owned here. */
+    private final TaskListRegistry.Lease lease;
+
     /** The user interface implementation used to interact with the user. */
     private final Ui ui;
 
     /**
-     * Constructs a new {@code Simulator}.
+     * Constructs a new {@code Simulator} whose capacity is read from {@link #CAPACITY_PROPERTY}.
      *
      * @param filePath the file path used to load and save tasks
      * @param ui       the user interface for reading input and displaying output
      */
     public Simulator(String filePath, Ui ui) {
-        this.tasks = new TaskList(100, filePath);
+        this(filePath, ui, Integer.getInteger(CAPACITY_PROPERTY, TaskList.UNBOUNDED));
+    }
+
+    /**
+     * Constructs a new {@code Simulator} with an explicit capacity.
+     *
+     * @param filePath the file path used to load and save tasks
+     * @param ui       the user interface for reading input and displaying output
+     * @param capacity maximum number of tasks, or {@link TaskList#UNBOUNDED}
+     */
+    public Simulator(String filePath, Ui ui, int capacity) {
+        this.tasks = new TaskList(capacity, filePath);
+        this.tasks.enableJournal(); // durable after every command, not only on exit
+        this.tasks.enableGroupCommit();
+        this.lease = null;
+        this.ui = ui;
+    }
+
+    /**
+     * Constructs a new {@code Simulator} bound to the list called {@code listName} in {@code registry}.
+     * The list stays open while the simulator runs and is handed back to the registry on exit.
+     *
+     * @param registry the registry hosting the list
+     * @param listName name of the list, see {@link TaskListRegistry#isValidName(String)}
+     * @param ui       the user interface for reading input and displaying output
+     * @throws IllegalArgumentException if {@code listName} is not a valid list name
+     */
+    public Simulator(TaskListRegistry registry, String listName, Ui ui) {
+        this.lease = registry.acquire(listName);
+        this.tasks = lease.tasks();
         this.ui = ui;
     }
 
@@ -66,6 +104,9 @@ public final class Simulator {
             try {
                 Command cmd = parser.parse(prompt);
                 CommandResult result = cmd.execute(tasks);
+                if (!tasks.awaitDurable()) { // only report a command once it is safely on disk
+                    ui.showError("Heads up: that change could not be saved to disk.");
+                }
 
                 ui.showDivider();
                 ui.showText(result.message());
@@ -87,11 +128,16 @@ public final class Simulator {
     /**
      * Shuts down the application gracefully.
      * <p>
-     * Saves the current state of the {@link TaskList} to disk and
-     * displays the exit message through the {@link Ui}.
+     * Saves the current state of the {@link TaskList} to disk, releases its journal (or, for a list of a
+     * {@link TaskListRegistry}, the lease on it) and displays the exit message through the {@link Ui}.
      */
     private void shutdown() {
         tasks.save();
+        if (lease != null) {
+            lease.close();
+        } else {
+            tasks.close();
+        }
         ui.showExit();
     }
 }
@@ -1,9 +1,18 @@
 package com.arnavjhajharia.penguin.logic;
 
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Utility class for basic file input and output operations related to
@@ -12,7 +21,9 @@ import java.util.List;
  * Responsibilities:
  * <ul>
  *   <li>Read all lines from a text file into a {@link List} of strings.</li>
+ *   <li>Stream the lines of a large text file one at a time through a memory-mapped window.</li>
  *   <li>Write a list of strings to a text file, creating parent directories if necessary.</li>
+ *   <li>Replace a text file atomically and durably, so neither readers nor a crash observe a half-written file.</li>
  *   <li>Handle I/O exceptions gracefully by printing stack traces and returning safe defaults
  *       (empty list or {@code false}).</li>
  * </ul>
@@ -21,6 +32,9 @@ import java.util.List;
  */
 public final class FileParser {
 
+    /** Size of each memory-mapped window used by {@link #streamLines(String, Predicate)}. */
+    private static final int MAP_WINDOW = 64 << 20;
+
     private FileParser() { }
 
     /**
@@ -38,6 +52,82 @@ public final class FileParser {
         }
     }
 
+    /**
+     * Streams the lines of the file at the given path to {@code sink}, one at a time.
+     * <p>
+     * The file is memory-mapped in fixed-size windows and lines are decoded from a single reusable
+     * buffer, so no intermediate {@link List} is built and heap use stays constant regardless of the
+     * file size. Lines are split on {@code '\n'} (a trailing {@code '\r'} is dropped) and decoded as UTF-8.
+     *
+     * @param filePath the path of the file to read
+     * @param sink     receives each line; returning {@code false} stops reading
+     * @return {@code true} if the file was read (completely or until {@code sink} stopped), {@code false} if it
+     *         does not exist or an error occurs
+     */
+    public static boolean streamLines(String filePath, Predicate<String> sink) {
+        return streamLines(Path.of(filePath), 0, Long.MAX_VALUE, MAP_WINDOW, sink);
+    }
+
+    /**
+     * Streams the lines in the byte range {@code [from, to)} of the file at the given path, like
+     * {@link #streamLines(String, Predicate)}. The range should start at the beginning of a line;
+     * a final line cut off at {@code to} is delivered as is. Safe to call concurrently on disjoint ranges.
+     *
+     * @param path the file to read
+     * @param from offset of the first byte to read
+     * @param to   offset just past the last byte to read (clamped to the file size)
+     * @param sink receives each line; returning {@code false} stops reading
+     * @return {@code true} if the range was read, {@code false} if the file does not exist or an error occurs
+     */
+    public static boolean streamLines(Path path, long from, long to, Predicate<String> sink) {
+        return streamLines(path, from, to, MAP_WINDOW, sink);
+    }
+
+    static boolean streamLines(Path path, long from, long to, int window, Predicate<String> sink) {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = Math.min(to, ch.size());
+            byte[] line = new byte[256];
+            int lineLen = 0;
+
+            for (long base = from; base < end; base += window) {
+                int len = (int) Math.min(window, end - base);
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, base, len);
+                int start = 0;
+                for (int i = 0; i < len; i++) {
+                    if (buf.get(i) != '\n') continue;
+                    // Lines may straddle windows, so bytes are gathered into the reusable line buffer.
+                    line = ensureCapacity(line, lineLen + (i - start));
+                    buf.get(start, line, lineLen, i - start);
+                    lineLen += i - start;
+                    if (!sink.test(decode(line, lineLen))) return true;
+                    lineLen = 0;
+                    start = i + 1;
+                }
+                line = ensureCapacity(line, lineLen + (len - start));
+                buf.get(start, line, lineLen, len - start);
+                lineLen += len - start;
+            }
+            if (lineLen > 0) {
+                sink.test(decode(line, lineLen));
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false; // nothing saved yet
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static byte[] ensureCapacity(byte[] buf, int needed) {
+        return needed <= buf.length ? buf : Arrays.copyOf(buf, Math.max(needed, buf.length * 2));
+    }
+
+    private static String decode(byte[] buf, int len) {
+        if (len > 0 && buf[len - 1] == '\r') len--;
+        return new String(buf, 0, len, StandardCharsets.UTF_8);
+    }
+
     /**
      * Writes the given list of lines to the file at the given path.
      * <p>
@@ -52,7 +142,7 @@ public final class FileParser {
      * @param lines    the lines to write into the file
      * @return {@code true} if writing succeeded, {@code false} if an error occurred
      */
-    public static boolean writeLinesToFile(String filePath, List<String> lines) {
+    public static boolean writeLinesToFile(String filePath, Iterable<? extends CharSequence> lines) {
         try {
             Path p = Path.of(filePath);
             if (p.getParent() != null) {
@@ -65,4 +155,92 @@ public final class FileParser {
             return false; // signal failure to caller
         }
     }
+
+    /**
+     * Writes the given lines to a temporary file next to {@code filePath}, forces it to the storage device
+     * and then moves it over {@code filePath}, atomically where the file system supports it. A crash
+     * mid-write leaves the previous file untouched.
+     *
+     * @param filePath the path of the file to replace
+     * @param lines    the lines to write into the file; iterated once, so they may be produced lazily
+     * @return {@code true} if the file was replaced, {@code false} if an error occurred
+     */
+    public static boolean writeLinesAtomically(String filePath, Iterable<? extends CharSequence> lines) {
+        Path target = Path.of(filePath);
+        Path tmp = Path.of(filePath + ".tmp");
+        if (!writeLinesToFile(tmp.toString(), lines)) {
+            return false;
+        }
+        try {
+            sync(tmp);
+            moveAtomically(tmp, target);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the given bytes to a temporary file next to {@code filePath} and then moves it over
+     * {@code filePath}, like {@link #writeLinesAtomically(String, Iterable)}.
+     *
+     * @param filePath the path of the file to replace
+     * @param data     the complete file content
+     * @return {@code true} if the file was replaced, {@code false} if an error occurred
+     */
+    public static boolean writeBytesAtomically(String filePath, byte[] data) {
+        try {
+            Path target = Path.of(filePath);
+            Path tmp = Path.of(filePath + ".tmp");
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Files.write(tmp, data);
+            sync(tmp);
+            moveAtomically(tmp, target);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Forces the content of the file at {@code path} to the storage device.
+     *
+     * @param path the file to sync
+     * @throws IOException if the file cannot be opened or synced
+     */
+    public static void sync(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+    }
+
+    /**
+     * Moves {@code from} over {@code to}, atomically where the file system supports it, and then
+     * syncs the directory so that the rename itself survives a crash.
+     *
+     * @param from the source file
+     * @param to   the destination, replaced if it exists
+     * @throws IOException if the move fails
+     */
+    public static void moveAtomically(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(to.toAbsolutePath().getParent());
+    }
+
+    private static void syncDirectory(Path dir) {
+        if (dir == null) return;
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory (e.g. Windows); the rename is still atomic there.
+        }
+    }
 }
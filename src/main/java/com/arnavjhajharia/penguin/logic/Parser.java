@@ -32,13 +32,14 @@ public class Parser {
      * <p>
      * Supported commands:
      * <ul>
-     *   <li>{@code list} – Show all tasks.</li>
+     *   <li>{@code list [page]} – Show the tasks, a page at a time.</li>
      *   <li>{@code todo <desc>} – Add a new {@link com.arnavjhajharia.penguin.model.task.Todo}.</li>
      *   <li>{@code deadline <desc> /by <yyyy-MM-dd>} – Add a new {@link com.arnavjhajharia.penguin.model.task.Deadline}.</li>
      *   <li>{@code event <desc> /from <start> /to <end>} – Add a new {@link com.arnavjhajharia.penguin.model.task.Event}.</li>
-     *   <li>{@code mark <index>} – Mark a task as done.</li>
-     *   <li>{@code unmark <index>} – Mark a task as not done.</li>
-     *   <li>{@code delete <index>} – Remove a task.</li>
+     *   <li>{@code mark <index|#id|selection>} – Mark a task, or several, as done.</li>
+     *   <li>{@code unmark <index|#id|selection>} – Mark a task, or several, as not done.</li>
+     *   <li>{@code delete <index|#id|selection>} – Remove a task, or several.</li>
+     *   <li>{@code find [--top <count> [--after <cursor>]] <query>} – Search the tasks, optionally best matches first.</li>
      *   <li>{@code bye} – Exit the program.</li>
      * </ul>
      *
@@ -69,7 +70,7 @@ public class Parser {
         assert !cmd.isBlank() : "command keyword unexpectedly blank";
 
         return switch (cmd) {
-            case "list"    -> new ListCommand();
+            case "list"    -> new ListCommand(arg);
             case "todo"    -> new AddCommand(arg, TaskType.TODO);
             case "deadline"-> new AddCommand(arg, TaskType.DEADLINE);
             case "event"   -> new AddCommand(arg, TaskType.EVENT);
@@ -2,6 +2,7 @@ package com.arnavjhajharia.penguin.logic.commands;
 
 import com.arnavjhajharia.penguin.common.exceptions.InvalidIndexException;
 import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskSelection;
 
 /**
  * A {@link Command} that deletes a task from the {@link TaskList}
@@ -9,10 +10,12 @@ import com.arnavjhajharia.penguin.model.TaskList;
  * <p>
  * Responsibilities:
  * <ul>
- *   <li>Parse and validate the raw user-supplied index (1-based).</li>
+ *   <li>Parse and validate the raw user-supplied index (1-based), stable id ({@code #id}) or, for several
+ *       tasks at once, a {@link TaskSelection} such as {@code 1-500}, {@code 3,7,9} or {@code done}.</li>
  *   <li>Convert to zero-based indexing for internal operations.</li>
  *   <li>Throw {@link InvalidIndexException} if parsing fails or index is out of bounds.</li>
- *   <li>Delegate actual removal and message formatting to {@link TaskList#delete(int)}.</li>
+ *   <li>Delegate actual removal and message formatting to {@link TaskList#delete(int)}, or to
+ *       {@link TaskList#delete(TaskSelection)} for a bulk selection.</li>
  * </ul>
  *
  * @since 1.0
@@ -20,7 +23,7 @@ import com.arnavjhajharia.penguin.model.TaskList;
 public final class DeleteCommand implements Command {
 
     /**
-     * Raw user input representing the task index to delete.
+     * Raw user input representing the task index or selection to delete.
      * Preserved for error reporting.
      */
     private final String rawIndex;
@@ -28,7 +31,7 @@ public final class DeleteCommand implements Command {
     /**
      * Creates a new {@code DeleteCommand} with the given raw index string.
      *
-     * @param rawIndex the user-supplied index (expected to be 1-based)
+     * @param rawIndex the user-supplied index (expected to be 1-based), {@code #id} or selection
      */
     public DeleteCommand(String rawIndex) {
         this.rawIndex = rawIndex;
@@ -39,11 +42,11 @@ public final class DeleteCommand implements Command {
      * <p>
      * Steps:
      * <ol>
-     *   <li>Attempts to parse the raw index string as an integer.</li>
-     *   <li>Adjusts from user-facing 1-based index to zero-based index.</li>
+     *   <li>Resolves the raw reference, a 1-based index or a {@code #id}, to a zero-based index.</li>
      *   <li>Validates that the index is within bounds.</li>
      *   <li>Delegates to {@link TaskList#delete(int)} for actual removal.</li>
      * </ol>
+     * A bulk selection is validated the same way and then removed in one change.
      *
      * @param tasks the task list to operate on
      * @return a {@link CommandResult} containing the success message
@@ -51,13 +54,11 @@ public final class DeleteCommand implements Command {
      */
     @Override
     public CommandResult execute(TaskList tasks) throws InvalidIndexException {
-        int idx;
-        try {
-            idx = Integer.parseInt(rawIndex) - 1; // user is 1-based
-        } catch (NumberFormatException e) {
-            throw new InvalidIndexException(rawIndex);
+        TaskSelection selection = TaskReference.parseSelection(rawIndex, tasks);
+        if (selection.isBulk()) {
+            return CommandResult.of(tasks.delete(selection).toString());
         }
-        if (tasks.isInvalidIndex(idx)) throw new InvalidIndexException(idx);
+        int idx = TaskReference.resolveIndex(rawIndex, tasks);
 
         // Let TaskList do the actual removal + message formatting
         String msg = tasks.delete(idx).toString();
@@ -1,12 +1,20 @@
 package com.arnavjhajharia.penguin.logic.commands;
 
+import com.arnavjhajharia.penguin.common.exceptions.MissingArgumentException;
 import com.arnavjhajharia.penguin.common.exceptions.PenguinException;
 import com.arnavjhajharia.penguin.model.TaskList;
 
 /**
  * Command to find tasks containing given keywords.
+ * <p>
+ * {@code find <query>} lists every match in list order. {@code find --top <count> <query>} lists the
+ * {@code count} best matches, best first, and {@code --after <cursor>} continues from the cursor a previous
+ * page printed. See {@link TaskList#findTop(String, int, String)}.
  */
 public final class FindCommand implements Command {
+
+    private static final String TOP_USAGE = "find [--top <count> [--after <cursor>]] <query>";
+
     private final String query;
 
 
@@ -16,7 +24,34 @@ public final class FindCommand implements Command {
 
     @Override
     public CommandResult execute(TaskList tasks) throws PenguinException {
-        StringBuilder result = tasks.find(query);
+        String rest = query == null ? "" : query.trim();
+        Integer top = null;
+        String after = null;
+        // Leading options only; anything else, including other words starting with "--", is the query.
+        while (rest.startsWith("--top ") || rest.startsWith("--after ") || rest.equals("--top") || rest.equals("--after")) {
+            String[] parts = rest.split("\\s+", 3);
+            if (parts.length < 2) throw new MissingArgumentException(TOP_USAGE);
+            if (parts[0].equals("--top")) {
+                try {
+                    top = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException e) {
+                    throw new MissingArgumentException(TOP_USAGE);
+                }
+                if (top < 1) throw new MissingArgumentException(TOP_USAGE);
+            } else {
+                after = parts[1];
+            }
+            rest = parts.length > 2 ? parts[2] : "";
+        }
+
+        StringBuilder result;
+        if (top == null && after == null) {
+            result = tasks.find(query);
+        } else if (top == null || rest.isEmpty()) {
+            throw new MissingArgumentException(TOP_USAGE);
+        } else {
+            result = tasks.findTop(rest, top, after);
+        }
         return CommandResult.of(result.toString());
     }
 }
@@ -3,31 +3,60 @@ package com.arnavjhajharia.penguin.logic.commands;
 import com.arnavjhajharia.penguin.model.TaskList;
 
 /**
- * A {@link Command} that lists all tasks currently stored in the {@link TaskList}.
+ * A {@link Command} that lists the tasks currently stored in the {@link TaskList}, one page at a time.
  * <p>
  * Responsibilities:
  * <ul>
- *   <li>Delegate to {@link TaskList#list()} to generate the formatted list of tasks.</li>
+ *   <li>Parse the optional one-based page number ({@code list 3}); the first page by default.</li>
+ *   <li>Delegate to {@link TaskList#list(int)} to generate the formatted page of tasks.</li>
  *   <li>Wrap the resulting message into a {@link CommandResult} for output.</li>
- *   <li>If no tasks exist, returns the friendly message provided by {@link TaskList#list()}.</li>
+ *   <li>If no tasks exist, returns the friendly message provided by {@link TaskList#list(int)}.</li>
  * </ul>
  *
  * @since 1.0
  */
 public final class ListCommand implements Command {
 
+    /**
+     * Raw user input representing the page to show; blank for the first page.
+     */
+    private final String rawPage;
+
+    /**
+     * Constructs a {@code ListCommand} showing the first page.
+     */
+    public ListCommand() {
+        this("");
+    }
+
+    /**
+     * Constructs a {@code ListCommand} showing the given page.
+     *
+     * @param rawPage the user-supplied page number (1-based), or blank for the first page
+     */
+    public ListCommand(String rawPage) {
+        this.rawPage = rawPage == null ? "" : rawPage.trim();
+    }
+
     /**
      * Executes the list command on the given {@link TaskList}.
      * <p>
-     * Retrieves all tasks in the list and formats them into a user-facing string.
-     * If there are no tasks, returns a message indicating that the list is empty.
+     * Retrieves the requested page of tasks and formats it into a user-facing string; a list that fits on
+     * one page is shown whole. If there are no tasks, returns a message indicating that the list is empty,
+     * and if the page does not exist, a message naming the valid pages.
      *
      * @param tasks the task list to operate on
      * @return a {@link CommandResult} containing the list of tasks or an empty-list message
      */
     @Override
     public CommandResult execute(TaskList tasks) {
-        String msg = tasks.list().toString();
+        int page;
+        try {
+            page = rawPage.isEmpty() ? 1 : Integer.parseInt(rawPage);
+        } catch (NumberFormatException e) {
+            page = 0; // reported as an invalid page
+        }
+        String msg = tasks.list(page).toString();
         return CommandResult.of(msg);
     }
 }
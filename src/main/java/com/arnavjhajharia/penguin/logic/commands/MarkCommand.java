@@ -2,6 +2,7 @@ package com.arnavjhajharia.penguin.logic.commands;
 
 import com.arnavjhajharia.penguin.common.exceptions.InvalidIndexException;
 import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskSelection;
 
 /**
  * A {@link Command} that marks a task in the {@link TaskList} as done or undone,
@@ -9,9 +10,11 @@ import com.arnavjhajharia.penguin.model.TaskList;
  * <p>
  * Responsibilities:
  * <ul>
- *   <li>Parse and validate the user-supplied index (1-based).</li>
+ *   <li>Parse and validate the user-supplied index (1-based), stable id ({@code #id}) or, for several tasks at
+ *       once, a {@link TaskSelection} such as {@code 1-500}, {@code 3,7,9} or {@code done}.</li>
  *   <li>Convert to zero-based indexing for internal operations.</li>
- *   <li>Call {@link TaskList#markDone(int)} or {@link TaskList#markUndone(int)} based on {@code markDone}.</li>
+ *   <li>Call {@link TaskList#markDone(int)} or {@link TaskList#markUndone(int)} based on {@code markDone}, or
+ *       {@link TaskList#mark(TaskSelection, boolean)} for a bulk selection.</li>
  *   <li>Throw {@link InvalidIndexException} if parsing fails or index is out of range.</li>
  * </ul>
  *
@@ -20,7 +23,7 @@ import com.arnavjhajharia.penguin.model.TaskList;
 public final class MarkCommand implements Command {
 
     /**
-     * Raw user input representing the task index to mark.
+     * Raw user input representing the task index or selection to mark.
      * Preserved for error reporting.
      */
     private final String rawIndex;
@@ -33,7 +36,7 @@ public final class MarkCommand implements Command {
     /**
      * Constructs a new {@code MarkCommand} with the given raw index and mode.
      *
-     * @param rawIndex the user-supplied task index (1-based)
+     * @param rawIndex the user-supplied task index (1-based), {@code #id} or selection
      * @param markDone {@code true} to mark as done, {@code false} to mark as undone
      */
     public MarkCommand(String rawIndex, boolean markDone) {
@@ -46,11 +49,11 @@ public final class MarkCommand implements Command {
      * <p>
      * Steps:
      * <ol>
-     *   <li>Parse the raw index as an integer.</li>
-     *   <li>Convert from user-facing 1-based index to zero-based index.</li>
+     *   <li>Resolve the raw reference, a 1-based index or a {@code #id}, to a zero-based index.</li>
      *   <li>Validate the index against the current task list size.</li>
      *   <li>Mark the task as done or undone depending on {@link #markDone}.</li>
      * </ol>
+     * A bulk selection is validated the same way and then marked in one change.
      *
      * @param tasks the task list to operate on
      * @return a {@link CommandResult} containing the success message
@@ -58,14 +61,11 @@ public final class MarkCommand implements Command {
      */
     @Override
     public CommandResult execute(TaskList tasks) throws InvalidIndexException {
-        int idx;
-        try {
-            idx = Integer.parseInt(rawIndex) - 1; // convert 1-based user input to 0-based
-        } catch (NumberFormatException e) {
-            throw new InvalidIndexException(rawIndex);
+        TaskSelection selection = TaskReference.parseSelection(rawIndex, tasks);
+        if (selection.isBulk()) {
+            return CommandResult.of(tasks.mark(selection, markDone).toString());
         }
-
-        if (tasks.isInvalidIndex(idx)) throw new InvalidIndexException(idx);
+        int idx = TaskReference.resolveIndex(rawIndex, tasks);
 
         String msg = (markDone ? tasks.markDone(idx) : tasks.markUndone(idx)).toString();
         return CommandResult.of(msg);
@@ -0,0 +1,61 @@
+package com.arnavjhajharia.penguin.logic.commands;
+
+import java.util.OptionalInt;
+
+import com.arnavjhajharia.penguin.common.exceptions.InvalidIndexException;
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskSelection;
+
+/**
+ * Resolves the task a user refers to, either by its position in the list ({@code 3}, one-based) or by its
+ * stable id ({@code #12}), or the several tasks of a {@link TaskSelection}. Positions shift when earlier tasks
+ * are deleted; ids never change.
+ *
+ * @since 1.1
+ */
+final class TaskReference {
+
+    private TaskReference() {
+    }
+
+    /**
+     * Resolves {@code raw} to a zero-based index into {@code tasks}.
+     *
+     * @param raw   the user-supplied reference, {@code <position>} or {@code #<id>}
+     * @param tasks the task list to resolve against
+     * @return the zero-based index of the referenced task
+     * @throws InvalidIndexException if the reference cannot be parsed or names no task
+     */
+    static int resolveIndex(String raw, TaskList tasks) throws InvalidIndexException {
+        String ref = raw == null ? "" : raw.trim();
+        int idx;
+        try {
+            if (ref.startsWith("#")) {
+                idx = tasks.indexOfId(Integer.parseInt(ref.substring(1)));
+                if (idx < 0) throw new InvalidIndexException(raw);
+                return idx;
+            }
+            idx = Integer.parseInt(ref) - 1; // convert 1-based user input to 0-based
+        } catch (NumberFormatException e) {
+            throw new InvalidIndexException(raw);
+        }
+        if (tasks.isInvalidIndex(idx)) throw new InvalidIndexException(idx);
+        return idx;
+    }
+
+    /**
+     * Parses {@code raw} as a {@link TaskSelection} and checks its positions against {@code tasks}. Ids and
+     * statuses are only resolved when the selection is applied.
+     *
+     * @param raw   the user-supplied selection
+     * @param tasks the task list to check positions against
+     * @return the selection
+     * @throws InvalidIndexException if the selection cannot be parsed or names a position past the list
+     */
+    static TaskSelection parseSelection(String raw, TaskList tasks) throws InvalidIndexException {
+        TaskSelection selection = TaskSelection.parse(raw).orElseThrow(() -> new InvalidIndexException(raw));
+        OptionalInt invalid = selection.firstInvalidPosition(tasks.size());
+        if (invalid.isPresent()) throw new InvalidIndexException(invalid.getAsInt());
+        return selection;
+    }
+}
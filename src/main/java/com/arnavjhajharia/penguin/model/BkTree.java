@@ -0,0 +1,167 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * BK-tree over a set of words, finding the words within a few edits (Levenshtein distance) of a query word
+ * without comparing it to every word.
+ * <p>
+ * Each word hangs below its parent at an edge labelled with their distance. Since the distance is a metric,
+ * a word within {@code k} edits of the query can only sit below a child whose label is within {@code k} of
+ * the query's distance to the parent, and every other child is skipped with its whole subtree.
+ * <p>
+ * Nodes live in parallel arrays, children as a linked list of siblings, so a word costs a few {@code int}
+ * slots besides the string itself. Words cannot be removed: callers skip the words they no longer use and
+ * rebuild the tree once too many of those accumulate.
+ * <p>
+ * Not thread-safe.
+ *
+ * @since 1.1
+ */
+final class BkTree {
+
+    private static final int NONE = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] words;
+    /** Distance of each node to its parent. */
+    private int[] edge;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int size;
+
+    /** Reused rows of the distance computation. */
+    private int[] previous = new int[MIN_CAPACITY];
+    private int[] current = new int[MIN_CAPACITY];
+
+    /**
+     * Creates an empty tree.
+     */
+    BkTree() {
+        clear();
+    }
+
+    /**
+     * Removes every word.
+     */
+    void clear() {
+        words = new String[MIN_CAPACITY];
+        edge = new int[MIN_CAPACITY];
+        firstChild = new int[MIN_CAPACITY];
+        nextSibling = new int[MIN_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Returns the number of words in the tree.
+     *
+     * @return the word count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds {@code word}, unless it is already in the tree.
+     *
+     * @param word the word to add
+     * @return {@code true} if it was added
+     */
+    boolean add(String word) {
+        if (size == 0) {
+            newNode(word, 0);
+            return true;
+        }
+        int node = 0;
+        while (true) {
+            int d = distance(word, words[node]);
+            if (d == 0) return false;
+            int child = childAt(node, d);
+            if (child == NONE) {
+                int added = newNode(word, d);
+                nextSibling[added] = firstChild[node];
+                firstChild[node] = added;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Passes every word within {@code maxEdits} edits of {@code word} to {@code action}.
+     *
+     * @param word     the query word
+     * @param maxEdits largest distance reported
+     * @param action   receives each word found
+     */
+    void forEachWithin(String word, int maxEdits, Consumer<String> action) {
+        if (size == 0) return;
+        int[] stack = new int[MIN_CAPACITY];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int d = distance(word, words[node]);
+            if (d <= maxEdits) {
+                action.accept(words[node]);
+            }
+            for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+                if (Math.abs(edge[c] - d) <= maxEdits) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = c;
+                }
+            }
+        }
+    }
+
+    private int childAt(int node, int d) {
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (edge[c] == d) return c;
+        }
+        return NONE;
+    }
+
+    private int newNode(String word, int d) {
+        if (size == words.length) {
+            int capacity = size * 2;
+            words = Arrays.copyOf(words, capacity);
+            edge = Arrays.copyOf(edge, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+        }
+        words[size] = word;
+        edge[size] = d;
+        firstChild[size] = NONE;
+        nextSibling[size] = NONE;
+        return size++;
+    }
+
+    /**
+     * Returns the Levenshtein distance between {@code a} and {@code b}, keeping two rows of the table.
+     */
+    int distance(String a, String b) {
+        int lb = b.length();
+        if (previous.length <= lb) {
+            previous = new int[lb + 1];
+            current = new int[lb + 1];
+        }
+        for (int j = 0; j <= lb; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= lb; j++) {
+                int substitute = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] t = previous;
+            previous = current;
+            current = t;
+        }
+        return previous[lb];
+    }
+}
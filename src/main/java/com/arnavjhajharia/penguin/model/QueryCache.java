@@ -0,0 +1,159 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * Bounded LRU cache of the results of {@link TaskList#find(String)}: the ids of the tasks matching each of
+ * the most recently used queries. See {@link TaskList#enableQueryCache(int)}.
+ * <p>
+ * Entries are kept exact rather than dropped on change: a new task is only checked against the cached
+ * queries, a deleted task leaves the entries holding it, and a task whose done mark changed is checked again.
+ * A query is keyed by its parsed terms and typo tolerance, so {@code Book} and {@code  book } share an entry.
+ * <p>
+ * Each entry holds four bytes per matching task. Not thread-safe.
+ *
+ * @since 1.1
+ */
+public final class QueryCache {
+
+    /** Default number of queries kept. */
+    public static final int DEFAULT_MAX_QUERIES = 64;
+
+    /**
+     * Counters of the cache since it was turned on.
+     *
+     * @param hits          lookups answered from the cache
+     * @param misses        lookups that had to search the list
+     * @param evictions     queries dropped to stay within the bound
+     * @param cachedQueries queries currently cached
+     */
+    public record Stats(long hits, long misses, long evictions, int cachedQueries) {
+
+        /**
+         * Returns the fraction of lookups served from the cache.
+         *
+         * @return a value between 0 and 1, or 0 before the first lookup
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxQueries number of queries kept, at least 1
+     */
+    QueryCache(int maxQueries) {
+        assert maxQueries > 0 : "maxQueries must be positive";
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxQueries) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the ids of the tasks matching {@code query}, if cached.
+     *
+     * @param query the parsed query
+     * @return the ids in ascending order, or {@code null} on a miss
+     */
+    int[] get(SearchQuery query) {
+        Entry e = entries.get(keyOf(query));
+        if (e == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return e.ids.toArray();
+    }
+
+    /**
+     * Caches the result of {@code query}, evicting the least recently used query if the cache is full.
+     *
+     * @param query     the parsed query
+     * @param ascending ids of the tasks matching it, in ascending order; taken over by the cache
+     */
+    void put(SearchQuery query, int[] ascending) {
+        entries.put(keyOf(query), new Entry(query, new SearchIndex.Postings(ascending)));
+    }
+
+    /**
+     * Adds {@code task} to the entries of the cached queries it matches.
+     *
+     * @param task a task just added to the list
+     */
+    void added(Task task) {
+        for (Entry e : entries.values()) {
+            if (e.query.matches(task)) {
+                e.ids.add(task.getId());
+            }
+        }
+    }
+
+    /**
+     * Removes the tasks with ids {@code ascending} from every entry.
+     *
+     * @param ascending ids of tasks just removed from the list, in ascending order
+     */
+    void removed(int[] ascending) {
+        for (Entry e : entries.values()) {
+            e.ids.removeAll(ascending);
+        }
+    }
+
+    /**
+     * Checks {@code task} against every cached query again, after its text changed.
+     *
+     * @param task the task as it is now
+     */
+    void changed(Task task) {
+        for (Entry e : entries.values()) {
+            if (e.query.matches(task)) {
+                e.ids.add(task.getId());
+            } else {
+                e.ids.remove(task.getId());
+            }
+        }
+    }
+
+    /**
+     * Drops every entry, keeping the counters.
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the counters of this cache.
+     *
+     * @return a snapshot of the counters
+     */
+    Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size());
+    }
+
+    private static String keyOf(SearchQuery query) {
+        StringBuilder key = new StringBuilder().append(query.maxEdits());
+        for (String term : query.terms()) {
+            key.append('\0').append(term);
+        }
+        return key.toString();
+    }
+
+    private record Entry(SearchQuery query, SearchIndex.Postings ids) {
+    }
+}
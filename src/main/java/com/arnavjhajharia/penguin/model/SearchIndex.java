@@ -0,0 +1,395 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * Inverted index for {@link TaskList#find(String)}: maps every word of the tasks' search texts, and every
+ * trigram (three consecutive characters) of those texts, to the ids of the tasks containing it, and is updated
+ * task by task as the list changes.
+ * <p>
+ * The index narrows a query down to candidate tasks, which are then checked with {@link SearchQuery} itself,
+ * so results are exactly those of a full scan. Candidates are found per term:
+ * <ul>
+ *   <li>a term of {@link #GRAM} characters or more occurring in a text has all its trigrams in that text, so
+ *       its candidates are the intersection of their posting lists, which answers infixes such as
+ *       {@code ook} in {@code booking} without looking at any word;</li>
+ *   <li>a shorter term has each of its runs of letters and digits inside one word of the text, so its
+ *       candidates are the tasks having, for every run, a word of the vocabulary that contains it;</li>
+ *   <li>a token within the query's edit distance of a word adds the tasks having such a word. These words
+ *       are found in a {@link BkTree} of the vocabulary, which compares the token with a fraction of the
+ *       words only.</li>
+ * </ul>
+ * A short term without letters or digits cannot be narrowed, and the query is then answered by a scan. The
+ * candidates of several terms are intersected, smallest first.
+ * <p>
+ * Each task is posted under a few dozen trigrams, so the index takes a few hundred bytes of heap per task.
+ * <p>
+ * Not thread-safe.
+ *
+ * @since 1.1
+ */
+final class SearchIndex {
+
+    /** Length of the character sequences in {@link #trigrams}. */
+    static final int GRAM = 3;
+
+    /** Number of unused words {@link #typoWords} may always hold before it is rebuilt. */
+    private static final int MIN_TREE_REBUILD = 1_024;
+
+    /** Posting list of each word of the vocabulary; never empty. */
+    private final Map<String, Postings> words = new HashMap<>();
+
+    /** Posting list of each trigram of the search texts; never empty. */
+    private final Map<String, Postings> trigrams = new HashMap<>();
+
+    /**
+     * Words of {@link SearchQuery#MIN_TYPO_LEN} characters or more that are or were in {@link #words}. Words
+     * that left the vocabulary are skipped by lookups until the tree is rebuilt.
+     */
+    private final BkTree typoWords = new BkTree();
+
+    /** Number of words in {@link #words} that are long enough for {@link #typoWords}. */
+    private int liveTypoWords;
+
+    /**
+     * Indexes the words and trigrams of {@code task}.
+     *
+     * @param task a task just added to the list
+     */
+    void add(Task task) {
+        postWords(wordsOf(task), task.getId());
+        post(trigrams, trigramsOf(task.searchText()), task.getId());
+    }
+
+    /**
+     * Removes {@code task} from the posting lists of its words and trigrams.
+     *
+     * @param task a task just removed from the list
+     */
+    void remove(Task task) {
+        unpostWords(wordsOf(task), task.getId());
+        unpost(trigrams, trigramsOf(task.searchText()), task.getId());
+    }
+
+    /**
+     * Re-indexes a task whose text changed, such as its done mark, touching only the words and trigrams that
+     * differ.
+     *
+     * @param before the task as indexed
+     * @param after  the task as it is now, with the same id
+     */
+    void update(Task before, Task after) {
+        assert before.getId() == after.getId() : "an update keeps the task id";
+        String old = before.searchText();
+        String now = after.searchText();
+        if (old.equals(now)) return;
+        Set<String> oldWords = wordsOf(before);
+        Set<String> nowWords = wordsOf(after);
+        unpostWords(minus(oldWords, nowWords), after.getId());
+        postWords(minus(nowWords, oldWords), after.getId());
+        Set<String> oldGrams = trigramsOf(old);
+        Set<String> nowGrams = trigramsOf(now);
+        unpost(trigrams, minus(oldGrams, nowGrams), after.getId());
+        post(trigrams, minus(nowGrams, oldGrams), after.getId());
+    }
+
+    /**
+     * Removes every entry.
+     */
+    void clear() {
+        words.clear();
+        trigrams.clear();
+        typoWords.clear();
+        liveTypoWords = 0;
+    }
+
+    /**
+     * Returns the number of distinct words indexed.
+     *
+     * @return the vocabulary size
+     */
+    int vocabularySize() {
+        return words.size();
+    }
+
+    /**
+     * Returns the ids of the tasks that may match {@code query}: every task that does is among them.
+     *
+     * @param query a parsed query with at least one term
+     * @return candidate ids in ascending order, or {@code null} if the query cannot be narrowed down
+     */
+    int[] candidates(SearchQuery query) {
+        List<int[]> perTerm = new ArrayList<>();
+        for (String term : query.terms()) {
+            int[] c = candidates(term, query.maxEdits());
+            if (c != null) {
+                perTerm.add(c);
+            }
+        }
+        if (perTerm.isEmpty()) return null;
+        perTerm.sort(Comparator.comparingInt(c -> c.length));
+        int[] result = perTerm.get(0);
+        for (int i = 1; i < perTerm.size() && result.length > 0; i++) {
+            result = intersect(result, perTerm.get(i));
+        }
+        return result;
+    }
+
+    private int[] candidates(String term, int maxEdits) {
+        int[] result = term.length() >= GRAM ? containingTrigrams(term) : containingRuns(term);
+        if (result == null) return null;
+        if (!SearchQuery.isPhrase(term) && term.length() >= SearchQuery.MIN_TYPO_LEN) {
+            BitSet hits = new BitSet();
+            typoWords.forEachWithin(term, maxEdits, w -> {
+                Postings p = words.get(w);
+                if (p != null) {
+                    p.addTo(hits);
+                }
+            });
+            if (!hits.isEmpty()) {
+                for (int id : result) {
+                    hits.set(id);
+                }
+                result = hits.stream().toArray();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the tasks whose text has every trigram of {@code term}, intersecting the shortest lists first.
+     */
+    private int[] containingTrigrams(String term) {
+        List<Postings> lists = new ArrayList<>();
+        for (String g : trigramsOf(term)) {
+            Postings p = trigrams.get(g);
+            if (p == null) return new int[0];
+            lists.add(p);
+        }
+        lists.sort(Comparator.comparingInt(p -> p.size));
+        Postings first = lists.get(0);
+        int[] result = Arrays.copyOf(first.ids, first.size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, result.length, lists.get(i).ids, lists.get(i).size);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the tasks having, for every run of letters and digits in {@code term}, a word containing it, or
+     * {@code null} if the term has no such run.
+     */
+    private int[] containingRuns(String term) {
+        List<String> runs = new ArrayList<>();
+        for (String run : SearchQuery.NON_WORD.split(term)) {
+            if (!run.isEmpty()) {
+                runs.add(run);
+            }
+        }
+        if (runs.isEmpty()) return null;
+
+        int[] result = null;
+        for (String run : runs) {
+            BitSet hits = new BitSet();
+            for (Map.Entry<String, Postings> e : words.entrySet()) {
+                if (e.getKey().contains(run)) {
+                    e.getValue().addTo(hits);
+                }
+            }
+            int[] c = hits.stream().toArray();
+            result = result == null ? c : intersect(result, c);
+        }
+        return result;
+    }
+
+    private static void post(Map<String, Postings> index, Set<String> keys, int id) {
+        for (String k : keys) {
+            index.computeIfAbsent(k, x -> new Postings()).add(id);
+        }
+    }
+
+    private static void unpost(Map<String, Postings> index, Set<String> keys, int id) {
+        for (String k : keys) {
+            Postings p = index.get(k);
+            if (p == null) continue;
+            p.remove(id);
+            if (p.size == 0) {
+                index.remove(k);
+            }
+        }
+    }
+
+    private void postWords(Set<String> keys, int id) {
+        for (String k : keys) {
+            Postings p = words.get(k);
+            if (p == null) {
+                p = new Postings();
+                words.put(k, p);
+                if (k.length() >= SearchQuery.MIN_TYPO_LEN) {
+                    liveTypoWords++;
+                    typoWords.add(k);
+                }
+            }
+            p.add(id);
+        }
+    }
+
+    private void unpostWords(Set<String> keys, int id) {
+        for (String k : keys) {
+            Postings p = words.get(k);
+            if (p == null) continue;
+            p.remove(id);
+            if (p.size == 0) {
+                words.remove(k);
+                if (k.length() >= SearchQuery.MIN_TYPO_LEN) {
+                    liveTypoWords--;
+                }
+            }
+        }
+        // Rebuild once words no longer in use make up most of the tree.
+        if (typoWords.size() > 2 * liveTypoWords + MIN_TREE_REBUILD) {
+            typoWords.clear();
+            for (String w : words.keySet()) {
+                if (w.length() >= SearchQuery.MIN_TYPO_LEN) {
+                    typoWords.add(w);
+                }
+            }
+        }
+    }
+
+    private static Set<String> minus(Set<String> a, Set<String> b) {
+        Set<String> out = new HashSet<>(a);
+        out.removeAll(b);
+        return out;
+    }
+
+    private static Set<String> wordsOf(Task task) {
+        return new HashSet<>(Arrays.asList(task.searchWords()));
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            out.add(text.substring(i, i + GRAM));
+        }
+        return out;
+    }
+
+    /**
+     * Returns the ids present in both ascending arrays, probing the longer one by binary search when the
+     * shorter one is much shorter and merging otherwise.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        return intersect(a, a.length, b, b.length);
+    }
+
+    private static int[] intersect(int[] a, int aLen, int[] b, int bLen) {
+        if (aLen > bLen) {
+            return intersect(b, bLen, a, aLen);
+        }
+        int[] out = new int[aLen];
+        int n = 0;
+        if ((long) aLen * 32 < bLen) {
+            int from = 0;
+            for (int i = 0; i < aLen; i++) {
+                int at = Arrays.binarySearch(b, from, bLen, a[i]);
+                if (at >= 0) {
+                    out[n++] = a[i];
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+        } else {
+            for (int i = 0, j = 0; i < aLen && j < bLen; ) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Ids of the tasks containing a word, in ascending order. Ids are handed out in increasing order, so
+     * indexing a new task appends. Also holds the results of {@link QueryCache}.
+     */
+    static final class Postings {
+
+        private int[] ids = new int[2];
+        private int size;
+
+        Postings() {
+        }
+
+        /**
+         * Creates a list holding {@code ascending}, which it takes over.
+         */
+        Postings(int[] ascending) {
+            ids = ascending.length == 0 ? new int[2] : ascending;
+            size = ascending.length;
+        }
+
+        void add(int id) {
+            int at = size == 0 || ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) return;
+            int insert = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) return;
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(ids[i]);
+            }
+        }
+
+        /**
+         * Removes every id of {@code ascending} in one pass over both arrays.
+         */
+        void removeAll(int[] ascending) {
+            int w = 0;
+            for (int r = 0, j = 0; r < size; r++) {
+                while (j < ascending.length && ascending[j] < ids[r]) j++;
+                if (j < ascending.length && ascending[j] == ids[r]) continue;
+                ids[w++] = ids[r];
+            }
+            size = w;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * A parsed {@code find} query and the "BetterSearch" rules deciding whether a task matches it. See
+ * {@link TaskList#find(String)}.
+ * <p>
+ * A task is matched against its {@link Task#searchText()}, the lower-cased {@link Task#toString()}, type tag,
+ * done mark and dates included. Every term must match: a quoted phrase must occur in the text, and a single token must occur
+ * in the text or be within a few edits, one by default, of one of its words.
+ * <p>
+ * For ranked results, {@link #score(Task)} rates how well a task matches: each term scores by its best kind of
+ * match, a whole word over part of a word over a typo, and tokens found close together earn a bonus.
+ *
+ * @since 1.1
+ */
+final class SearchQuery {
+
+    /**
+     * Separates the runs of letters and digits of a query term, as {@link Task#searchWords()} does for tasks.
+     */
+    static final Pattern NON_WORD = Pattern.compile("[^a-z0-9]+");
+
+    /**
+     * Shortest token, and word, for which a match inside a word is looked for.
+     */
+    static final int MIN_PARTIAL = 3;
+
+    /**
+     * Shortest token, and word, for which a typo still matches.
+     */
+    static final int MIN_TYPO_LEN = 4;
+
+    /**
+     * Largest number of edits {@link #parse(String, int)} accepts.
+     */
+    static final int MAX_TYPO_EDITS = 2;
+
+    /** Score of a term matching whole words: a token equal to a word, or a phrase starting and ending at word boundaries. */
+    static final int EXACT_SCORE = 300;
+
+    /** Score of a term found inside the text but not as whole words. */
+    static final int PARTIAL_SCORE = 200;
+
+    /** Score of a token found only as a misspelling of a word. */
+    static final int TYPO_SCORE = 100;
+
+    /** Bonus for terms matching adjacent words, reduced by {@link #PROXIMITY_STEP} per word between them. */
+    static final int MAX_PROXIMITY_BONUS = 50;
+
+    private static final int PROXIMITY_STEP = 10;
+
+    private final List<String> terms;
+
+    private final int maxEdits;
+
+    private SearchQuery(List<String> terms, int maxEdits) {
+        this.terms = terms;
+        this.maxEdits = maxEdits;
+    }
+
+    /**
+     * Parses {@code raw} with the default tolerance of one edit. See {@link #parse(String, int)}.
+     *
+     * @param raw the query as typed
+     * @return the parsed query, possibly without terms
+     */
+    static SearchQuery parse(String raw) {
+        return parse(raw, 1);
+    }
+
+    /**
+     * Splits {@code raw} into terms: quoted phrases and whitespace-separated tokens, lower-cased.
+     *
+     * @param raw      the query as typed
+     * @param maxEdits edits a token may be away from a word and still match it, from 1 to {@link #MAX_TYPO_EDITS}
+     * @return the parsed query, possibly without terms
+     */
+    static SearchQuery parse(String raw, int maxEdits) {
+        assert maxEdits >= 1 && maxEdits <= MAX_TYPO_EDITS : "maxEdits must be 1 or 2";
+        String q = normalize(raw);
+        List<String> terms = new ArrayList<>();
+        int i = 0;
+        while (i < q.length()) {
+            char c = q.charAt(i);
+            if (Character.isWhitespace(c)) { i++; continue; }
+            if (c == '"') {
+                int j = q.indexOf('"', i + 1);
+                if (j > i + 1) {
+                    terms.add(q.substring(i + 1, j).trim());
+                    i = j + 1;
+                    continue;
+                }
+            }
+            int j = i + 1;
+            while (j < q.length() && !Character.isWhitespace(q.charAt(j))) j++;
+            terms.add(q.substring(i, j));
+            i = j + 1;
+        }
+        // Remove empties
+        terms.removeIf(t -> t.isEmpty());
+        return new SearchQuery(terms, maxEdits);
+    }
+
+    /**
+     * Returns the terms of this query, in the order typed.
+     *
+     * @return the non-empty terms
+     */
+    List<String> terms() {
+        return terms;
+    }
+
+    /**
+     * Returns how many edits a token may be away from a word and still match it.
+     *
+     * @return 1 or 2
+     */
+    int maxEdits() {
+        return maxEdits;
+    }
+
+    /**
+     * Returns whether {@code task} matches every term.
+     *
+     * @param task the task to test
+     * @return {@code true} on a match
+     */
+    boolean matches(Task task) {
+        String normText = task.searchText();
+        for (String term : terms) {
+            boolean matched = isPhrase(term)
+                    ? normText.contains(term)
+                    : tokenMatches(normText, task.searchWords(), term);
+            if (!matched) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns how well {@code task} matches this query: the sum of the scores of its terms, plus a bonus for
+     * terms matching words close to each other.
+     *
+     * @param task the task to rate
+     * @return a positive score if the task {@linkplain #matches(Task) matches}, otherwise {@code 0}
+     */
+    int score(Task task) {
+        String text = task.searchText();
+        String[] words = task.searchWords();
+        int total = 0;
+        int[][] positions = new int[terms.size()][];
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            int best;
+            if (isPhrase(term)) {
+                best = phraseScore(text, term);
+                if (best > 0) {
+                    positions[t] = new int[] {wordAt(text, text.indexOf(term))};
+                }
+            } else {
+                int[] kinds = new int[words.length];
+                best = 0;
+                for (int i = 0; i < words.length; i++) {
+                    kinds[i] = wordScore(words[i], term);
+                    best = Math.max(best, kinds[i]);
+                }
+                if (best > 0) {
+                    int b = best;
+                    positions[t] = IntStream.range(0, words.length).filter(i -> kinds[i] == b).toArray();
+                } else if (text.contains(term)) {
+                    best = PARTIAL_SCORE; // spans a separator, like "by:", so it has no word position
+                }
+            }
+            if (best == 0) return 0;
+            total += best;
+        }
+        return total + proximityBonus(positions);
+    }
+
+    private int wordScore(String w, String token) {
+        if (w.equals(token)) return EXACT_SCORE;
+        if (w.contains(token)) return PARTIAL_SCORE;
+        if (token.length() >= MIN_TYPO_LEN && w.length() >= MIN_TYPO_LEN && isWithinEdits(w, token, maxEdits)) {
+            return TYPO_SCORE;
+        }
+        return 0;
+    }
+
+    private static int phraseScore(String text, String phrase) {
+        int best = 0;
+        for (int at = text.indexOf(phrase); at >= 0; at = text.indexOf(phrase, at + 1)) {
+            int end = at + phrase.length();
+            boolean whole = (at == 0 || !isWordChar(text.charAt(at - 1)))
+                    && (end == text.length() || !isWordChar(text.charAt(end)));
+            if (whole) return EXACT_SCORE;
+            best = PARTIAL_SCORE;
+        }
+        return best;
+    }
+
+    /**
+     * Returns the index, among the words of {@code text}, of the word holding character {@code at}, or of the
+     * next word if that character is a separator.
+     */
+    private static int wordAt(String text, int at) {
+        int starts = 0;
+        for (int i = 0; i <= at && i < text.length(); i++) {
+            if (isWordChar(text.charAt(i)) && (i == 0 || !isWordChar(text.charAt(i - 1)))) starts++;
+        }
+        boolean inWord = at < text.length() && isWordChar(text.charAt(at));
+        return inWord ? starts - 1 : starts;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Returns the bonus for the narrowest window of words holding a match of every term that has a word
+     * position, when there are at least two such terms.
+     */
+    private static int proximityBonus(int[][] positions) {
+        int placed = 0;
+        int total = 0;
+        for (int[] p : positions) {
+            if (p != null) {
+                placed++;
+                total += p.length;
+            }
+        }
+        if (placed < 2) return 0;
+
+        // Every (position, term) pair ordered by position, then a window sliding over them that covers every term.
+        long[] events = new long[total];
+        int n = 0;
+        for (int t = 0; t < positions.length; t++) {
+            if (positions[t] == null) continue;
+            for (int pos : positions[t]) {
+                events[n++] = ((long) pos << 32) | t;
+            }
+        }
+        Arrays.sort(events);
+        int[] inWindow = new int[positions.length];
+        int covered = 0;
+        int narrowest = Integer.MAX_VALUE;
+        for (int left = 0, right = 0; right < n; right++) {
+            if (inWindow[(int) events[right]]++ == 0) covered++;
+            while (covered == placed) {
+                narrowest = Math.min(narrowest, (int) (events[right] >>> 32) - (int) (events[left] >>> 32));
+                if (--inWindow[(int) events[left++]] == 0) covered--;
+            }
+        }
+        int gaps = Math.max(0, narrowest - (placed - 1));
+        return Math.max(0, MAX_PROXIMITY_BONUS - PROXIMITY_STEP * gaps);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase().trim();
+    }
+
+    /**
+     * Returns whether {@code term} is a phrase, matched only as a whole, rather than a token.
+     *
+     * @param term a term of a query
+     * @return {@code true} if it spans several words
+     */
+    static boolean isPhrase(String term) {
+        return term.contains(" ");
+    }
+
+    private boolean tokenMatches(String normHay, String[] words, String token) {
+        if (token.isEmpty()) return true;
+        if (normHay.contains(token)) return true; // direct substring across the whole text
+
+        // Compare against individual words
+        for (String w : words) {
+            // Partial match: token must be reasonably long, and match inside a word
+            if (token.length() >= MIN_PARTIAL && w.length() >= MIN_PARTIAL && w.contains(token)) return true;
+            // Typo tolerance: both sides reasonably long and within maxEdits edits
+            if (token.length() >= MIN_TYPO_LEN && w.length() >= MIN_TYPO_LEN && isWithinEdits(w, token, maxEdits)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the Levenshtein distance between {@code a} and {@code b} is at most {@code k}, giving
+     * up on a row of the table as soon as every entry exceeds {@code k}.
+     */
+    static boolean isWithinEdits(String a, String b, int k) {
+        if (k == 1) return isEditDistanceAtMostOne(a, b);
+        int la = a.length(), lb = b.length();
+        if (Math.abs(la - lb) > k) return false;
+        int[] previous = new int[lb + 1];
+        int[] current = new int[lb + 1];
+        for (int j = 0; j <= lb; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= la; i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= lb; j++) {
+                int substitute = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > k) return false;
+            int[] t = previous;
+            previous = current;
+            current = t;
+        }
+        return previous[lb] <= k;
+    }
+
+    // Optimized check for Levenshtein distance <= 1
+    static boolean isEditDistanceAtMostOne(String a, String b) {
+        int la = a.length(), lb = b.length();
+        if (Math.abs(la - lb) > 1) return false;
+        int i = 0, j = 0, edits = 0;
+        while (i < la && j < lb) {
+            if (a.charAt(i) == b.charAt(j)) { i++; j++; continue; }
+            if (++edits > 1) return false;
+            if (la == lb) { i++; j++; }          // substitution
+            else if (la > lb) { i++; }            // deletion in a
+            else { j++; }                         // insertion in a
+        }
+        // Account for trailing char in longer string
+        if (i < la || j < lb) edits++;
+        return edits <= 1;
+    }
+}
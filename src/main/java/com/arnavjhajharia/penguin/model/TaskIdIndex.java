@@ -0,0 +1,179 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.Arrays;
+
+/**
+ * Hash index from task id to list position, on primitive arrays.
+ * <p>
+ * Open addressing with linear probing over parallel {@code int} arrays, so an entry costs two array slots
+ * instead of a map node and two boxed integers. Deletion shifts the following entries of the probe run back
+ * instead of leaving tombstones, so lookups never slow down after many deletions.
+ * <p>
+ * Not thread-safe.
+ *
+ * @since 1.1
+ */
+final class TaskIdIndex {
+
+    /** Marks a free slot; ids are never negative. */
+    private static final int FREE = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Creates an empty index.
+     */
+    TaskIdIndex() {
+        clear();
+    }
+
+    /**
+     * Removes every entry.
+     */
+    void clear() {
+        keys = new int[MIN_CAPACITY];
+        values = new int[MIN_CAPACITY];
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /**
+     * Returns the position stored for {@code id}.
+     *
+     * @param id a task id
+     * @return the position, or {@code -1} if the id is not indexed
+     */
+    int get(int id) {
+        int mask = keys.length - 1;
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == id) return values[i];
+            if (k == FREE) return -1;
+        }
+    }
+
+    /**
+     * Returns whether {@code id} is indexed.
+     *
+     * @param id a task id
+     * @return {@code true} if present
+     */
+    boolean contains(int id) {
+        return get(id) >= 0;
+    }
+
+    /**
+     * Stores {@code position} for {@code id}, replacing any previous position.
+     *
+     * @param id       a task id
+     * @param position its list position
+     */
+    void put(int id, int position) {
+        assert id >= 0 : "ids are non-negative";
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == id) {
+                values[i] = position;
+                return;
+            }
+            if (k == FREE) {
+                keys[i] = id;
+                values[i] = position;
+                size++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes {@code id}, if present.
+     *
+     * @param id a task id
+     */
+    void remove(int id) {
+        int mask = keys.length - 1;
+        int i = mix(id) & mask;
+        while (keys[i] != id) {
+            if (keys[i] == FREE) return;
+            i = (i + 1) & mask;
+        }
+        // Shift later entries of the run back into the hole if their home slot allows it.
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int home = mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = FREE;
+        size--;
+    }
+
+    /**
+     * Moves every stored position down past the removed positions {@code ascending}: a position {@code p}
+     * becomes {@code p} minus the number of removed positions below it. One pass over the table, without
+     * hashing.
+     *
+     * @param ascending positions just removed from the list, in ascending order; their ids no longer indexed
+     */
+    void shiftDown(int[] ascending) {
+        int[] k = keys;
+        int[] v = values;
+        int first = ascending[0];
+        if (ascending.length == 1) {
+            // Values of free slots are never read, so they are shifted too rather than tested for, and the
+            // test against first is arithmetic: free and used slots alternate too unpredictably for a branch.
+            for (int i = 0; i < v.length; i++) {
+                v[i] -= (first - v[i]) >>> 31;
+            }
+            return;
+        }
+        for (int i = 0; i < k.length; i++) {
+            int p = v[i];
+            if (k[i] == FREE || p <= first) continue;
+            v[i] = p + Arrays.binarySearch(ascending, p) + 1;
+        }
+    }
+
+    /**
+     * Returns the number of indexed ids.
+     *
+     * @return the entry count
+     */
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == FREE) continue;
+            int i = mix(oldKeys[j]) & mask;
+            while (keys[i] != FREE) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    /** Spreads sequential ids over the table (Fibonacci hashing). */
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
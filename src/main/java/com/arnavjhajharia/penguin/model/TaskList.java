@@ -1,23 +1,65 @@
 package com.arnavjhajharia.penguin.model;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
-import com.arnavjhajharia.penguin.logic.FileParser;
 import com.arnavjhajharia.penguin.model.task.Deadline;
 import com.arnavjhajharia.penguin.model.task.Event;
 import com.arnavjhajharia.penguin.model.task.Task;
 import com.arnavjhajharia.penguin.model.task.Todo;
+import com.arnavjhajharia.penguin.storage.CompactTaskList;
+import com.arnavjhajharia.penguin.storage.IncrementalTaskStore;
+import com.arnavjhajharia.penguin.storage.JournalCompactor;
+import com.arnavjhajharia.penguin.storage.OffHeapTaskList;
+import com.arnavjhajharia.penguin.storage.PagedTaskList;
+import com.arnavjhajharia.penguin.storage.PatchableSnapshot;
+import com.arnavjhajharia.penguin.storage.SnapshotFlusher;
+import com.arnavjhajharia.penguin.storage.SnapshotHeader;
+import com.arnavjhajharia.penguin.storage.StorageFormat;
+import com.arnavjhajharia.penguin.storage.TaskJournal;
+import com.arnavjhajharia.penguin.storage.TaskLineParser;
+import com.arnavjhajharia.penguin.storage.TaskStore;
 
-
+/**
+ * The user's tasks, with their persistence. Safe for concurrent use: changes are serialized on the list's
+ * monitor, while {@code list}, {@code find}, {@code size} and {@code isInvalidIndex} read an immutable
+ * {@link TaskSnapshot} without taking the lock, so a UI thread never waits for a command or a save.
+ */
 public class TaskList {
 
+    /**
+     * Capacity meaning "no limit other than memory"; pass it as the {@code limit} of any constructor.
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    /**
+     * Number of tasks shown per page by {@link #list(int)}.
+     */
+    public static final int LIST_PAGE_SIZE = 1_000;
+
+    /**
+     * Default share of dead slots that makes tombstone mode compact. See {@link #enableTombstones(double)}.
+     */
+    public static final double DEFAULT_MAX_DEAD_RATIO = 0.25;
+
+    /**
+     * Default list size from which {@code find} scans in parallel. See {@link #enableParallelFind(int)}.
+     */
+    public static final int DEFAULT_PARALLEL_FIND_THRESHOLD = 100_000;
+
     /**
      * The backing list of tasks. Indexing is zero-based internally.
+     * An {@link ArrayList}, or the {@link #paged}, {@link #tombstones} or {@link #compact} list of those modes.
      */
-    private final List<Task> tasks;
+    private List<Task> tasks;
 
     /**
      * Maximum number of tasks allowed in this list.
@@ -30,17 +72,128 @@ public class TaskList {
      */
     private Optional<String> fileName;
 
+    /**
+     * Format used when writing snapshots. Detected from the file on load; see {@link #setStorageFormat(StorageFormat)}.
+     */
+    private StorageFormat format = StorageFormat.TEXT;
+
+    /**
+     * Write-ahead journal that records every mutation, or {@code null} when journaling is disabled.
+     * See {@link #enableJournal()}.
+     */
+    private TaskJournal journal;
+
+    /**
+     * Background compactor folding the journal into the snapshot; present whenever {@link #journal} is.
+     */
+    private JournalCompactor compactor;
+
+    /**
+     * Newest journal generation reflected in {@link #tasks}, starting from the snapshot's checkpoint.
+     */
+    private long generation;
+
+    /**
+     * Checkpoint generation of the snapshot on disk: the journal segments it already covers. Journal records
+     * replayed on top of it are not covered, so {@link #enableJournal(long, long)} must keep their segment.
+     */
+    private long checkpoint;
+
+    /**
+     * Background writer of incremental snapshot updates, or {@code null} when auto-save is disabled.
+     * See {@link #enableAutoSave()}.
+     */
+    private SnapshotFlusher flusher;
+
+    /**
+     * Number of pages the paged mode may cache, or {@code 0} if all tasks are kept in memory.
+     * See {@link #TaskList(int, String, int)}.
+     */
+    private final int cachedPages;
+
+    /**
+     * The file-backed list used as {@link #tasks} in paged mode; {@code null} otherwise.
+     */
+    private PagedTaskList paged;
+
+    /**
+     * The list used as {@link #tasks} when tasks are not held as objects, in paged or off-heap mode;
+     * {@code null} otherwise.
+     */
+    private CompactTaskList compact;
+
+    /**
+     * Backend for {@link #fileName} in the current {@link #format}; created on first use. See {@link #store()}.
+     */
+    private TaskStore store;
+
+    /**
+     * Whether {@link #store} holds exactly {@link #tasks}, so that an incremental store can be updated in place.
+     */
+    private boolean storeCurrent;
+
+    /**
+     * Id given to the next added task. Ids are never reused, not even after the newest task is deleted,
+     * because the value is persisted in the snapshot header.
+     */
+    private int nextId;
+
+    /**
+     * Maps each task id to its slot in {@link #tasks}: its position, or in tombstone mode its
+     * {@link TombstoneTaskList} slot. See {@link #slotOf(int)}.
+     */
+    private final TaskIdIndex ids = new TaskIdIndex();
+
+    /**
+     * The list used as {@link #tasks} in tombstone mode; {@code null} otherwise.
+     */
+    private TombstoneTaskList tombstones;
+
+    /**
+     * Immutable copy of {@link #tasks} for lock-free readers, replaced on every change; {@code null} in paged
+     * and off-heap mode, where tasks are not held as objects and readers take the lock instead.
+     */
+    private volatile TaskSnapshot snapshot;
+
+    /** Version of the latest {@link #snapshot}. */
+    private long version;
+
+    /**
+     * Inverted index answering {@link #find(String)}, or {@code null} when every query scans the list.
+     * See {@link #enableSearchIndex()}.
+     */
+    private volatile SearchIndex search;
+
+    /**
+     * Recent {@link #find(String)} results, kept exact by every change, or {@code null} when results are not
+     * cached. See {@link #enableQueryCache(int)}.
+     */
+    private volatile QueryCache results;
+
+    /**
+     * Edits a {@code find} token may be away from a word and still match it. See {@link #setTypoTolerance(int)}.
+     */
+    private volatile int typoEdits = 1;
+
+    /**
+     * List size from which a {@code find} scan is split across the common {@link ForkJoinPool};
+     * {@link Integer#MAX_VALUE} while parallel find is off. See {@link #enableParallelFind(int)}.
+     */
+    private volatile int parallelFindFrom = Integer.MAX_VALUE;
+
     /**
      * Creates an empty {@code TaskList} with a maximum capacity but without an associated file.
      * No loading is attempted.
      *
-     * @param limit maximum number of tasks that can be contained
+     * @param limit maximum number of tasks that can be contained, or {@link #UNBOUNDED}
      */
     public TaskList(int limit) {
         assert limit > 0 : "limit must be positive";
         this.tasks = new ArrayList<>();
         this.limit = limit;
         this.fileName = Optional.empty();
+        this.cachedPages = 0;
+        publish();
         assertInvariants();
     }
 
@@ -48,7 +201,7 @@ public class TaskList {
      * Creates an empty {@code TaskList} with a maximum capacity and an associated file name,
      * then attempts to load tasks from that file immediately.
      *
-     * @param limit    maximum number of tasks that can be contained
+     * @param limit    maximum number of tasks that can be contained, or {@link #UNBOUNDED}
      * @param fileName path of the file to load from and optionally save to later
      */
     public TaskList(int limit, String fileName) {
@@ -57,134 +210,791 @@ public class TaskList {
         this.limit = limit;
         this.fileName = Optional.ofNullable(fileName);
         this.tasks = new ArrayList<>();
+        this.cachedPages = 0;
         loadFromFileIfPresent();   // <<— load on construction
         assertInvariants();
     }
 
+    /**
+     * Creates a paged {@code TaskList} over the given file, for lists larger than the heap.
+     * <p>
+     * Only a compact index (file offset, type and done flag per task) is kept in memory; tasks are read
+     * from the file on demand, a page of {@link PagedTaskList#PAGE_SIZE} at a time, and at most
+     * {@code cachedPages} pages are cached (least recently used first out). The file is kept in the
+     * {@link StorageFormat#BINARY} format and converted on open if it is a text snapshot. Every operation
+     * works as in memory; see {@link #pageCacheStats()} for the cache counters.
+     *
+     * @param limit       maximum number of tasks that can be contained, or {@link #UNBOUNDED}
+     * @param fileName    path of the snapshot to page through
+     * @param cachedPages number of pages the cache may hold
+     */
+    public TaskList(int limit, String fileName, int cachedPages) {
+        assert limit > 0 : "limit must be positive";
+        assert fileName != null && !fileName.trim().isEmpty() : "paged mode needs a file";
+        assert cachedPages > 0 : "cachedPages must be positive";
+        this.limit = limit;
+        this.fileName = Optional.of(fileName);
+        this.cachedPages = cachedPages;
+        this.tasks = new ArrayList<>();
+        loadFromFileIfPresent();
+        assertInvariants();
+    }
+
     /**
      * Associates this list with the given file path and loads tasks from it, replacing none of the existing
-     * tasks but appending until the {@link #limit} is reached.
+     * tasks but appending until the {@link #limit} is reached. In paged mode the list pages through the new
+     * file instead, and unsaved changes are discarded.
      *
      * @param filePath path to the file to read from
      */
-    public void loadFromFile(String filePath) {
+    public synchronized void loadFromFile(String filePath) {
         assert filePath != null && !filePath.isBlank() : "filePath must be non-null and non-blank";
         this.fileName = Optional.ofNullable(filePath);
+        boolean wasJournaled = journal != null;
+        boolean wasAutoSaved = flusher != null;
+        close();
         loadFromFileIfPresent();
+        if (wasJournaled) {
+            // Follow the new file so that later mutations are journaled next to it.
+            enableJournal();
+        }
+        if (wasAutoSaved) {
+            enableAutoSave();
+        }
         assertInvariants();
     }
 
     /**
-     * Attempts to load tasks from {@link #fileName} if present. Each line is parsed into a {@link Task}
-     * via {@link #parseLineToTask(String, int)} and appended until {@link #limit} is reached.
+     * Turns on journal mode: every {@code add}, {@code markDone}, {@code markUndone} and {@code delete}
+     * appends one record to {@code <fileName>.log}, so the list stays durable after every command without
+     * rewriting the whole file. The journal is replayed on construction and truncated by {@link #save()}.
+     * Uses the default {@link JournalCompactor} thresholds. Cannot be combined with {@link #enableAutoSave()}.
+     *
+     * @return {@code true} if a file name is present and the journal could be opened; {@code false} otherwise
+     */
+    public boolean enableJournal() {
+        return enableJournal(JournalCompactor.DEFAULT_MAX_BYTES, JournalCompactor.DEFAULT_MAX_RECORDS);
+    }
+
+    /**
+     * Turns on journal mode with explicit compaction thresholds. Once the journal reaches either threshold,
+     * a fresh snapshot is written on a background thread and the journal is truncated.
+     *
+     * @param maxBytes   journal size in bytes that triggers a compaction
+     * @param maxRecords journal record count that triggers a compaction
+     * @return {@code true} if a file name is present and the journal could be opened; {@code false} otherwise
+     */
+    public synchronized boolean enableJournal(long maxBytes, long maxRecords) {
+        if (journal != null) return true;
+        if (fileName.isEmpty() || flusher != null) return false;
+        try {
+            journal = new TaskJournal(fileName.get(), checkpoint);
+            compactor = new JournalCompactor(maxBytes, maxRecords);
+            if (journal.hasSealed()) {
+                save(); // a compaction was cut short: its segment is replayed but not yet in the snapshot
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Makes journaled mutations survive a machine crash, not only a program crash: journal records are forced
+     * to the storage device, at once when no {@code fsync} is running, and otherwise together with every other
+     * mutation made while it runs. Mutations still return immediately; use {@link #awaitDurable()} before
+     * reporting a command as saved. Requires {@link #enableJournal()}.
+     *
+     * @return {@code true} if group commit is on; {@code false} if journaling is disabled
+     */
+    public synchronized boolean enableGroupCommit() {
+        if (journal == null) return false;
+        journal.enableGroupCommit();
+        return true;
+    }
+
+    /**
+     * Waits until every mutation made so far is on the storage device. Returns immediately unless
+     * {@link #enableGroupCommit()} is on.
+     *
+     * @return {@code true} if the mutations are durable; {@code false} if forcing them failed
+     */
+    public boolean awaitDurable() {
+        TaskJournal current;
+        synchronized (this) {
+            current = journal;
+        }
+        return current == null || current.awaitDurable(); // wait without blocking further commands
+    }
+
+    /**
+     * Turns on auto-save: the list tracks which tasks changed and a background thread writes only those
+     * changes to the snapshot, in place, once a burst of commands has settled. Marking a task rewrites one
+     * byte and adding a task appends one record; only deletions rewrite the whole file.
      * <p>
-     * Lines that cannot be parsed (returning {@code null}) are skipped. An invalid {@code Event} line will
-     * throw an {@link IllegalArgumentException}.
+     * In-place updates need fixed record positions, so the snapshot is rewritten once in the
+     * {@link StorageFormat#BINARY} format when auto-save is turned on. Auto-save replaces the journal as the
+     * durability mechanism and cannot be combined with {@link #enableJournal()} or paged mode.
+     * Uses the default {@link SnapshotFlusher} debounce window.
+     *
+     * @return {@code true} if a file name is present and the snapshot could be written; {@code false} otherwise
+     */
+    public boolean enableAutoSave() {
+        return enableAutoSave(SnapshotFlusher.DEFAULT_QUIET_MILLIS, SnapshotFlusher.DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * Turns on auto-save with an explicit debounce window.
      *
-     * @throws IllegalArgumentException if an Event line has an invalid format (see {@link #parseLineToTask(String, int)})
+     * @param quietMillis    time without changes after which pending changes are flushed
+     * @param maxDelayMillis upper bound on how long a change may stay unflushed
+     * @return {@code true} if a file name is present and the snapshot could be written; {@code false} otherwise
+     */
+    public synchronized boolean enableAutoSave(long quietMillis, long maxDelayMillis) {
+        if (flusher != null) return true;
+        if (fileName.isEmpty() || journal != null || paged != null) return false;
+        try {
+            format = StorageFormat.BINARY;
+            flusher = new SnapshotFlusher(PatchableSnapshot.create(fileName.get(), nextId, tasks), quietMillis, maxDelayMillis);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of bytes auto-save has written to the snapshot so far; changes still waiting
+     * for their flush are not counted. Intended for diagnostics.
+     *
+     * @return bytes written, or {@code -1} if auto-save is disabled
+     */
+    public synchronized long autoSaveBytesWritten() {
+        return flusher == null ? -1 : flusher.bytesWritten();
+    }
+
+    /**
+     * Turns on tombstone mode with the default compaction threshold. See {@link #enableTombstones(double)}.
+     *
+     * @return {@code true} if tombstone mode is on; {@code false} in paged or off-heap mode
+     */
+    public boolean enableTombstones() {
+        return enableTombstones(DEFAULT_MAX_DEAD_RATIO);
+    }
+
+    /**
+     * Turns on tombstone mode: {@code delete} only marks the task's slot dead instead of shifting every later
+     * task, so deleting runs of tasks from the front of a large list no longer costs {@code O(n)} each. Dead
+     * slots are dropped in one pass once they exceed {@code maxDeadRatio} of all slots. Numbering in
+     * {@code list}, {@code find} and every command stays dense and one-based. Cannot be combined with paged
+     * or off-heap mode, whose indexes already avoid moving tasks.
+     *
+     * @param maxDeadRatio share of dead slots, between {@code 0} and {@code 1}, that triggers a compaction
+     * @return {@code true} if tombstone mode is on; {@code false} in paged or off-heap mode
+     */
+    public synchronized boolean enableTombstones(double maxDeadRatio) {
+        assert maxDeadRatio > 0 && maxDeadRatio < 1 : "maxDeadRatio must be between 0 and 1";
+        if (tombstones != null) return true;
+        if (compact != null) return false;
+        tombstones = new TombstoneTaskList(tasks, maxDeadRatio);
+        tasks = tombstones;
+        reindex();
+        assertInvariants();
+        return true;
+    }
+
+    /**
+     * Turns on off-heap mode with the default chunk size. See {@link #enableOffHeap(int)}.
+     *
+     * @return {@code true} if off-heap mode is on; {@code false} in paged or tombstone mode
+     */
+    public boolean enableOffHeap() {
+        return enableOffHeap(OffHeapTaskList.DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Turns on off-heap mode, for lists of tens of millions of tasks: descriptions, types, done flags and
+     * dates move to an {@link OffHeapTaskList} arena outside the Java heap, which then holds a single
+     * {@code long} per task, so the garbage collector no longer traces several objects per task. Tasks are
+     * built from the arena only while {@code list}, {@code find} or {@code save} look at them, and marking a
+     * task updates its record in place. As in paged mode, readers take the lock instead of reading a
+     * snapshot. Cannot be combined with paged or tombstone mode.
+     * <p>
+     * To load a large file without ever holding it on the heap, turn this on before loading, e.g. with
+     * {@code new TaskList(limit)}, then {@code enableOffHeap()}, then {@link #loadFromFile(String)}.
+     *
+     * @param chunkBytes size of each arena chunk
+     * @return {@code true} if off-heap mode is on; {@code false} in paged or tombstone mode
+     */
+    public synchronized boolean enableOffHeap(int chunkBytes) {
+        if (compact instanceof OffHeapTaskList) return true;
+        if (compact != null || tombstones != null) return false;
+        OffHeapTaskList arena = new OffHeapTaskList(chunkBytes);
+        arena.addAll(tasks);
+        tasks = arena;
+        compact = arena;
+        publish();
+        assertInvariants();
+        return true;
+    }
+
+    /**
+     * Turns on the search index: {@code find} looks the words of its query up in an inverted index of the
+     * tasks' words, and only checks the tasks that may match instead of every task. Results stay exactly
+     * those of a full scan. The index is built once here and then kept up to date by every command; it holds
+     * a few entries per word of every task, on the heap, in any mode. While it is on, {@code find} takes the
+     * lock instead of reading a snapshot.
+     */
+    public synchronized void enableSearchIndex() {
+        if (search != null) return;
+        SearchIndex index = new SearchIndex();
+        for (Task t : tasks) {
+            index.add(t);
+        }
+        search = index;
+    }
+
+    /**
+     * Turns on the query cache with room for {@link QueryCache#DEFAULT_MAX_QUERIES} queries. See
+     * {@link #enableQueryCache(int)}.
+     */
+    public void enableQueryCache() {
+        enableQueryCache(QueryCache.DEFAULT_MAX_QUERIES);
+    }
+
+    /**
+     * Turns on the query cache: {@code find} remembers which tasks matched the {@code maxQueries} most
+     * recently used queries, so repeating one only renders its matches. Every command keeps the cached
+     * results exact instead of discarding them: an {@code add} checks the new task against each cached query,
+     * a {@code delete} drops the task from the results holding it, and a {@code mark} or {@code unmark}
+     * checks the task again. Each cached query holds four bytes per match. While the cache is on,
+     * {@code find} takes the lock instead of reading a snapshot.
+     *
+     * @param maxQueries number of queries kept
+     */
+    public synchronized void enableQueryCache(int maxQueries) {
+        if (results != null) return;
+        results = new QueryCache(maxQueries);
+    }
+
+    /**
+     * Returns the counters of the query cache, including its hit rate.
+     *
+     * @return the counters, or empty if the query cache is off
+     */
+    public synchronized Optional<QueryCache.Stats> queryCacheStats() {
+        return results == null ? Optional.empty() : Optional.of(results.stats());
+    }
+
+    /**
+     * Sets how many edits (insertions, deletions or substitutions of a character) a {@code find} token may be
+     * away from a word of a task and still match it. Only tokens and words of four characters or more match
+     * this way. Two edits find more misspellings but also more unrelated words.
+     *
+     * @param maxEdits {@code 1}, the default, or {@code 2}
+     */
+    public void setTypoTolerance(int maxEdits) {
+        assert maxEdits >= 1 && maxEdits <= SearchQuery.MAX_TYPO_EDITS : "typo tolerance must be 1 or 2 edits";
+        typoEdits = maxEdits;
+    }
+
+    /**
+     * Turns on parallel find with the default threshold. See {@link #enableParallelFind(int)}.
+     */
+    public void enableParallelFind() {
+        enableParallelFind(DEFAULT_PARALLEL_FIND_THRESHOLD);
+    }
+
+    /**
+     * Turns on parallel find: a {@code find} that checks every task, because the search index is off or
+     * cannot narrow the query (such as a short punctuation term), splits a list of at least {@code minTasks}
+     * tasks into parts checked on the common {@link ForkJoinPool}, and merges the hits back in list order.
+     * Smaller lists, single-core machines, and paged and off-heap mode, whose lists are not safe to read
+     * from several threads, keep scanning sequentially. Results are the same either way.
+     *
+     * @param minTasks smallest list scanned in parallel
+     */
+    public void enableParallelFind(int minTasks) {
+        assert minTasks > 0 : "minTasks must be positive";
+        parallelFindFrom = minTasks;
+    }
+
+    /**
+     * Returns the page cache counters of paged mode.
+     *
+     * @return the counters, or empty if this list is kept in memory
+     */
+    public synchronized Optional<PagedTaskList.Stats> pageCacheStats() {
+        return paged == null ? Optional.empty() : Optional.of(paged.stats());
+    }
+
+    /**
+     * Chooses the format used by subsequent saves and compactions. Loading always detects the format
+     * from the file itself, so files in any format can be read regardless of this setting.
+     * <p>
+     * With {@link StorageFormat#INDEXED}, the next {@link #save()} converts the file; from then on, unless the
+     * journal is enabled, every {@code add}, {@code markDone}, {@code markUndone} and {@code delete} updates
+     * the file in place and {@code save()} has nothing left to write.
+     *
+     * @param format the snapshot format to write
+     */
+    public synchronized void setStorageFormat(StorageFormat format) {
+        assert format != null : "format must not be null";
+        this.format = format;
+    }
+
+    /**
+     * Returns the format used when writing snapshots.
+     *
+     * @return the current storage format
+     */
+    public synchronized StorageFormat getStorageFormat() {
+        return format;
+    }
+
+    /**
+     * Releases the journal, if any, after waiting for a running compaction, and flushes and stops auto-save.
+     * The list remains usable but further mutations are no longer journaled or saved automatically.
+     * In paged mode the backing file is closed until the next page is read, and an indexed store is
+     * closed until its next update.
+     */
+    public synchronized void close() {
+        if (paged != null) {
+            paged.close();
+        }
+        if (flusher != null) {
+            flusher.close();
+            flusher = null;
+        }
+        if (compactor != null) {
+            compactor.close();
+            compactor = null;
+        }
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /**
+     * Attempts to load tasks from {@link #fileName} if present, in whichever {@link StorageFormat} the file
+     * is written (detected from its header), then replays the journal on top.
      */
     private void loadFromFileIfPresent() {
-        if (fileName.isEmpty()) return;
-        assert fileName.isEmpty() || !fileName.get().trim().isEmpty() : "fileName must not be blank when present";
+        if (fileName.isPresent()) {
+            loadFromFilePresent();
+        }
+        publish();
+        assertInvariants();
+    }
 
-        List<String> lines = FileParser.readLinesFromFile(fileName.get());
-        for (String line : lines) {
-            if (tasks.size() >= limit) break;
-            Task parsed = parseLineToTask(line, tasks.size());
-            if (parsed != null) {
-                tasks.add(parsed);
+    private void loadFromFilePresent() {
+        assert !fileName.get().trim().isEmpty() : "fileName must not be blank when present";
+
+        Path path = Path.of(fileName.get());
+        reindex();
+        if (cachedPages > 0) {
+            checkpoint = openPaged(path);
+        } else {
+            StorageFormat detected = StorageFormat.detect(path);
+            if (detected != null) {
+                format = detected;
             }
+            checkpoint = loadFromStore();
         }
-        assertInvariants();
+        generation = replayJournal(checkpoint);
     }
 
     /**
-     * Saves the current tasks to the associated {@link #fileName}, if present.
+     * Replaces {@link #snapshot} with a copy of {@link #tasks}, after changes too broad to apply one by one.
+     */
+    private void publish() {
+        snapshot = compact != null ? null : TaskSnapshot.of(tasks, ++version);
+    }
+
+    /**
+     * Runs {@code reader} on the latest snapshot, or in paged and off-heap mode on {@link #tasks} under the lock.
+     */
+    private <R> R read(Function<List<Task>, R> reader) {
+        TaskSnapshot current = snapshot;
+        if (current != null) return reader.apply(current);
+        synchronized (this) {
+            return reader.apply(tasks);
+        }
+    }
+
+    /**
+     * Returns an immutable view of the tasks as they are now, which later changes do not affect. Intended for
+     * views that render the list on another thread.
      *
-     * @return {@code true} if a file name is present and saving succeeded; {@code false} if no file name is present or writing failed
+     * @return the snapshot, or empty in paged and off-heap mode, where tasks are not held as objects
      */
-    public boolean save() {
-        return fileName.filter(this::saveToFile).isPresent();
+    public Optional<TaskSnapshot> snapshot() {
+        return Optional.ofNullable(snapshot);
     }
 
     /**
-     * Saves the current tasks to the specified file path using each task's
-     * {@link Task#toStorageLine()} representation.
+     * Appends the tasks of the current {@link #store()} until {@link #limit} is reached.
      *
-     * @param filePath destination file path
-     * @return {@code true} if the write succeeded; {@code false} otherwise
+     * @return the snapshot's checkpoint generation, or {@code 0} if it could not be read
+     * @throws IllegalArgumentException if a text snapshot holds an invalid Event line
      */
-    public boolean saveToFile(String filePath) {
-        assert filePath != null && !filePath.isBlank() : "filePath must be non-null and non-blank";
-        List<String> lines = tasks.stream()
-                .map(Task::toStorageLine)   // <<— polymorphic call
-                .collect(Collectors.toList());
-        return FileParser.writeLinesToFile(filePath, lines);
+    private long loadFromStore() {
+        boolean wasEmpty = tasks.isEmpty();
+        try {
+            SnapshotHeader header = store().load(tasks.size(), limit - tasks.size(), this::appendLoaded);
+            nextId = Math.max(nextId, header.nextId());
+            // Only a list that holds exactly what the store holds, ids included, may be updated in place.
+            storeCurrent = wasEmpty && tasks.size() < limit && ids.size() == tasks.size();
+            return header.checkpoint();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Appends a task read from a file, giving it a fresh id if its stored id is already taken (which only
+     * happens when a second file is loaded into a non-empty list).
+     */
+    private void appendLoaded(Task task) {
+        if (ids.contains(task.getId())) {
+            task = task.withId(nextId);
+        }
+        append(task);
     }
 
+    /**
+     * Appends {@code task} to {@link #tasks} and indexes its id.
+     */
+    private void append(Task task) {
+        index(task.getId(), tombstones != null ? tombstones.slotCount() : tasks.size());
+        tasks.add(task);
+        if (search != null) {
+            search.add(task);
+        }
+        if (results != null) {
+            results.added(task);
+        }
+    }
 
+    private void index(int id, int slot) {
+        ids.put(id, slot);
+        nextId = Math.max(nextId, id + 1);
+    }
 
     /**
-     * Parses a single line into a concrete {@link Task}. The following storage formats are supported:
-     * <pre>
-     * T | 1 | read book
-     * D | 0 | return book | June 6th
-     * E | 0 | project meeting | 2025-08-06T14:00 | 2025-08-06T16:00
-     * E | 1 | standup | 2025-08-07T10:00 | 2025-08-07T11:00
-     * </pre>
-     * Notes:
-     * <ul>
-     *   <li>Pipes may be surrounded by arbitrary whitespace.</li>
-     *   <li>The "done" flag accepts {@code 1} / {@code 0} (and {@code true}/{@code false} for marking done).</li>
-     *   <li>Event timestamps are expected as ISO-like strings; the method does not parse them here—strings are passed through to {@link Event}.</li>
-     * </ul>
+     * Rebuilds {@link #ids} from {@link #tasks}.
+     */
+    private void reindex() {
+        ids.clear();
+        for (int i = 0; i < tasks.size(); i++) {
+            index(idAt(i), slotOf(i));
+        }
+    }
+
+    /**
+     * Removes the task at {@code idx}. Without tombstones, the tasks after it move down a position and their
+     * entries in {@link #ids} move with them; with tombstones, they only move when the list is compacted.
+     */
+    private Task removeAt(int idx) {
+        Task removed = tasks.remove(idx);
+        ids.remove(removed.getId());
+        if (search != null) {
+            search.remove(removed);
+        }
+        if (results != null) {
+            results.removed(new int[] {removed.getId()});
+        }
+        if (tombstones != null) {
+            if (tombstones.compactIfDue()) {
+                reindex();
+            }
+            return removed;
+        }
+        shiftIds(new int[] {idx});
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at {@code ascending}, each later task moving at most once. With tombstones, each
+     * removal only clears a slot.
+     */
+    private void removeAll(int[] ascending) {
+        if (results != null) {
+            int[] removedIds = new int[ascending.length];
+            for (int i = 0; i < ascending.length; i++) {
+                removedIds[i] = idAt(ascending[i]);
+            }
+            Arrays.sort(removedIds);
+            results.removed(removedIds);
+        }
+        if (tombstones != null) {
+            for (int i = ascending.length - 1; i >= 0; i--) {
+                Task removed = tasks.remove(ascending[i]);
+                ids.remove(removed.getId());
+                if (search != null) {
+                    search.remove(removed);
+                }
+            }
+            if (tombstones.compactIfDue()) {
+                reindex();
+            }
+            return;
+        }
+        for (int idx : ascending) {
+            ids.remove(idAt(idx));
+            if (search != null) {
+                search.remove(tasks.get(idx));
+            }
+        }
+        if (compact != null) {
+            compact.removeAll(ascending);
+        } else {
+            int n = tasks.size();
+            int w = ascending[0];
+            int k = 0;
+            for (int r = ascending[0]; r < n; r++) {
+                if (k < ascending.length && ascending[k] == r) {
+                    k++;
+                    continue;
+                }
+                tasks.set(w++, tasks.get(r));
+            }
+            tasks.subList(w, n).clear();
+        }
+        shiftIds(ascending);
+    }
+
+    /**
+     * Without tombstones, brings the entries of {@link #ids} for the tasks after the removed positions
+     * {@code ascending} up to date, so that {@link #indexOfId(int)} stays a single lookup. A short tail is
+     * re-indexed task by task; otherwise one pass over the index is cheaper than hashing every moved id.
+     */
+    private void shiftIds(int[] ascending) {
+        int from = ascending[0];
+        if ((tasks.size() - from) * 8L < ids.size()) {
+            for (int i = from; i < tasks.size(); i++) {
+                ids.put(idAt(i), i);
+            }
+        } else {
+            ids.shiftDown(ascending);
+        }
+    }
+
+    /**
+     * Returns the slot {@link #ids} records for the task at {@code idx}.
+     */
+    private int slotOf(int idx) {
+        return tombstones != null ? tombstones.slotOf(idx) : idx;
+    }
+
+    /**
+     * Returns the id of the task at {@code idx}; in paged and off-heap mode without building the task.
+     */
+    private int idAt(int idx) {
+        return compact != null ? compact.idAt(idx) : tasks.get(idx).getId();
+    }
+
+    /**
+     * Returns the {@link TaskStore} for {@link #fileName} in the current {@link #format}, replacing the
+     * previous one if the format changed.
+     */
+    private TaskStore store() {
+        assert fileName.isPresent() : "store needs a file";
+        if (store == null || store.format() != format) {
+            if (store != null) {
+                store.close();
+            }
+            store = TaskStore.open(fileName.get(), format);
+            storeCurrent = false;
+        }
+        return store;
+    }
+
+    /**
+     * Returns whether mutations go straight to an incremental store instead of through the journal or a save.
+     */
+    private boolean writesThrough() {
+        return journal == null && storeCurrent && store instanceof IncrementalTaskStore;
+    }
+
+    /**
+     * Returns {@link #store} as the incremental store {@link #writesThrough()} writes to.
+     */
+    private IncrementalTaskStore incrementalStore() {
+        return (IncrementalTaskStore) store;
+    }
+
+    /**
+     * Replaces {@link #tasks} with a {@link PagedTaskList} over {@code path}.
      *
-     * @param line   the raw line from storage
-     * @param nextId the zero-based id to assign to the created task
-     * @return a {@link Task} instance if parsing succeeds; {@code null} if the line is ignorable/invalid for non-Event types
-     * @throws IllegalArgumentException if an Event line does not contain both start and end (minimum 5 parts)
-     */
-    private Task parseLineToTask(String line, int nextId) {
-        assert nextId >= 0 : "nextId must be non-negative";
-        if (line == null) return null;
-        String trimmed = line.trim();
-        if (trimmed.isEmpty()) return null;
-
-        // Split on pipes with optional surrounding whitespace
-        String[] parts = trimmed.split("\\s*\\|\\s*");
-        // Expect at least: type | done | desc
-        if (parts.length < 3) return null;
-
-        String type = parts[0].trim().toUpperCase();
-        String doneFlag = parts[1].trim();
-        String desc = parts[2].trim();
-
-        Task t = switch (type) {
-            case "T" -> new Todo(desc, nextId);
-            case "D" -> {
-                String deadline = parts.length >= 4 ? parts[3].trim() : "";
-                yield new Deadline(desc, nextId, deadline);
-            }
-            case "E" -> {
-
-                if (parts.length < 5) {
-                    throw new IllegalArgumentException(
-                            "Invalid Event line. Expected: E | <0/1> | <desc> | yyyy-MM-dd'T'HH:mm | yyyy-MM-dd'T'HH:mm"
-                    );
+     * @param path the snapshot
+     * @return the snapshot's checkpoint generation, or {@code 0} if it could not be read
+     */
+    private long openPaged(Path path) {
+        format = StorageFormat.BINARY;
+        if (paged != null) {
+            paged.close();
+        }
+        try {
+            paged = PagedTaskList.open(path, cachedPages);
+            tasks = paged;
+            compact = paged;
+            ids.clear();
+            for (int i = 0; i < paged.size(); i++) {
+                index(paged.idAt(i), i);
+            }
+            nextId = Math.max(nextId, paged.nextId());
+            reindexSearch();
+            return paged.checkpoint();
+        } catch (IOException e) {
+            e.printStackTrace();
+            paged = null;
+            compact = null;
+            tasks = new ArrayList<>();
+            ids.clear();
+            reindexSearch();
+            return 0;
+        }
+    }
+
+    /**
+     * Rebuilds {@link #search} and empties {@link #results}, if on, after {@link #tasks} was replaced as a whole.
+     */
+    private void reindexSearch() {
+        if (results != null) {
+            results.clear();
+        }
+        if (search == null) return;
+        search.clear();
+        for (Task t : tasks) {
+            search.add(t);
+        }
+    }
+
+    /**
+     * Applies the records of the journal next to {@link #fileName} to the in-memory list.
+     * Records that no longer fit (index out of range, list full) are ignored.
+     *
+     * @param checkpoint checkpoint generation of the loaded snapshot
+     * @return the newest generation replayed
+     */
+    private long replayJournal(long checkpoint) {
+        return TaskJournal.replayAll(fileName.get(), checkpoint, new TaskJournal.Replayer() {
+            @Override
+            public void onAdd(String storageLine) {
+                if (tasks.size() >= limit) return;
+                Task parsed = TaskLineParser.parse(storageLine, nextId);
+                if (parsed != null) {
+                    appendLoaded(parsed);
                 }
-                String start = parts[3].trim();
-                String end   = parts[4].trim();
-                yield new Event(desc, nextId, start, end);
             }
-            default -> null;
-        };
 
-        if (t != null && ("1".equals(doneFlag) || "true".equalsIgnoreCase(doneFlag))) {
-            t.markDone();
+            @Override
+            public void onMark(int idx, boolean done) {
+                if (isOutOfRange(idx)) return;
+                setDone(idx, done);
+            }
+
+            @Override
+            public void onDelete(int idx) {
+                if (isOutOfRange(idx)) return;
+                removeAt(idx);
+            }
+
+            @Override
+            public void onDeleteAll(int[] ascending) {
+                if (isOutOfRange(ascending[0]) || isOutOfRange(ascending[ascending.length - 1])) return;
+                removeAll(ascending);
+            }
+        });
+    }
+
+    /**
+     * Saves the current tasks to the associated {@link #fileName}, if present.
+     * The snapshot is swapped in atomically and, once written, the journal is truncated, since it holds
+     * nothing the snapshot lacks. With auto-save enabled, only the pending changes are written; with an
+     * up-to-date {@link StorageFormat#INDEXED} store, nothing is.
+     *
+     * @return {@code true} if a file name is present and saving succeeded; {@code false} if no file name is present or writing failed
+     */
+    public synchronized boolean save() {
+        if (fileName.isEmpty()) return false;
+        if (flusher != null) {
+            if (flusher.flush()) return true;
+            // The file may be out of step after a failed write; rebuild it from memory.
+            flusher.recordRewrite(tasks.toArray(new Task[0]), nextId);
+            return flusher.flush();
+        }
+        if (compactor != null) {
+            compactor.awaitIdle(); // never let an older background snapshot land after this one
+        }
+        long gen = journal != null ? journal.generation() : generation;
+        TaskStore target = store();
+        if (writesThrough()) return true; // every mutation is already in the file
+        boolean saved = target.save(new SnapshotHeader(gen, nextId), tasks);
+        storeCurrent = saved;
+        if (saved) {
+            checkpoint = gen;
+        }
+        if (saved && journal != null) {
+            journal.reset(gen + 1);
+        }
+        if (saved && paged != null) {
+            reloadPaged(); // fold pending additions and deletions back into the file-backed index
+        }
+        return saved;
+    }
+
+    private void reloadPaged() {
+        try {
+            paged.reload();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Starts a background compaction if the journal has outgrown its thresholds. The snapshot content is
+     * captured here, in memory, so the command loop only pays for the rendering and never for the write.
+     * While the segment of a failed compaction is still sealed, no new one can be, so that compaction is
+     * retried instead and nothing is captured.
+     */
+    private void compactIfDue() {
+        if (compactor == null || !compactor.isDue(journal)) return;
+        if (journal.hasSealed()) {
+            compactor.retry(fileName.get(), journal);
+            return;
+        }
+        JournalCompactor.Snapshot snapshot = store().capture(new SnapshotHeader(journal.generation(), nextId), tasks);
+        if (journal.rotate() < 0) return;
+        compactor.submit(fileName.get(), snapshot, journal);
+    }
+
+    /**
+     * Saves the current tasks to the specified file path in the current {@link StorageFormat}, without a
+     * checkpoint. The file is written atomically.
+     *
+     * @param filePath destination file path
+     * @return {@code true} if the write succeeded; {@code false} otherwise
+     */
+    public synchronized boolean saveToFile(String filePath) {
+        assert filePath != null && !filePath.isBlank() : "filePath must be non-null and non-blank";
+        TaskStore target = TaskStore.open(filePath, format);
+        try {
+            return target.save(new SnapshotHeader(0, nextId), tasks);
+        } finally {
+            target.close();
         }
-        return t;
     }
 
+
+
     /**
      * Renders the current tasks as a user-facing list. If no tasks exist, returns a friendly message.
      * The numbering shown to the user is one-based, even though internal storage is zero-based.
@@ -192,16 +1002,52 @@ public class TaskList {
      * @return a {@link StringBuilder} containing the formatted list or a no-items message
      */
     public StringBuilder list() {
-        if (tasks.isEmpty()) {
+        return read(view -> view.isEmpty() ? new StringBuilder("No tasks to list.") : render(view, 0, view.size()));
+    }
+
+    /**
+     * Renders one page of {@link #LIST_PAGE_SIZE} tasks, so that the cost of showing the list does not grow
+     * with its size. A list that fits on one page is rendered exactly as by {@link #list()}; otherwise a
+     * footer names the page and how to reach the others.
+     *
+     * @param page one-based page number
+     * @return a {@link StringBuilder} containing the page, a no-items message or an invalid-page message
+     */
+    public StringBuilder list(int page) {
+        return read(view -> page(view, page));
+    }
+
+    private static StringBuilder page(List<Task> view, int page) {
+        if (view.isEmpty()) {
             return new StringBuilder("No tasks to list.");
         }
-        StringBuilder text = new StringBuilder();
-        for (int i = 0; i < tasks.size(); i++) {
-            text.append(i + 1).append(". ").append(tasks.get(i)).append("\n");
+        int pages = (int) ((view.size() + (long) LIST_PAGE_SIZE - 1) / LIST_PAGE_SIZE);
+        if (page < 1 || page > pages) {
+            return new StringBuilder("Invalid page, bro. Pick 1 to " + pages + ".");
+        }
+        int from = (page - 1) * LIST_PAGE_SIZE;
+        StringBuilder text = render(view, from, Math.min(view.size(), from + LIST_PAGE_SIZE));
+        if (pages > 1) {
+            text.append(String.format("Page %d of %d (%d tasks). Use \"list <page>\" for more.", page, pages, view.size()));
+        }
+        return text;
+    }
+
+    private static StringBuilder render(List<Task> view, int from, int to) {
+        StringBuilder text = new StringBuilder((int) Math.min(Integer.MAX_VALUE - 8, 56L * (to - from)));
+        for (int i = from; i < to; i++) {
+            appendEntry(text, i, view.get(i));
         }
         return text;
     }
 
+    /**
+     * Appends one line of a listing: the one-based position, the task and its stable {@code #id}.
+     */
+    private static void appendEntry(StringBuilder text, int idx, Task task) {
+        text.append(idx + 1).append(". ").append(task).append(" (#").append(task.getId()).append(")\n");
+    }
+
     /**
      * Adds a new task derived from a prompt according to the specified {@link TaskType}.
      * The {@code prompt} is split by the delimiter {@code " /"} to extract optional parts:
@@ -216,7 +1062,7 @@ public class TaskList {
      * @param type   the type of task to create
      * @return a user-facing confirmation message including the created task and the new count
      */
-    public StringBuilder add(String prompt, TaskType type) {
+    public synchronized StringBuilder add(String prompt, TaskType type) {
         assert type != null : "type must not be null";
         assertInvariants();
         if (tasks.size() >= limit) {
@@ -230,7 +1076,7 @@ public class TaskList {
         switch (type) {
             case TODO -> {
                 String desc = parts[0];
-                task = new Todo(desc, tasks.size());
+                task = new Todo(desc, nextId);
             }
             case DEADLINE -> {
                 String desc = parts[0];
@@ -239,7 +1085,7 @@ public class TaskList {
                 if (by.regionMatches(true, 0, "by ", 0, 3)) {
                     by = by.substring(3).trim();
                 }
-                task = new Deadline(desc, tasks.size(), by);
+                task = new Deadline(desc, nextId, by);
             }
             case EVENT -> {
                 String desc = parts[0];
@@ -252,12 +1098,30 @@ public class TaskList {
                 if (to.regionMatches(true, 0, "to ", 0, 3)) {
                     to = to.substring(3).trim();
                 }
-                task = new Event(desc, tasks.size(), from, to);
+                task = new Event(desc, nextId, from, to);
             }
         }
 
         assert task != null : "created task must not be null";
-        tasks.add(task);
+        if (writesThrough()) {
+            try {
+                incrementalStore().append(task);
+            } catch (IOException e) {
+                e.printStackTrace();
+                storeCurrent = false; // the next save rewrites the file
+            }
+        }
+        append(task);
+        if (snapshot != null) {
+            snapshot = snapshot.withAppended(task, ++version);
+        }
+        if (journal != null) {
+            journal.appendAdd(task.toStorageLine());
+            compactIfDue();
+        }
+        if (flusher != null) {
+            flusher.recordAppend(task);
+        }
         assertInvariants();
         return returnText
                 .append("Added task: ")
@@ -271,13 +1135,26 @@ public class TaskList {
      * @param id zero-based index into {@link #tasks}
      * @return a user-facing confirmation or an error message if the index is invalid
      */
-    public StringBuilder markDone(int id) {
+    public synchronized StringBuilder markDone(int id) {
         assertInvariants();
-        if (isInvalidIndex(id)) {
+        if (isOutOfRange(id)) {
             return new StringBuilder("Invalid task index.");
         }
+        setDone(id, true);
         Task t = tasks.get(id);
-        t.markDone();
+        if (snapshot != null) {
+            snapshot = snapshot.withReplaced(id, t, ++version);
+        }
+        if (journal != null) {
+            journal.appendMark(id, true);
+            compactIfDue();
+        }
+        if (flusher != null) {
+            flusher.recordDone(id, true);
+        }
+        if (writesThrough()) {
+            writeDone(id, true);
+        }
         assertInvariants();
         return new StringBuilder("Damn you not chill, completing tasks and stuff! I've marked this task as done:\n")
                 .append(t);
@@ -289,13 +1166,26 @@ public class TaskList {
      * @param id zero-based index into {@link #tasks}
      * @return a user-facing confirmation or an error message if the index is invalid
      */
-    public StringBuilder markUndone(int id) {
+    public synchronized StringBuilder markUndone(int id) {
         assertInvariants();
-        if (isInvalidIndex(id)) {
+        if (isOutOfRange(id)) {
             return new StringBuilder("Invalid task index.");
         }
+        setDone(id, false);
         Task t = tasks.get(id);
-        t.markUndone();
+        if (snapshot != null) {
+            snapshot = snapshot.withReplaced(id, t, ++version);
+        }
+        if (journal != null) {
+            journal.appendMark(id, false);
+            compactIfDue();
+        }
+        if (flusher != null) {
+            flusher.recordDone(id, false);
+        }
+        if (writesThrough()) {
+            writeDone(id, false);
+        }
         assertInvariants();
         return new StringBuilder("Ah you were just lying to yourself. It's chill! I've marked this task as undone:\n")
                 .append(t);
@@ -308,22 +1198,171 @@ public class TaskList {
      * @return a user-facing confirmation containing the removed task and the remaining count,
      *         or an error message if the index is invalid
      */
-    public StringBuilder delete(int idx) {
+    public synchronized StringBuilder delete(int idx) {
         assertInvariants();
-        if (isInvalidIndex(idx)) {
+        if (isOutOfRange(idx)) {
             return new StringBuilder("Invalid task index.");
         }
-        Task removed = tasks.remove(idx);
+        Task removed = removeAt(idx);
+        if (snapshot != null) {
+            snapshot = snapshot.withRemoved(idx, ++version);
+        }
+        if (journal != null) {
+            journal.appendDelete(idx);
+            compactIfDue();
+        }
+        if (flusher != null) {
+            flusher.recordRewrite(tasks.toArray(new Task[0]), nextId);
+        }
+        if (writesThrough()) {
+            try {
+                incrementalStore().delete(idx);
+            } catch (IOException e) {
+                e.printStackTrace();
+                storeCurrent = false;
+            }
+        }
         StringBuilder sb = new StringBuilder();
         sb.append("Removed task:\n")
                 .append("  ").append(removed).append("\n")
                 .append("Remaining: ")
-                .append(size()).append(" ")
-                .append(size() == 1 ? "task" : "tasks");
+                .append(tasks.size()).append(" ")
+                .append(tasks.size() == 1 ? "task" : "tasks");
         assertInvariants();
         return sb;
     }
 
+    /**
+     * Marks every task in {@code selection} as done or undone as one change: the tasks are updated in a
+     * single pass and persisted with one journal record or one store update, however many there are.
+     *
+     * @param selection the tasks to mark, resolved against the list as it is now
+     * @param done      new completion status
+     * @return a summary of the change, or an error message if the selection names a task that does not exist
+     */
+    public synchronized StringBuilder mark(TaskSelection selection, boolean done) {
+        assert selection != null : "selection must not be null";
+        assertInvariants();
+        int[] picked = resolve(selection);
+        if (picked == null) {
+            return new StringBuilder("Invalid task index.");
+        }
+        if (picked.length == 0) {
+            return new StringBuilder("No tasks matched, bro.");
+        }
+        for (int idx : picked) {
+            setDone(idx, done);
+        }
+        if (snapshot != null) {
+            if (isFewChanges(picked.length)) {
+                long v = ++version;
+                TaskSnapshot next = snapshot;
+                for (int idx : picked) {
+                    next = next.withReplaced(idx, tasks.get(idx), v);
+                }
+                snapshot = next;
+            } else {
+                publish();
+            }
+        }
+        if (journal != null) {
+            journal.appendMarkAll(picked, done);
+            compactIfDue();
+        }
+        if (flusher != null) {
+            for (int idx : picked) {
+                flusher.recordDone(idx, done);
+            }
+        }
+        if (writesThrough()) {
+            try {
+                incrementalStore().setDoneAll(picked, done);
+            } catch (IOException e) {
+                e.printStackTrace();
+                storeCurrent = false;
+            }
+        }
+        assertInvariants();
+        String count = picked.length + (picked.length == 1 ? " task" : " tasks");
+        return new StringBuilder(done
+                ? "Damn you not chill, completing tasks and stuff! I've marked " + count + " as done."
+                : "Ah you were just lying to yourself. It's chill! I've marked " + count + " as undone.");
+    }
+
+    /**
+     * Removes every task in {@code selection} as one change: the remaining tasks are moved once, in a single
+     * pass, so the cost is linear in the size of the list rather than in the size times the number removed,
+     * and the removal is persisted with one journal record or one store update.
+     *
+     * @param selection the tasks to remove, resolved against the list as it is now
+     * @return a summary of the change, or an error message if the selection names a task that does not exist
+     */
+    public synchronized StringBuilder delete(TaskSelection selection) {
+        assert selection != null : "selection must not be null";
+        assertInvariants();
+        int[] picked = resolve(selection);
+        if (picked == null) {
+            return new StringBuilder("Invalid task index.");
+        }
+        if (picked.length == 0) {
+            return new StringBuilder("No tasks matched, bro.");
+        }
+        removeAll(picked);
+        if (snapshot != null) {
+            if (isFewChanges(picked.length)) {
+                long v = ++version;
+                TaskSnapshot next = snapshot;
+                for (int i = picked.length - 1; i >= 0; i--) {
+                    next = next.withRemoved(picked[i], v);
+                }
+                snapshot = next;
+            } else {
+                publish();
+            }
+        }
+        if (journal != null) {
+            journal.appendDeleteAll(picked);
+            compactIfDue();
+        }
+        if (flusher != null) {
+            flusher.recordRewrite(tasks.toArray(new Task[0]), nextId);
+        }
+        if (writesThrough()) {
+            try {
+                incrementalStore().deleteAll(picked);
+            } catch (IOException e) {
+                e.printStackTrace();
+                storeCurrent = false;
+            }
+        }
+        assertInvariants();
+        return new StringBuilder()
+                .append("Removed ").append(picked.length).append(picked.length == 1 ? " task" : " tasks").append(".\n")
+                .append("Remaining: ")
+                .append(tasks.size()).append(" ")
+                .append(tasks.size() == 1 ? "task" : "tasks");
+    }
+
+    /**
+     * Resolves {@code selection} against {@link #tasks}; in paged and off-heap mode without building tasks.
+     *
+     * @return the selected positions in ascending order, or {@code null} if one does not exist
+     */
+    private int[] resolve(TaskSelection selection) {
+        BitSet picked = selection.resolve(tasks.size(),
+                i -> compact != null ? compact.isDone(i) : tasks.get(i).isDone(),
+                this::indexOfId);
+        return picked == null ? null : picked.stream().toArray();
+    }
+
+    /**
+     * Returns whether {@code count} changes are cheaper to apply to {@link #snapshot} one by one than to
+     * replace it with a fresh copy; each one copies a chunk.
+     */
+    private boolean isFewChanges(int count) {
+        return (long) count * TaskSnapshot.CHUNK_SIZE < tasks.size();
+    }
+
     /**
      * Finds tasks using a "BetterSearch" strategy.
      * <p>
@@ -331,7 +1370,7 @@ public class TaskList {
      * - Matches if all query terms match the task text, where a term matches if:
      *   - it is a quoted phrase present as a substring, OR
      *   - it is a single token that is a substring of any word (partial match), OR
-     *   - it is within 1 edit (typo tolerance) of any word in the task text.
+     *   - it is within 1 edit (typo tolerance, see {@link #setTypoTolerance(int)}) of any word in the task text.
      * - Example:
      *   - query = book → matches "read a book" and also "booking" (partial)
      *   - query = proj Aug → matches tasks containing both tokens (in any order)
@@ -344,100 +1383,260 @@ public class TaskList {
             return new StringBuilder("Gimme something to search for, bro.");
         }
 
-        List<String> terms = extractQueryTerms(query);
-        List<Integer> hits = new ArrayList<>();
+        SearchQuery parsed = SearchQuery.parse(query, typoEdits);
+        if (results != null || search != null) {
+            synchronized (this) {
+                List<Task> view = snapshot != null ? snapshot : tasks; // the snapshot is current under the lock
+                return renderHits(view, results != null ? findCached(view, parsed) : findIndexed(view, parsed));
+            }
+        }
+        return read(view -> renderHits(view, scan(view, parsed)));
+    }
 
-        for (int i = 0; i < tasks.size(); i++) {
-            String hay = tasks.get(i).toString();
-            String normHay = normalize(hay);
-            boolean allMatch = true;
-            for (String term : terms) {
-                boolean isPhrase = term.contains(" ");
-                boolean matched = isPhrase
-                        ? normHay.contains(term)
-                        : tokenMatches(normHay, term);
-                if (!matched) {
-                    allMatch = false;
-                    break;
-                }
+    /**
+     * Returns the positions in {@code view} of the tasks matching {@code query}, scanning in parallel if the
+     * view is a snapshot of at least {@link #parallelFindFrom} tasks and there are cores to spread it over.
+     */
+    private int[] scan(List<Task> view, SearchQuery query) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        boolean parallel = view instanceof TaskSnapshot && view.size() >= parallelFindFrom && parallelism > 1;
+        return scan(view, query, parallel ? parallelism * 4 : 1);
+    }
+
+    /**
+     * Returns the positions in {@code view} of the tasks matching {@code query}, in ascending order. With more
+     * than one part, contiguous parts are checked in parallel and their hits concatenated in part order.
+     *
+     * @param view  tasks that are safe to read from several threads if {@code parts > 1}
+     * @param query the parsed query
+     * @param parts number of ranges to split the view into
+     * @return the matching positions
+     */
+    static int[] scan(List<Task> view, SearchQuery query, int parts) {
+        int n = view.size();
+        if (parts <= 1 || n < parts) {
+            return scanRange(view, query, 0, n);
+        }
+        int[][] found = new int[parts][];
+        IntStream.range(0, parts).parallel().forEach(p ->
+                found[p] = scanRange(view, query, (int) ((long) n * p / parts), (int) ((long) n * (p + 1) / parts)));
+        int total = 0;
+        for (int[] f : found) {
+            total += f.length;
+        }
+        int[] hits = new int[total];
+        int at = 0;
+        for (int[] f : found) {
+            System.arraycopy(f, 0, hits, at, f.length);
+            at += f.length;
+        }
+        return hits;
+    }
+
+    private static int[] scanRange(List<Task> view, SearchQuery query, int from, int to) {
+        IntStream.Builder hits = IntStream.builder();
+        for (int i = from; i < to; i++) {
+            if (query.matches(view.get(i))) hits.add(i);
+        }
+        return hits.build().toArray();
+    }
+
+    /**
+     * Returns the positions of the tasks matching {@code query} from {@link #results}, or searches and caches
+     * them on a miss. A hit costs one {@link #ids} lookup per match, deletes included, as the index is kept
+     * exact.
+     */
+    private int[] findCached(List<Task> view, SearchQuery query) {
+        int[] cached = results.get(query);
+        if (cached == null) {
+            int[] hits = search != null ? findIndexed(view, query) : scan(view, query);
+            int[] matchIds = new int[hits.length];
+            for (int i = 0; i < hits.length; i++) {
+                matchIds[i] = idAt(hits[i]);
             }
-            if (allMatch) hits.add(i);
+            Arrays.sort(matchIds);
+            results.put(query, matchIds);
+            return hits;
+        }
+        for (int i = 0; i < cached.length; i++) {
+            cached[i] = positionOf(cached[i]);
+            assert cached[i] >= 0 : "cached tasks must be in the list";
+        }
+        Arrays.sort(cached);
+        return cached;
+    }
+
+    /**
+     * Returns the positions of the tasks matching {@code query} from {@link #search}: only the candidate tasks
+     * are checked, in list order.
+     */
+    private int[] findIndexed(List<Task> view, SearchQuery query) {
+        int[] candidates = search.candidates(query);
+        if (candidates == null) {
+            return scan(view, query);
+        }
+        int[] positions = new int[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            positions[i] = indexOfId(candidates[i]);
+            assert positions[i] >= 0 : "indexed tasks must be in the list";
         }
+        Arrays.sort(positions);
+        IntStream.Builder hits = IntStream.builder();
+        for (int idx : positions) {
+            if (query.matches(view.get(idx))) hits.add(idx);
+        }
+        return hits.build().toArray();
+    }
 
-        if (hits.isEmpty()) {
+    private static StringBuilder renderHits(List<Task> view, int[] hits) {
+        if (hits.length == 0) {
             return new StringBuilder("No matches found, bro. Try different keywords.");
         }
 
         StringBuilder sb = new StringBuilder("Here’s what I found:\n");
         for (int idx : hits) {
-            sb.append(idx + 1).append(". ").append(tasks.get(idx)).append("\n");
+            appendEntry(sb, idx, view.get(idx));
         }
         return sb;
     }
 
-    private static String normalize(String s) {
-        return s == null ? "" : s.toLowerCase().trim();
-    }
+    /**
+     * Finds the {@code k} tasks matching {@code query} best, best first, by the rules of {@link #find(String)}.
+     * A task ranks by its score: each term counts most as a whole word, less inside a word and least as a
+     * typo, and terms found close together add a bonus. Ties go to the newest task.
+     * <p>
+     * The matches are kept in a heap of {@code k} entries, so neither sorting nor rendering grows with the
+     * number of matches. When more remain, a footer gives the cursor of the next page, which
+     * {@code after} takes back; the pages do not shift if tasks are added in between.
+     *
+     * @param query the query, as for {@link #find(String)}
+     * @param k     the number of tasks to show, at least 1
+     * @param after the cursor printed by the previous page, or {@code null} for the first page
+     * @return a {@link StringBuilder} containing the page, a no-matches message or an invalid-cursor message
+     */
+    public StringBuilder findTop(String query, int k, String after) {
+        assert k > 0 : "k must be positive";
+        if (query == null || query.trim().isEmpty()) {
+            return new StringBuilder("Gimme something to search for, bro.");
+        }
+        long below = Long.MAX_VALUE;
+        if (after != null) {
+            below = parseCursor(after);
+            if (below < 0) {
+                return new StringBuilder("Invalid cursor, bro. Use the one printed below the last page.");
+            }
+        }
 
-    private static List<String> extractQueryTerms(String raw) {
-        String q = normalize(raw);
-        List<String> terms = new ArrayList<>();
-        int i = 0;
-        while (i < q.length()) {
-            char c = q.charAt(i);
-            if (Character.isWhitespace(c)) { i++; continue; }
-            if (c == '"') {
-                int j = q.indexOf('"', i + 1);
-                if (j > i + 1) {
-                    terms.add(q.substring(i + 1, j).trim());
-                    i = j + 1;
-                    continue;
+        SearchQuery parsed = SearchQuery.parse(query, typoEdits);
+        String echo = query.trim();
+        long limit = below;
+        if (search != null) {
+            synchronized (this) {
+                int[] candidates = search.candidates(parsed);
+                List<Task> view = snapshot != null ? snapshot : tasks;
+                if (candidates == null) {
+                    return rank(view, null, parsed, k, limit, echo);
+                }
+                int[] positions = new int[candidates.length];
+                for (int i = 0; i < candidates.length; i++) {
+                    positions[i] = indexOfId(candidates[i]);
+                    assert positions[i] >= 0 : "indexed tasks must be in the list";
                 }
+                return rank(view, positions, parsed, k, limit, echo);
             }
-            int j = i + 1;
-            while (j < q.length() && !Character.isWhitespace(q.charAt(j))) j++;
-            terms.add(q.substring(i, j));
-            i = j + 1;
         }
-        // Remove empties
-        terms.removeIf(t -> t.isEmpty());
-        return terms;
+        return read(view -> rank(view, null, parsed, k, limit, echo));
     }
 
-    private static boolean tokenMatches(String normHay, String token) {
-        if (token.isEmpty()) return true;
-        if (normHay.contains(token)) return true; // direct substring across the whole text
+    /**
+     * Scores the tasks at {@code positions} in {@code view}, or all of them, keeping the {@code k} best whose
+     * rank is below {@code below}, and renders them with a footer repeating {@code echo}, the query, if more
+     * remain.
+     */
+    private static StringBuilder rank(List<Task> view, int[] positions, SearchQuery query, int k, long below,
+                                      String echo) {
+        TopHits top = new TopHits(k);
+        int matched = 0;
+        int n = positions == null ? view.size() : positions.length;
+        for (int i = 0; i < n; i++) {
+            int idx = positions == null ? i : positions[i];
+            Task task = view.get(idx);
+            int score = query.score(task);
+            if (score == 0) continue;
+            long rank = ((long) score << 32) | task.getId();
+            if (rank >= below) continue;
+            matched++;
+            top.offer(rank, idx);
+        }
+        if (matched == 0) {
+            return new StringBuilder(below == Long.MAX_VALUE
+                    ? "No matches found, bro. Try different keywords."
+                    : "No more matches, bro.");
+        }
 
-        final int MIN_PARTIAL = 3;
-        final int MIN_TYPO_LEN = 4;
+        int shown = top.size();
+        long[] ranks = new long[shown];
+        int[] hits = new int[shown];
+        top.drainBestFirst(ranks, hits);
+        StringBuilder sb = new StringBuilder("Here’s what I found, best first:\n");
+        for (int idx : hits) {
+            appendEntry(sb, idx, view.get(idx));
+        }
+        if (matched > shown) {
+            String cursor = (ranks[shown - 1] >>> 32) + ":" + (int) ranks[shown - 1];
+            sb.append("Showing ").append(shown).append(" of ").append(matched).append(" matches. Use \"find --top ")
+                    .append(k).append(" --after ").append(cursor).append(' ').append(echo).append("\" for more.");
+        }
+        return sb;
+    }
 
-        // Compare against individual words
-        String[] words = normHay.split("[^a-z0-9]+");
-        for (String w : words) {
-            if (w.isEmpty()) continue;
-            // Partial match: token must be reasonably long, and match inside a word
-            if (token.length() >= MIN_PARTIAL && w.length() >= MIN_PARTIAL && w.contains(token)) return true;
-            // Typo tolerance: both sides reasonably long and within 1 edit
-            if (token.length() >= MIN_TYPO_LEN && w.length() >= MIN_TYPO_LEN && isEditDistanceAtMostOne(w, token)) return true;
+    /**
+     * Returns the rank a cursor of the form {@code score:id} stands for, or {@code -1} if it is malformed.
+     */
+    private static long parseCursor(String cursor) {
+        String[] parts = cursor.trim().split(":", -1);
+        if (parts.length != 2) return -1;
+        try {
+            int score = Integer.parseInt(parts[0]);
+            int id = Integer.parseInt(parts[1]);
+            return score > 0 && id >= 0 ? ((long) score << 32) | id : -1;
+        } catch (NumberFormatException e) {
+            return -1;
         }
-        return false;
     }
 
-    // Optimized check for Levenshtein distance <= 1
-    private static boolean isEditDistanceAtMostOne(String a, String b) {
-        int la = a.length(), lb = b.length();
-        if (Math.abs(la - lb) > 1) return false;
-        int i = 0, j = 0, edits = 0;
-        while (i < la && j < lb) {
-            if (a.charAt(i) == b.charAt(j)) { i++; j++; continue; }
-            if (++edits > 1) return false;
-            if (la == lb) { i++; j++; }          // substitution
-            else if (la > lb) { i++; }            // deletion in a
-            else { j++; }                         // insertion in a
+    /**
+     * Updates the completion status of the task at {@code idx}, in place in paged and off-heap mode. Otherwise
+     * the task is replaced by an updated copy, since snapshots handed to readers may still hold it.
+     */
+    private void setDone(int idx, boolean done) {
+        Task before = search != null || results != null ? tasks.get(idx) : null;
+        if (compact != null) {
+            if (before != null) {
+                before = before.withDone(before.isDone()); // paged mode updates its cached task in place
+            }
+            compact.setDone(idx, done);
+        } else {
+            tasks.set(idx, tasks.get(idx).withDone(done));
+        }
+        if (before != null && before.isDone() != done) {
+            Task after = tasks.get(idx);
+            if (search != null) {
+                search.update(before, after);
+            }
+            if (results != null) {
+                results.changed(after);
+            }
+        }
+    }
+
+    private void writeDone(int idx, boolean done) {
+        try {
+            incrementalStore().setDone(idx, done);
+        } catch (IOException e) {
+            e.printStackTrace();
+            storeCurrent = false;
         }
-        // Account for trailing char in longer string
-        if (i < la || j < lb) edits++;
-        return edits <= 1;
     }
 
     /**
@@ -446,7 +1645,27 @@ public class TaskList {
      * @return current size of the list
      */
     public int size() {
-        return tasks.size();
+        return read(List::size);
+    }
+
+    /**
+     * Returns the current position of the task with the given stable id, as shown by {@code list} after
+     * the {@code #}. Positions change when earlier tasks are deleted; ids do not.
+     *
+     * @param id a task id
+     * @return the zero-based index, or {@code -1} if no task has that id
+     */
+    public synchronized int indexOfId(int id) {
+        return positionOf(id);
+    }
+
+    /**
+     * Like {@link #indexOfId(int)}, for callers already holding the lock.
+     */
+    private int positionOf(int id) {
+        int slot = id < 0 ? -1 : ids.get(id);
+        if (slot < 0) return -1;
+        return tombstones != null ? tombstones.indexOfSlot(slot) : slot;
     }
 
     /**
@@ -456,7 +1675,15 @@ public class TaskList {
      * @return {@code true} if {@code id} is negative or not less than {@link #size()}, otherwise {@code false}
      */
     public boolean isInvalidIndex(int id) {
-        return id < 0 || id >= tasks.size();
+        return id < 0 || id >= size();
+    }
+
+    /**
+     * Like {@link #isInvalidIndex(int)} but against {@link #tasks} itself, for use under the lock while the
+     * snapshot may lag behind.
+     */
+    private boolean isOutOfRange(int idx) {
+        return idx < 0 || idx >= tasks.size();
     }
 
     /**
@@ -467,6 +1694,8 @@ public class TaskList {
         assert tasks != null : "tasks list must not be null";
         assert limit > 0 : "limit must be positive";
         assert tasks.size() <= limit : "tasks size must not exceed limit";
+        assert ids.size() == tasks.size() : "every task must be indexed by id";
+        assert snapshot == null || snapshot.size() == tasks.size() : "snapshot must match the tasks";
     }
 
 }
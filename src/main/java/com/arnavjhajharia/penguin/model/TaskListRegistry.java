@@ -0,0 +1,251 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+
+/**
+ * Hosts many named task lists in one process, each in its own file {@code <directory>/<name>.txt}.
+ * <p>
+ * Lists are opened lazily on first {@link #acquire(String)} and closed again once more than
+ * {@code maxOpen} are open, least recently used first. A list is only closed while no {@link Lease} on it is
+ * held, and it is saved before it is closed.
+ * <p>
+ * There is no registry-wide lock: names are looked up in a concurrent map, each list is opened and leased
+ * under its own entry's monitor, and commands run under the {@link TaskList}'s own monitor. Operations on
+ * different lists therefore never wait for each other, and throughput grows with the number of cores while
+ * enough lists are active. Recency is a timestamp per entry rather than a shared access-ordered list, so
+ * that using a list never writes shared state; the eviction scan that reads the timestamps only runs when a
+ * list is opened beyond the limit.
+ * <p>
+ * Thread-safe.
+ *
+ * @since 1.1
+ */
+public final class TaskListRegistry implements AutoCloseable {
+
+    /** Default number of lists kept open. */
+    public static final int DEFAULT_MAX_OPEN = 64;
+
+    /** Letters, digits, {@code .}, {@code _} and {@code -}, starting with a letter or digit; never a path. */
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,63}");
+
+    /**
+     * Use of one open list. Closing the lease lets the registry close the list once it is idle and old enough.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+        private boolean released;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Returns the leased list. It stays open until this lease is closed.
+         *
+         * @return the task list
+         */
+        public TaskList tasks() {
+            return entry.list;
+        }
+
+        /**
+         * Returns the name the list was acquired under.
+         *
+         * @return the list name
+         */
+        public String name() {
+            return entry.name;
+        }
+
+        /**
+         * Releases the lease; repeated calls have no effect.
+         */
+        @Override
+        public void close() {
+            synchronized (entry) {
+                if (released) return;
+                released = true;
+                entry.users--;
+            }
+            entry.lastUsed = System.nanoTime();
+        }
+    }
+
+    /** One named list; {@link #list} and {@link #users} are guarded by the entry's monitor. */
+    private static final class Entry {
+        private final String name;
+        private TaskList list;
+        private int users;
+        private boolean closed;
+        private volatile long lastUsed;
+
+        private Entry(String name) {
+            this.name = name;
+        }
+    }
+
+    private final Path directory;
+    private final int maxOpen;
+    private final Function<String, TaskList> opener;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry whose lists are journaled with group commit, like the single list of the application.
+     *
+     * @param directory directory holding one file per list
+     * @param maxOpen   number of lists kept open when idle
+     */
+    public TaskListRegistry(Path directory, int maxOpen) {
+        this(directory, maxOpen, TaskListRegistry::openJournaled);
+    }
+
+    /**
+     * Creates a registry that opens lists with {@code opener}.
+     *
+     * @param directory directory holding one file per list
+     * @param maxOpen   number of lists kept open when idle
+     * @param opener    creates the list for a file path
+     */
+    public TaskListRegistry(Path directory, int maxOpen, Function<String, TaskList> opener) {
+        assert directory != null && opener != null : "directory and opener must not be null";
+        assert maxOpen > 0 : "maxOpen must be positive";
+        this.directory = directory;
+        this.maxOpen = maxOpen;
+        this.opener = opener;
+    }
+
+    private static TaskList openJournaled(String file) {
+        TaskList list = new TaskList(TaskList.UNBOUNDED, file);
+        list.enableJournal();
+        list.enableGroupCommit();
+        return list;
+    }
+
+    /**
+     * Opens the list called {@code name}, if it is not open yet, and leases it. Only callers acquiring the
+     * same list wait for it to load.
+     *
+     * @param name the list name, as described by {@link #isValidName(String)}
+     * @return a lease on the list; close it when done
+     * @throws IllegalArgumentException if {@code name} is not a valid list name
+     */
+    public Lease acquire(String name) {
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException("Invalid list name: \"" + name + "\"");
+        }
+        while (true) {
+            Entry entry = entries.computeIfAbsent(name, Entry::new);
+            boolean opened = false;
+            synchronized (entry) {
+                if (entry.closed) continue; // lost a race with eviction; the map no longer holds it
+                if (entry.list == null) {
+                    entry.list = opener.apply(directory.resolve(name + ".txt").toString());
+                    opened = true;
+                }
+                entry.users++;
+            }
+            entry.lastUsed = System.nanoTime();
+            if (opened) {
+                evictIdle();
+            }
+            return new Lease(entry);
+        }
+    }
+
+    /**
+     * Returns whether {@code name} may name a list: one to 64 letters, digits, {@code .}, {@code _} or
+     * {@code -}, starting with a letter or digit.
+     *
+     * @param name candidate name
+     * @return {@code true} if valid
+     */
+    public static boolean isValidName(String name) {
+        return name != null && VALID_NAME.matcher(name).matches();
+    }
+
+    /**
+     * Returns whether the list called {@code name} is currently open.
+     *
+     * @param name the list name
+     * @return {@code true} if open
+     */
+    public boolean isOpen(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) return false;
+        synchronized (entry) {
+            return entry.list != null && !entry.closed;
+        }
+    }
+
+    /**
+     * Returns the number of open lists, which exceeds the limit only while the lists beyond it are leased.
+     *
+     * @return open lists
+     */
+    public int openCount() {
+        return entries.size();
+    }
+
+    /**
+     * Saves and closes every list, leased or not. Leases taken before remain usable but their lists are no
+     * longer saved by the registry.
+     */
+    @Override
+    public void close() {
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            synchronized (entry) {
+                retire(entry);
+            }
+        }
+    }
+
+    /**
+     * Closes idle lists, least recently used first, until at most {@link #maxOpen} are open or every list
+     * left is leased.
+     */
+    private void evictIdle() {
+        while (entries.size() > maxOpen) {
+            List<Entry> idle = new ArrayList<>();
+            for (Entry entry : entries.values()) {
+                if (entry.users == 0) { // racy read; confirmed under the entry's monitor below
+                    idle.add(entry);
+                }
+            }
+            if (idle.isEmpty()) return;
+            idle.sort((a, b) -> Long.compare(a.lastUsed, b.lastUsed));
+            boolean evicted = false;
+            for (Entry entry : idle) {
+                if (entries.size() <= maxOpen) return;
+                synchronized (entry) {
+                    if (entry.users > 0 || entry.closed || entry.list == null) continue;
+                    retire(entry);
+                }
+                evicted = true;
+            }
+            if (!evicted) return;
+        }
+    }
+
+    /**
+     * Saves and closes the entry's list and drops the entry. Must hold the entry's monitor: the entry stays in
+     * the map until the file is saved, so that no one can open the same file meanwhile and read stale tasks.
+     */
+    private void retire(Entry entry) {
+        assert Thread.holdsLock(entry) : "caller must hold the entry's monitor";
+        if (entry.closed) return;
+        entry.closed = true;
+        if (entry.list != null) {
+            entry.list.save();
+            entry.list.close();
+        }
+        entries.remove(entry.name, entry);
+    }
+}
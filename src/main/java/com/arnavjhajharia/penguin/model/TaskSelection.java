@@ -0,0 +1,144 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The tasks a bulk command applies to, as typed by the user:
+ * <ul>
+ *   <li>{@code 3}, {@code #12}: one task by one-based position or by id;</li>
+ *   <li>{@code 1-500}: a range of positions, inclusive;</li>
+ *   <li>{@code 3,7,#12,20-25}: any combination of the above;</li>
+ *   <li>{@code done}, {@code undone}: every task with that status.</li>
+ * </ul>
+ * A selection is resolved against the list only when the command runs, under the list's lock, so positions
+ * and statuses are read in the same state the change is applied to.
+ *
+ * @since 1.1
+ */
+public final class TaskSelection {
+
+    /** Status selected by {@code done}/{@code undone}, or {@code null} for an explicit selection. */
+    private final Boolean status;
+
+    /** One-based inclusive ranges of positions, as pairs {@code from, to}. */
+    private final int[] ranges;
+
+    private final int[] ids;
+
+    private TaskSelection(Boolean status, int[] ranges, int[] ids) {
+        this.status = status;
+        this.ranges = ranges;
+        this.ids = ids;
+    }
+
+    /**
+     * Returns the selection of every task whose done status is {@code done}.
+     *
+     * @param done the status to select
+     * @return the selection
+     */
+    public static TaskSelection where(boolean done) {
+        return new TaskSelection(done, new int[0], new int[0]);
+    }
+
+    /**
+     * Parses a selection in any of the forms listed above.
+     *
+     * @param raw the user's argument
+     * @return the selection, or empty if {@code raw} is malformed
+     */
+    public static Optional<TaskSelection> parse(String raw) {
+        if (raw == null || raw.isBlank()) return Optional.empty();
+        String arg = raw.trim().toLowerCase(Locale.ROOT);
+        if (arg.equals("done")) return Optional.of(where(true));
+        if (arg.equals("undone")) return Optional.of(where(false));
+
+        List<Integer> rangeList = new ArrayList<>();
+        List<Integer> idList = new ArrayList<>();
+        try {
+            for (String item : arg.split(",", -1)) {
+                String s = item.trim();
+                if (s.startsWith("#")) {
+                    int id = Integer.parseInt(s.substring(1));
+                    if (id < 0) return Optional.empty();
+                    idList.add(id);
+                    continue;
+                }
+                int dash = s.indexOf('-', 1);
+                int from = Integer.parseInt(dash < 0 ? s : s.substring(0, dash).trim());
+                int to = dash < 0 ? from : Integer.parseInt(s.substring(dash + 1).trim());
+                if (to < from) return Optional.empty();
+                rangeList.add(from);
+                rangeList.add(to);
+            }
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        return Optional.of(new TaskSelection(null,
+                rangeList.stream().mapToInt(Integer::intValue).toArray(),
+                idList.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Returns whether this selection may name more than one task, i.e. is anything but a single position or
+     * a single id.
+     *
+     * @return {@code true} for a bulk selection
+     */
+    public boolean isBulk() {
+        if (status != null) return true;
+        int items = ranges.length / 2 + ids.length;
+        return items > 1 || (ranges.length == 2 && ranges[0] != ranges[1]);
+    }
+
+    /**
+     * Returns the first position named by this selection that does not exist in a list of {@code size} tasks.
+     *
+     * @param size number of tasks in the list
+     * @return the zero-based invalid position, or empty if every position exists
+     */
+    public OptionalInt firstInvalidPosition(int size) {
+        for (int r = 0; r < ranges.length; r += 2) {
+            if (ranges[r] < 1) return OptionalInt.of(ranges[r] - 1);
+            if (ranges[r + 1] > size) return OptionalInt.of(Math.max(ranges[r], size + 1) - 1);
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Resolves this selection to zero-based positions in one pass over the list.
+     *
+     * @param size      number of tasks in the list
+     * @param isDoneAt  done status of the task at a position
+     * @param indexOfId position of the task with an id, or {@code -1}
+     * @return the selected positions, or {@code null} if a position or id does not exist
+     */
+    BitSet resolve(int size, IntPredicate isDoneAt, IntUnaryOperator indexOfId) {
+        BitSet selected = new BitSet(size);
+        if (status != null) {
+            for (int i = 0; i < size; i++) {
+                if (isDoneAt.test(i) == status) {
+                    selected.set(i);
+                }
+            }
+            return selected;
+        }
+        if (firstInvalidPosition(size).isPresent()) return null;
+        for (int r = 0; r < ranges.length; r += 2) {
+            selected.set(ranges[r] - 1, ranges[r + 1]);
+        }
+        for (int id : ids) {
+            int idx = indexOfId.applyAsInt(id);
+            if (idx < 0) return null;
+            selected.set(idx);
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,208 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * An immutable, consistent view of a {@link TaskList} at one point in time, safe to read from any thread
+ * while the list keeps changing.
+ * <p>
+ * Snapshots are persistent: tasks are held in chunks of at most {@link #CHUNK_SIZE}, and each change produces
+ * a new snapshot that copies only the chunk it touches and the table of chunks, sharing every other chunk
+ * with its predecessor. A change therefore costs {@code O(CHUNK_SIZE + n / CHUNK_SIZE)} instead of a full
+ * copy, and a reader holding an older snapshot is never affected. The tasks themselves are never modified
+ * once they are part of a snapshot; see {@link Task#withDone(boolean)}.
+ *
+ * @since 1.1
+ */
+public final class TaskSnapshot extends AbstractList<Task> implements RandomAccess {
+
+    /** Maximum number of tasks per chunk. */
+    static final int CHUNK_SIZE = 1_024;
+
+    private static final Task[][] NO_CHUNKS = new Task[0][];
+    private static final int[] NO_ENDS = new int[0];
+
+    private final Task[][] chunks;
+
+    /** Number of tasks in chunks {@code 0..c}, for each chunk {@code c}. */
+    private final int[] ends;
+
+    private final long version;
+
+    private TaskSnapshot(Task[][] chunks, int[] ends, long version) {
+        this.chunks = chunks;
+        this.ends = ends;
+        this.version = version;
+    }
+
+    /**
+     * Returns a snapshot holding {@code tasks}, in order, packed into full chunks.
+     *
+     * @param tasks   the tasks
+     * @param version the version of the new snapshot
+     * @return the snapshot
+     */
+    static TaskSnapshot of(List<Task> tasks, long version) {
+        int n = tasks.size();
+        if (n == 0) {
+            return new TaskSnapshot(NO_CHUNKS, NO_ENDS, version);
+        }
+        int count = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Task[][] chunks = new Task[count][];
+        int[] ends = new int[count];
+        Iterator<Task> it = tasks.iterator();
+        for (int c = 0; c < count; c++) {
+            int len = Math.min(CHUNK_SIZE, n - c * CHUNK_SIZE);
+            Task[] chunk = new Task[len];
+            for (int i = 0; i < len; i++) {
+                chunk[i] = it.next();
+            }
+            chunks[c] = chunk;
+            ends[c] = c * CHUNK_SIZE + len;
+        }
+        return new TaskSnapshot(chunks, ends, version);
+    }
+
+    /**
+     * Returns the version of this snapshot. Every change to the list gives a higher version, so two snapshots
+     * with the same version hold the same tasks.
+     *
+     * @return the version
+     */
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size());
+        int c = chunkOf(index);
+        return chunks[c][index - start(c)];
+    }
+
+    @Override
+    public int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int c;
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return c < chunks.length;
+            }
+
+            @Override
+            public Task next() {
+                if (c >= chunks.length) throw new NoSuchElementException();
+                Task t = chunks[c][i];
+                if (++i == chunks[c].length) {
+                    c++;
+                    i = 0;
+                }
+                return t;
+            }
+        };
+    }
+
+    /**
+     * Returns a snapshot with {@code task} appended.
+     */
+    TaskSnapshot withAppended(Task task, long version) {
+        int last = chunks.length - 1;
+        if (last >= 0 && chunks[last].length < CHUNK_SIZE) {
+            Task[][] newChunks = chunks.clone();
+            newChunks[last] = Arrays.copyOf(chunks[last], chunks[last].length + 1);
+            newChunks[last][chunks[last].length] = task;
+            int[] newEnds = ends.clone();
+            newEnds[last]++;
+            return new TaskSnapshot(newChunks, newEnds, version);
+        }
+        Task[][] newChunks = Arrays.copyOf(chunks, chunks.length + 1);
+        newChunks[last + 1] = new Task[] {task};
+        int[] newEnds = Arrays.copyOf(ends, ends.length + 1);
+        newEnds[last + 1] = size() + 1;
+        return new TaskSnapshot(newChunks, newEnds, version);
+    }
+
+    /**
+     * Returns a snapshot with the task at {@code index} replaced by {@code task}.
+     */
+    TaskSnapshot withReplaced(int index, Task task, long version) {
+        Objects.checkIndex(index, size());
+        int c = chunkOf(index);
+        Task[][] newChunks = chunks.clone();
+        newChunks[c] = chunks[c].clone();
+        newChunks[c][index - start(c)] = task;
+        return new TaskSnapshot(newChunks, ends, version); // sizes are unchanged, so the ends are shared
+    }
+
+    /**
+     * Returns a snapshot without the task at {@code index}.
+     */
+    TaskSnapshot withRemoved(int index, long version) {
+        Objects.checkIndex(index, size());
+        int c = chunkOf(index);
+        int offset = index - start(c);
+        Task[] chunk = chunks[c];
+        Task[][] newChunks;
+        int[] newEnds;
+        if (chunk.length == 1) {
+            newChunks = new Task[chunks.length - 1][];
+            System.arraycopy(chunks, 0, newChunks, 0, c);
+            System.arraycopy(chunks, c + 1, newChunks, c, chunks.length - c - 1);
+            newEnds = new int[ends.length - 1];
+            System.arraycopy(ends, 0, newEnds, 0, c);
+            for (int k = c + 1; k < ends.length; k++) {
+                newEnds[k - 1] = ends[k] - 1;
+            }
+        } else {
+            Task[] newChunk = new Task[chunk.length - 1];
+            System.arraycopy(chunk, 0, newChunk, 0, offset);
+            System.arraycopy(chunk, offset + 1, newChunk, offset, chunk.length - offset - 1);
+            newChunks = chunks.clone();
+            newChunks[c] = newChunk;
+            newEnds = ends.clone();
+            for (int k = c; k < newEnds.length; k++) {
+                newEnds[k]--;
+            }
+        }
+        TaskSnapshot result = new TaskSnapshot(newChunks, newEnds, version);
+        // Deletions leave chunks part-empty; repack once they hold less than half of what they could.
+        if (newChunks.length > 2 * (result.size() / CHUNK_SIZE + 1)) {
+            return of(result, version);
+        }
+        return result;
+    }
+
+    private int start(int chunk) {
+        return chunk == 0 ? 0 : ends[chunk - 1];
+    }
+
+    /** Finds the chunk holding {@code index}: the first whose end lies beyond it. */
+    private int chunkOf(int index) {
+        int lo = 0;
+        int hi = ends.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ends[mid] <= index) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,253 @@
+package com.arnavjhajharia.penguin.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * A list of tasks whose deletions leave a tombstone instead of shifting the tasks after them.
+ * <p>
+ * Tasks live in slots that never move between compactions; a removed task only clears its slot, in
+ * {@code O(log n)}. The list still presents a dense view: position {@code i} is the {@code i}-th live slot,
+ * found through a Fenwick tree of live counts. Sequential access, as in {@code list}, {@code find} and
+ * {@code save}, resumes from the previously returned slot and costs {@code O(1)} per task.
+ * <p>
+ * Tombstones are dropped by {@link #compactIfDue()} once they make up more than the configured share of the
+ * slots, so the cost of a compaction is spread over the deletions that made it necessary. Compaction moves
+ * tasks to new slots; callers that remember slots must refresh them afterwards.
+ * <p>
+ * Not thread-safe.
+ *
+ * @since 1.1
+ */
+final class TombstoneTaskList extends AbstractList<Task> implements RandomAccess {
+
+    private final double maxDeadRatio;
+
+    /** Tasks by slot; {@code null} marks a tombstone. */
+    private Task[] slots;
+
+    /** Number of slots in use, live or dead. */
+    private int slotCount;
+
+    private int size;
+
+    /** Fenwick tree over the slots, one-based: {@code tree[i]} counts live slots in {@code (i - lowbit(i), i]}. */
+    private int[] tree;
+
+    /** Position and slot returned by the last lookup, to continue sequential access from. */
+    private int lastIndex = -1;
+    private int lastSlot = -1;
+
+    /**
+     * Creates a list holding {@code initial}, in order.
+     *
+     * @param initial      tasks to start with
+     * @param maxDeadRatio share of dead slots above which {@link #compactIfDue()} compacts
+     */
+    TombstoneTaskList(Iterable<Task> initial, double maxDeadRatio) {
+        assert maxDeadRatio > 0 && maxDeadRatio < 1 : "maxDeadRatio must be between 0 and 1";
+        this.maxDeadRatio = maxDeadRatio;
+        this.slots = new Task[16];
+        this.tree = new int[17];
+        for (Task t : initial) {
+            add(t);
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        return slots[slotOf(index)];
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "task must not be null";
+        int slot = slotOf(index);
+        Task old = slots[slot];
+        slots[slot] = task;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Task task) {
+        assert task != null : "task must not be null";
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slotCount * 2);
+            tree = Arrays.copyOf(tree, slotCount * 2 + 1);
+        }
+        slots[slotCount] = task;
+        // The new node covers (i - lowbit(i), i]: itself plus the nodes that tile the rest of that range.
+        int i = slotCount + 1;
+        int count = 1;
+        for (int j = i - 1; j > i - Integer.lowestOneBit(i); j -= Integer.lowestOneBit(j)) {
+            count += tree[j];
+        }
+        tree[i] = count;
+        slotCount++;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Task remove(int index) {
+        int slot = slotOf(index);
+        Task removed = slots[slot];
+        slots[slot] = null;
+        for (int i = slot + 1; i <= slotCount; i += Integer.lowestOneBit(i)) {
+            tree[i]--;
+        }
+        size--;
+        modCount++;
+        // Tombstones at the end are simply given back, so that removing the last task stays O(1).
+        while (slotCount > 0 && slots[slotCount - 1] == null) {
+            slotCount--;
+        }
+        forgetLastLookup();
+        return removed;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int slot = nextLive(0);
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return slot < slotCount;
+            }
+
+            @Override
+            public Task next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (slot >= slotCount) throw new NoSuchElementException();
+                Task t = slots[slot];
+                slot = nextLive(slot + 1);
+                return t;
+            }
+        };
+    }
+
+    /**
+     * Returns the slot holding the task at {@code index}.
+     *
+     * @param index zero-based position in the dense view
+     * @return the slot
+     */
+    int slotOf(int index) {
+        Objects.checkIndex(index, size);
+        int slot;
+        if (size == slotCount) {
+            slot = index;
+        } else if (index == lastIndex + 1 && lastIndex >= 0) {
+            slot = nextLive(lastSlot + 1);
+        } else if (index == lastIndex) {
+            slot = lastSlot;
+        } else {
+            slot = select(index);
+        }
+        lastIndex = index;
+        lastSlot = slot;
+        return slot;
+    }
+
+    /**
+     * Returns the position of the task in {@code slot}.
+     *
+     * @param slot a slot returned by {@link #slotOf(int)} or {@link #slotCount()}
+     * @return the zero-based position, or {@code -1} if the slot holds a tombstone
+     */
+    int indexOfSlot(int slot) {
+        if (slot < 0 || slot >= slotCount || slots[slot] == null) return -1;
+        int rank = 0;
+        for (int i = slot; i > 0; i -= Integer.lowestOneBit(i)) {
+            rank += tree[i];
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of slots in use, which is also the slot the next added task goes to.
+     *
+     * @return the slot count
+     */
+    int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns the number of tombstones.
+     *
+     * @return dead slots
+     */
+    int deadCount() {
+        return slotCount - size;
+    }
+
+    /**
+     * Drops the tombstones if they exceed the configured share of the slots. Live tasks keep their order but
+     * move to new slots.
+     *
+     * @return {@code true} if the list was compacted and slots changed
+     */
+    boolean compactIfDue() {
+        if (deadCount() <= maxDeadRatio * slotCount) return false;
+        Task[] live = new Task[Math.max(16, size * 2)];
+        int n = 0;
+        for (int s = 0; s < slotCount; s++) {
+            if (slots[s] != null) {
+                live[n++] = slots[s];
+            }
+        }
+        slots = live;
+        slotCount = n;
+        // Every slot is live, so each node counts exactly the slots it covers.
+        tree = new int[live.length + 1];
+        for (int i = 1; i <= n; i++) {
+            tree[i] = Integer.lowestOneBit(i);
+        }
+        forgetLastLookup();
+        modCount++;
+        return true;
+    }
+
+    /** Finds the slot of the {@code index}-th live task by descending the Fenwick tree. */
+    private int select(int index) {
+        int pos = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(slotCount); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= slotCount && tree[next] < remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        // pos is the longest prefix holding fewer than index + 1 live slots, so slot pos is the one sought.
+        return pos;
+    }
+
+    private void forgetLastLookup() {
+        lastIndex = -1;
+        lastSlot = -1;
+    }
+
+    private int nextLive(int slot) {
+        while (slot < slotCount && slots[slot] == null) {
+            slot++;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,95 @@
+package com.arnavjhajharia.penguin.model;
+
+/**
+ * The {@code k} best hits of a ranked search seen so far, kept in a min-heap on primitive arrays so that a
+ * top-{@code k} query costs {@code O(n log k)} time and {@code O(k)} memory however many tasks match.
+ * <p>
+ * A hit is a rank, larger being better, and the position of its task in the list. Ranks are expected to be
+ * distinct, as those from {@link TaskList#findTop(String, int, String)} are.
+ * <p>
+ * Not thread-safe.
+ *
+ * @since 1.1
+ */
+final class TopHits {
+
+    private final long[] ranks;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * Creates an empty heap keeping at most {@code k} hits.
+     *
+     * @param k the number of hits to keep, at least 1
+     */
+    TopHits(int k) {
+        assert k > 0 : "k must be positive";
+        ranks = new long[k];
+        positions = new int[k];
+    }
+
+    /**
+     * Returns the number of hits kept.
+     *
+     * @return at most {@code k}
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Keeps the hit if fewer than {@code k} are kept or it ranks above the worst one, which it then replaces.
+     *
+     * @param rank     the rank of the hit
+     * @param position the position of its task
+     */
+    void offer(long rank, int position) {
+        if (size < ranks.length) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (ranks[parent] <= rank) break;
+                ranks[i] = ranks[parent];
+                positions[i] = positions[parent];
+                i = parent;
+            }
+            ranks[i] = rank;
+            positions[i] = position;
+        } else if (rank > ranks[0]) {
+            siftDown(rank, position);
+        }
+    }
+
+    /**
+     * Empties the heap into {@code outRanks} and {@code outPositions}, best hit first.
+     *
+     * @param outRanks     receives the ranks; at least {@link #size()} long
+     * @param outPositions receives the positions; at least {@link #size()} long
+     */
+    void drainBestFirst(long[] outRanks, int[] outPositions) {
+        while (size > 0) {
+            int last = --size;
+            outRanks[last] = ranks[0];
+            outPositions[last] = positions[0];
+            if (last > 0) {
+                siftDown(ranks[last], positions[last]);
+            }
+        }
+    }
+
+    /** Puts the hit at the root and moves it down to its place among the first {@link #size} slots. */
+    private void siftDown(long rank, int position) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && ranks[child + 1] < ranks[child]) child++;
+            if (ranks[child] >= rank) break;
+            ranks[i] = ranks[child];
+            positions[i] = positions[child];
+            i = child;
+        }
+        ranks[i] = rank;
+        positions[i] = position;
+    }
+}
@@ -26,48 +26,99 @@ public final class Deadline extends Task {
     private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE;
 
     /**
-     * The raw deadline string provided at construction. Preserved for error reporting.
+     * Formatter for user-facing display of the deadline date, built once rather than on every
+     * {@link #toString()}.
+     * <p>
+     * Example: {@code Sep 3, 2025}.
      */
-    private final String raw;
+    private static final DateTimeFormatter PRETTY = DateTimeFormatter.ofPattern("MMM d, uuuu");
 
     /**
-     * The parsed deadline date.
+     * The deadline date as days since 1970-01-01; see {@link #getDate()}. A number instead of a
+     * {@link LocalDate} saves an object per deadline, and it is the value the binary format stores.
      */
-    private final LocalDate date;
+    private final int epochDay;
 
     /**
      * Creates a new {@code Deadline} task with a description, identifier, and a due date.
      *
      * @param task     description of the task
-     * @param id       zero-based identifier within a task list
+     * @param id       unique identifier within a task list
      * @param deadline the deadline string, expected in ISO format {@code yyyy-MM-dd}
      * @throws IllegalArgumentException if the deadline string cannot be parsed as an ISO local date
      */
     public Deadline(String task, int id, String deadline) {
+        this(task, id, parse(deadline));
+    }
+
+    /**
+     * Creates a new {@code Deadline} task from an already parsed due date, e.g. when decoding
+     * the binary storage format.
+     *
+     * @param task description of the task
+     * @param id   unique identifier within a task list
+     * @param date the due date
+     * @throws IllegalArgumentException if the date is too far from the present to be stored
+     */
+    public Deadline(String task, int id, LocalDate date) {
         super(task, id);
-        this.raw = deadline == null ? "" : deadline.trim();
+        assert date != null : "deadline date must not be null";
+        long day = date.toEpochDay();
+        if (day != (int) day) {
+            throw new IllegalArgumentException("Deadline date out of range: " + date.format(ISO));
+        }
+        this.epochDay = (int) day;
+    }
+
+    private Deadline(String task, int id, int epochDay) {
+        super(task, id);
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * Creates a new {@code Deadline} task from a due date given as days since 1970-01-01, without creating a
+     * {@link LocalDate}, e.g. when decoding the binary storage format.
+     *
+     * @param task     description of the task
+     * @param id       unique identifier within a task list
+     * @param epochDay the due date
+     * @return the task
+     */
+    public static Deadline ofEpochDay(String task, int id, int epochDay) {
+        return new Deadline(task, id, epochDay);
+    }
+
+    private static LocalDate parse(String deadline) {
+        String raw = deadline == null ? "" : deadline.trim();
         try {
-            this.date = LocalDate.parse(this.raw, ISO);
+            return LocalDate.parse(raw, ISO);
         } catch (DateTimeParseException e) {
             throw new IllegalArgumentException(
-                    "Invalid deadline format. Use yyyy-MM-dd (e.g., 2025-09-02). Got: " + this.raw
+                    "Invalid deadline format. Use yyyy-MM-dd (e.g., 2025-09-02). Got: " + raw
             );
         }
     }
 
+    @Override
+    public Deadline withId(int newId) {
+        Deadline copy = new Deadline(name, newId, epochDay);
+        copy.isDone = isDone;
+        return copy;
+    }
+
     /**
      * Returns a storage-ready line representing this deadline task.
      * <p>
      * Format:
      * <pre>
-     * D | &lt;doneFlag&gt; | &lt;description&gt; | &lt;yyyy-MM-dd&gt;
+     * D | &lt;doneFlag&gt; | &lt;description&gt; | &lt;yyyy-MM-dd&gt; | #&lt;id&gt;
      * </pre>
      *
      * @return formatted line suitable for persistence
      */
     @Override
     public String toStorageLine() {
-        return String.format("D | %s | %s | %s", doneFlag(), name, date.format(ISO));
+        return String.format("D | %s | %s | %s%s", doneFlag(), name, getDate().format(ISO), idField());
     }
 
     /**
@@ -83,16 +134,24 @@ public final class Deadline extends Task {
      */
     @Override
     public String toString() {
-        String pretty = date.format(DateTimeFormatter.ofPattern("MMM d, uuuu"));
-        return String.format("[D] %s (by: %s)", super.toString(), pretty);
+        return "[D] " + super.toString() + " (by: " + PRETTY.format(getDate()) + ")";
     }
 
     /**
-     * Returns the parsed deadline date as a {@link LocalDate}.
+     * Returns the deadline date as a {@link LocalDate}, created on each call.
      *
      * @return the deadline date
      */
     public LocalDate getDate() {
-        return date;
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Returns the deadline date as days since 1970-01-01.
+     *
+     * @return the epoch day
+     */
+    public int getEpochDay() {
+        return epochDay;
     }
 }
@@ -0,0 +1,41 @@
+package com.arnavjhajharia.penguin.model.task;
+
+/**
+ * Shares one {@link String} between tasks with equal descriptions, such as the many copies of
+ * "daily standup" in an imported list, so that each task only costs its own fields.
+ * <p>
+ * The pool is a fixed table of {@link #SIZE} entries indexed by hash, holding the description last seen for
+ * each entry. It never grows and never keeps more than {@code SIZE} strings alive, so descriptions of deleted
+ * tasks are not leaked; in exchange, two frequent descriptions that share an entry are only shared while they
+ * take turns. Lookups take no lock: entries are written racily, which is safe because strings are immutable,
+ * and a lost write only costs a missed share.
+ *
+ * @since 1.1
+ */
+final class DescriptionPool {
+
+    /** Number of entries; a power of two. */
+    static final int SIZE = 1 << 12;
+
+    private static final String[] ENTRIES = new String[SIZE];
+
+    private DescriptionPool() {
+    }
+
+    /**
+     * Returns a pooled string equal to {@code description}, or {@code description} itself, which then becomes
+     * the pooled one.
+     *
+     * @param description a task description, or {@code null}
+     * @return an equal string, possibly shared with other tasks
+     */
+    static String intern(String description) {
+        if (description == null) return null;
+        int h = description.hashCode();
+        int entry = (h ^ (h >>> 16)) & (SIZE - 1);
+        String pooled = ENTRIES[entry];
+        if (description.equals(pooled)) return pooled;
+        ENTRIES[entry] = description;
+        return description;
+    }
+}
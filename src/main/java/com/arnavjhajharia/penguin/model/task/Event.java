@@ -1,6 +1,7 @@
 package com.arnavjhajharia.penguin.model.task;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
@@ -36,43 +37,100 @@ public final class Event extends Task {
     private static final DateTimeFormatter PRETTY = DateTimeFormatter.ofPattern("MMM d, uuuu h:mm a");
 
     /**
-     * Event start timestamp.
+     * Event start as seconds since 1970-01-01T00:00; see {@link #getStart()}. Numbers instead of
+     * {@link LocalDateTime}s save three objects per timestamp.
      */
-    private final LocalDateTime start;
+    private final long startSecond;
 
     /**
-     * Event end timestamp.
+     * Event end as seconds since 1970-01-01T00:00; see {@link #getEnd()}.
      */
-    private final LocalDateTime end;
+    private final long endSecond;
 
     /**
      * Constructs a new {@code Event} with description, identifier, and start/end datetimes.
+     * Times are kept to the second; fractions of a second, if given, are dropped.
      *
      * @param task     description of the event
-     * @param id       zero-based identifier within a task list
+     * @param id       unique identifier within a task list
      * @param startStr start datetime string, expected in ISO format ({@code yyyy-MM-dd'T'HH:mm})
      * @param endStr   end datetime string, expected in ISO format ({@code yyyy-MM-dd'T'HH:mm})
      * @throws IllegalArgumentException if any input is {@code null}, cannot be parsed, or if end is not strictly after start
      */
     public Event(String task, int id, String startStr, String endStr) {
+        this(task, id, parse(startStr, endStr, true), parse(startStr, endStr, false));
+    }
+
+    /**
+     * Constructs a new {@code Event} from already parsed datetimes, e.g. when decoding
+     * the binary storage format. Times are kept to the second.
+     *
+     * @param task  description of the event
+     * @param id    unique identifier within a task list
+     * @param start event start
+     * @param end   event end
+     * @throws IllegalArgumentException if any datetime is {@code null} or if end is not strictly after start
+     */
+    public Event(String task, int id, LocalDateTime start, LocalDateTime end) {
+        this(task, id, toEpochSecond(start), toEpochSecond(end));
+    }
+
+    private Event(String task, int id, long startSecond, long endSecond) {
         super(task, id);
+        if (endSecond <= startSecond) {
+            throw new IllegalArgumentException("Event end must be after start.");
+        }
+        this.startSecond = startSecond;
+        this.endSecond = endSecond;
+    }
+
+    /**
+     * Constructs a new {@code Event} from times given as seconds since 1970-01-01T00:00, without creating
+     * {@link LocalDateTime}s, e.g. when decoding the binary storage format.
+     *
+     * @param task        description of the event
+     * @param id          unique identifier within a task list
+     * @param startSecond event start
+     * @param endSecond   event end
+     * @return the event
+     * @throws IllegalArgumentException if end is not strictly after start
+     */
+    public static Event ofEpochSeconds(String task, int id, long startSecond, long endSecond) {
+        return new Event(task, id, startSecond, endSecond);
+    }
+
+    private static LocalDateTime parse(String startStr, String endStr, boolean start) {
         if (startStr == null || endStr == null) {
             throw new IllegalArgumentException(
                     "Event requires start and end in yyyy-MM-dd'T'HH:mm (e.g., 2025-09-02T14:30)."
             );
         }
         try {
-            this.start = LocalDateTime.parse(startStr.trim(), ISO);
-            this.end   = LocalDateTime.parse(endStr.trim(), ISO);
+            return LocalDateTime.parse((start ? startStr : endStr).trim(), ISO);
         } catch (DateTimeParseException e) {
             throw new IllegalArgumentException(
                     "Invalid event datetime format. Use yyyy-MM-dd'T'HH:mm (e.g., 2025-09-02T14:30). Got: "
                             + startStr + " / " + endStr
             );
         }
-        if (!end.isAfter(start)) {
-            throw new IllegalArgumentException("Event end must be after start.");
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        if (time == null) {
+            throw new IllegalArgumentException("Event requires start and end.");
         }
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long second) {
+        return LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC);
+    }
+
+    @Override
+    public Event withId(int newId) {
+        Event copy = new Event(name, newId, startSecond, endSecond);
+        copy.isDone = isDone;
+        return copy;
     }
 
     /**
@@ -80,15 +138,15 @@ public final class Event extends Task {
      * <p>
      * Format:
      * <pre>
-     * E | &lt;doneFlag&gt; | &lt;description&gt; | &lt;start ISO&gt; | &lt;end ISO&gt;
+     * E | &lt;doneFlag&gt; | &lt;description&gt; | &lt;start ISO&gt; | &lt;end ISO&gt; | #&lt;id&gt;
      * </pre>
      *
      * @return formatted string suitable for persistence
      */
     @Override
     public String toStorageLine() {
-        return String.format("E | %s | %s | %s | %s",
-                doneFlag(), name, start.format(ISO), end.format(ISO));
+        return String.format("E | %s | %s | %s | %s%s",
+                doneFlag(), name, getStart().format(ISO), getEnd().format(ISO), idField());
     }
 
     /**
@@ -104,23 +162,35 @@ public final class Event extends Task {
      */
     @Override
     public String toString() {
-        return String.format("[E] %s (from: %s to: %s)",
-                super.toString(),
-                start.format(PRETTY),
-                end.format(PRETTY));
+        return "[E] " + super.toString()
+                + " (from: " + PRETTY.format(getStart()) + " to: " + PRETTY.format(getEnd()) + ")";
     }
 
     /**
-     * Returns the parsed start datetime of this event.
+     * Returns the start datetime of this event, created on each call.
      *
      * @return event start as {@link LocalDateTime}
      */
-    public LocalDateTime getStart() { return start; }
+    public LocalDateTime getStart() { return fromEpochSecond(startSecond); }
 
     /**
-     * Returns the parsed end datetime of this event.
+     * Returns the end datetime of this event, created on each call.
      *
      * @return event end as {@link LocalDateTime}
      */
-    public LocalDateTime getEnd()   { return end; }
+    public LocalDateTime getEnd()   { return fromEpochSecond(endSecond); }
+
+    /**
+     * Returns the start of this event as seconds since 1970-01-01T00:00.
+     *
+     * @return the start epoch second
+     */
+    public long getStartEpochSecond() { return startSecond; }
+
+    /**
+     * Returns the end of this event as seconds since 1970-01-01T00:00.
+     *
+     * @return the end epoch second
+     */
+    public long getEndEpochSecond()   { return endSecond; }
 }
@@ -1,19 +1,36 @@
 package com.arnavjhajharia.penguin.model.task;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
 public abstract class Task {
+    /**
+     * Separates the words of a search text.
+     */
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9]+");
+
     protected final int id;
     protected final String name;
     protected boolean isDone;
 
+    /**
+     * The search text and its words, built on first use by {@link #searchText()} or {@link #searchWords()} and
+     * dropped when the text changes. Tasks are shared between threads through snapshots; a race only builds
+     * the value twice, and its final fields make it safe to publish without a lock.
+     */
+    private SearchText search;
+
 
     /**
-     * Constructs a new task with the given description and identifier.
+     * Constructs a new task with the given description and identifier. Equal descriptions of different tasks
+     * share one string; see {@link DescriptionPool}.
      *
      * @param task the description of the task
-     * @param id   the unique ID of the task
+     * @param id   the unique ID of the task; see {@link #getId()}
      */
     public Task(String task, int id) {
-        name = task;
+        name = DescriptionPool.intern(task);
         this.id = id;
     }
 
@@ -22,6 +39,7 @@ public abstract class Task {
      */
     public void markUndone() {
         isDone = false;
+        search = null;
     }
 
     /**
@@ -29,6 +47,7 @@ public abstract class Task {
      */
     public void markDone() {
         isDone = true;
+        search = null;
     }
 
 
@@ -41,12 +60,36 @@ public abstract class Task {
      */
     @Override
     public String toString() {
+        return (isDone ? "[X] " : "[] ") + name;
+    }
 
-        return String.format("[%s] %s",
-                isDone ? "X" : "",
-                name
-        );
+    /**
+     * Returns the text {@code find} matches queries against: {@link #toString()} lower-cased and trimmed,
+     * type tag, done mark and dates included. Built once and cached until the done status changes.
+     *
+     * @return the search text
+     */
+    public String searchText() {
+        return search().text;
+    }
+
+    /**
+     * Returns the words of {@link #searchText()}: its runs of lower-case letters and digits, in order.
+     * Callers must not modify the array.
+     *
+     * @return the cached words
+     */
+    public String[] searchWords() {
+        return search().words;
+    }
 
+    private SearchText search() {
+        SearchText s = search;
+        if (s == null) {
+            s = new SearchText(toString().toLowerCase().trim());
+            search = s;
+        }
+        return s;
     }
 
     /**
@@ -71,6 +114,69 @@ public abstract class Task {
      */
     protected String doneFlag() { return isDone ? "1" : "0"; }
 
+    /**
+     * Returns the trailing id field of the storage line, {@code " | #<id>"}.
+     *
+     * @return the id field, including its separator
+     */
+    protected String idField() { return " | #" + id; }
+
+    /**
+     * Returns a copy of this task, including its done status, with a different id.
+     *
+     * @param newId the id of the copy
+     * @return the copy
+     */
+    public abstract Task withId(int newId);
 
+    /**
+     * Returns a copy of this task with the given done status, leaving this task unchanged. Used where a task
+     * may already be visible to other threads and must not be modified in place.
+     *
+     * @param done the done status of the copy
+     * @return the copy
+     */
+    public Task withDone(boolean done) {
+        Task copy = withId(id);
+        copy.isDone = done;
+        return copy;
+    }
+
+    /**
+     * Returns the id of this task. Ids are assigned by the task list in increasing order, are never reused
+     * within a list, and do not change when other tasks are deleted.
+     *
+     * @return the task id
+     */
+    public int getId() { return id; }
 
+    /**
+     * Returns the description of this task.
+     *
+     * @return the task description
+     */
+    public String getName() { return name; }
+
+    /**
+     * Returns whether this task is marked as completed.
+     *
+     * @return {@code true} if done
+     */
+    public boolean isDone() { return isDone; }
+
+    private static final class SearchText {
+        final String text;
+        final String[] words;
+
+        SearchText(String text) {
+            this.text = text;
+            List<String> out = new ArrayList<>();
+            for (String w : NON_WORD.split(text)) {
+                if (!w.isEmpty()) {
+                    out.add(w);
+                }
+            }
+            this.words = out.toArray(new String[0]);
+        }
+    }
 }
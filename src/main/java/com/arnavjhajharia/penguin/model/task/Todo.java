@@ -18,12 +18,19 @@ public final class Todo extends Task {
      * Constructs a new {@code Todo} task with a description and identifier.
      *
      * @param task description of the task
-     * @param id   zero-based identifier within a task list
+     * @param id   unique identifier within a task list
      */
     public Todo(String task, int id) {
         super(task, id);
     }
 
+    @Override
+    public Todo withId(int newId) {
+        Todo copy = new Todo(name, newId);
+        copy.isDone = isDone;
+        return copy;
+    }
+
     /**
      * Returns a user-facing string representation of this todo task.
      * <p>
@@ -36,7 +43,7 @@ public final class Todo extends Task {
      */
     @Override
     public String toString() {
-        return String.format("[T] %s", super.toString());
+        return "[T] " + super.toString();
     }
 
     /**
@@ -44,13 +51,13 @@ public final class Todo extends Task {
      * <p>
      * Format:
      * <pre>
-     * T | &lt;doneFlag&gt; | &lt;description&gt;
+     * T | &lt;doneFlag&gt; | &lt;description&gt; | #&lt;id&gt;
      * </pre>
      *
      * @return formatted string suitable for persistence
      */
     @Override
     public String toStorageLine() {
-        return String.format("T | %s | %s", doneFlag(), name);
+        return String.format("T | %s | %s%s", doneFlag(), name, idField());
     }
 }
@@ -0,0 +1,439 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Deadline;
+import com.arnavjhajharia.penguin.model.task.Event;
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+
+/**
+ * Encodes and decodes the compact binary snapshot format.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header : 'P' 'N' 'G' 'B' | version:u8 | checkpoint:i64 | count:i32 | nextId:i32
+ * record : tag:u8 ('T' | 'D' | 'E') | flags:u8 (bit 0 = done) | id:varint | descLen:varint | desc:UTF-8
+ *          [D] epochDay:i32
+ *          [E] startEpochSecond:zigzag varint | endEpochSecond:zigzag varint
+ * </pre>
+ * Older files are still read by {@link #read(Path, int, Predicate)}: version 2 stores event times as
+ * {@code startEpochMinute:i64 | endEpochMinute:i64}, and version 1 additionally has neither {@code nextId}
+ * nor record ids. Everything else requires the current version.
+ * Dates are stored as plain numbers, so loading needs no date parsing and no intermediate strings apart
+ * from the description. Event times are kept to the second, as {@link Event} keeps them.
+ *
+ * @since 1.1
+ */
+public final class BinaryTaskCodec {
+
+    /** Leading bytes identifying a binary snapshot. */
+    private static final byte[] MAGIC = {'P', 'N', 'G', 'B'};
+
+    /** Current format version. */
+    static final int VERSION = 3;
+
+    /** Version storing event times as fixed-size epoch minutes. */
+    static final int VERSION_WITH_MINUTES = 2;
+
+    /** Version before task ids were stored; event times are in epoch minutes as in version 2. */
+    private static final int VERSION_WITHOUT_IDS = 1;
+
+    /** Bit of the record flags byte that holds the done status. */
+    static final int DONE_FLAG = 1;
+
+    /** Size of the header, i.e. offset of the first record. */
+    static final int HEADER_BYTES = 21;
+
+    /** Offset of the task count within the header. */
+    static final int COUNT_OFFSET = 13;
+
+    /** Offset of the next id within the header. */
+    static final int NEXT_ID_OFFSET = 17;
+
+    /** Offset of the flags byte within a record. */
+    static final int FLAGS_OFFSET = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinaryTaskCodec() { }
+
+    /**
+     * Returns whether the file at {@code path} starts with the binary snapshot header.
+     *
+     * @param path the file to inspect
+     * @return {@code true} if the file is a binary snapshot; {@code false} if it is missing, short or textual
+     */
+    public static boolean isBinary(Path path) {
+        if (!Files.isRegularFile(path)) return false;
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] head = in.readNBytes(MAGIC.length);
+            return Arrays.equals(head, MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes {@code tasks} as a binary snapshot, atomically replacing {@code filePath}.
+     *
+     * @param filePath destination file path
+     * @param header   checkpoint and next id to store
+     * @param tasks    tasks in list order
+     * @return {@code true} if the write succeeded; {@code false} otherwise
+     */
+    public static boolean write(String filePath, SnapshotHeader header, List<Task> tasks) {
+        Path target = Path.of(filePath);
+        Path tmp = Path.of(filePath + ".tmp");
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), BUFFER_SIZE)) {
+                encode(out, header, tasks);
+            }
+            FileParser.sync(tmp);
+            FileParser.moveAtomically(tmp, target);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Encodes {@code tasks} into an in-memory binary snapshot.
+     *
+     * @param header checkpoint and next id to store
+     * @param tasks  tasks in list order
+     * @return the encoded snapshot
+     */
+    public static byte[] encode(SnapshotHeader header, List<Task> tasks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + tasks.size() * 24);
+        try {
+            encode(bytes, header, tasks);
+        } catch (IOException e) {
+            throw new IllegalStateException("in-memory encoding cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void encode(OutputStream sink, SnapshotHeader header, List<Task> tasks) throws IOException {
+        DataOutputStream out = new DataOutputStream(sink);
+        writeHeader(out, header, tasks.size());
+        for (Task t : tasks) {
+            writeTask(out, t);
+        }
+        out.flush();
+    }
+
+    static void writeHeader(DataOutputStream out, SnapshotHeader header, int count) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(header.checkpoint());
+        out.writeInt(count);
+        out.writeInt(header.nextId());
+    }
+
+    static void writeTask(DataOutputStream out, Task t) throws IOException {
+        byte[] desc = t.getName().getBytes(StandardCharsets.UTF_8);
+        if (t instanceof Deadline) {
+            out.writeByte('D');
+        } else if (t instanceof Event) {
+            out.writeByte('E');
+        } else {
+            out.writeByte('T');
+        }
+        out.writeByte(t.isDone() ? DONE_FLAG : 0);
+        writeVarInt(out, t.getId());
+        writeVarInt(out, desc.length);
+        out.write(desc);
+        if (t instanceof Deadline d) {
+            out.writeInt(d.getEpochDay());
+        } else if (t instanceof Event e) {
+            writeVarLong(out, e.getStartEpochSecond());
+            writeVarLong(out, e.getEndEpochSecond());
+        }
+    }
+
+    /**
+     * Header fields of a binary snapshot.
+     */
+    record Header(int version, long checkpoint, int count, int nextId) {
+
+        SnapshotHeader snapshot() {
+            return new SnapshotHeader(checkpoint, nextId);
+        }
+    }
+
+    /**
+     * Reads and validates the header at the start of {@code in}.
+     *
+     * @param in   stream positioned at the start of the file
+     * @param path file being read, for error messages
+     * @return the header fields
+     * @throws IOException if the header is missing, foreign or of an unsupported version
+     */
+    static Header readHeader(DataInputStream in, Path path) throws IOException {
+        byte[] head = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(head, MAGIC)) {
+            throw new IOException("Not a binary task file: " + path);
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION && version != VERSION_WITH_MINUTES && version != VERSION_WITHOUT_IDS) {
+            throw new IOException("Unsupported binary task file version " + version + ": " + path);
+        }
+        long checkpoint = in.readLong();
+        int count = in.readInt();
+        return new Header(version, checkpoint, count, version != VERSION_WITHOUT_IDS ? in.readInt() : 0);
+    }
+
+    /**
+     * Decodes the binary snapshot at {@code path}, handing each task to {@code sink} in file order.
+     * Tasks of a version 1 file, which stores no ids, receive consecutive ids starting at {@code firstId}.
+     *
+     * @param path    the binary snapshot
+     * @param firstId id of the first decoded task, if the file stores none
+     * @param sink    receives each task; returning {@code false} stops decoding (e.g. list is full)
+     * @return the checkpoint and next id stored in the header
+     * @throws IOException if the file cannot be read, is not a valid binary snapshot or holds a record that
+     *                     does not make a valid task
+     */
+    public static SnapshotHeader read(Path path, int firstId, Predicate<Task> sink) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            Header header = readHeader(in, path);
+            boolean hasIds = header.version() != VERSION_WITHOUT_IDS;
+            int count = header.count();
+
+            byte[] buf = new byte[64];
+            for (int i = 0; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                boolean done = (in.readUnsignedByte() & DONE_FLAG) != 0;
+                int id = hasIds ? readVarInt(in) : firstId + i;
+                int len = readVarInt(in);
+                if (len > buf.length) {
+                    buf = new byte[Math.max(len, buf.length * 2)];
+                }
+                in.readFully(buf, 0, len);
+                String desc = new String(buf, 0, len, StandardCharsets.UTF_8);
+
+                Task t;
+                try {
+                    t = switch (tag) {
+                        case 'T' -> new Todo(desc, id);
+                        case 'D' -> Deadline.ofEpochDay(desc, id, in.readInt());
+                        case 'E' -> header.version() == VERSION
+                                ? Event.ofEpochSeconds(desc, id, readVarLong(in), readVarLong(in))
+                                : Event.ofEpochSeconds(desc, id, in.readLong() * 60, in.readLong() * 60);
+                        default -> throw new IOException("Unknown task tag " + tag + " in " + path);
+                    };
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    throw new IOException("Corrupt task record " + i + " in " + path, e);
+                }
+                if (done) {
+                    t.markDone();
+                }
+                if (!sink.test(t)) break;
+            }
+            return header.snapshot();
+        }
+    }
+
+    /**
+     * Decodes the current-version record starting at the current position of {@code buf}, leaving the
+     * position just past it.
+     *
+     * @param buf source positioned at a record
+     * @return the task
+     * @throws IOException if the record is truncated, has an unknown tag or does not make a valid task
+     */
+    static Task decodeTask(ByteBuffer buf) throws IOException {
+        return decodeTask(buf, VERSION);
+    }
+
+    /**
+     * Decodes a record of {@code version}, {@link #VERSION} or {@link #VERSION_WITH_MINUTES}, starting at the
+     * current position of {@code buf}, leaving the position just past it.
+     *
+     * @param buf     source positioned at a record
+     * @param version format version of the record
+     * @return the task
+     * @throws IOException if the record is truncated, has an unknown tag or does not make a valid task
+     */
+    static Task decodeTask(ByteBuffer buf, int version) throws IOException {
+        try {
+            int tag = buf.get() & 0xFF;
+            boolean done = (buf.get() & DONE_FLAG) != 0;
+            int id = readVarInt(buf);
+            int len = readVarInt(buf);
+            String desc = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+            buf.position(buf.position() + len);
+
+            Task t = switch (tag) {
+                case 'T' -> new Todo(desc, id);
+                case 'D' -> Deadline.ofEpochDay(desc, id, buf.getInt());
+                case 'E' -> version == VERSION
+                        ? Event.ofEpochSeconds(desc, id, readVarLong(buf), readVarLong(buf))
+                        : Event.ofEpochSeconds(desc, id, buf.getLong() * 60, buf.getLong() * 60);
+                default -> throw new IOException("Unknown task tag " + tag);
+            };
+            if (done) {
+                t.markDone();
+            }
+            return t;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated task record", e);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IOException("Corrupt task record", e);
+        }
+    }
+
+    /**
+     * Returns the number of date bytes that follow the description of a record of {@code version}, the
+     * first of them at {@code at} in {@code buf}.
+     *
+     * @param buf     the record's bytes
+     * @param at      position of the first date byte
+     * @param tag     the record tag
+     * @param version format version of the record
+     * @return the trailing field size, or {@code -1} for an unknown tag
+     */
+    static int trailerBytes(ByteBuffer buf, int at, int tag, int version) {
+        return switch (tag) {
+            case 'T' -> 0;
+            case 'D' -> Integer.BYTES;
+            case 'E' -> {
+                if (version != VERSION) yield 2 * Long.BYTES;
+                int end = at;
+                for (int field = 0; field < 2; field++) {
+                    while ((buf.get(end++) & 0x80) != 0) {
+                        // skip one varint
+                    }
+                }
+                yield end - at;
+            }
+            default -> -1;
+        };
+    }
+
+    /**
+     * Skips the date fields that follow the description of a current-version record.
+     *
+     * @param in  stream positioned just past the description
+     * @param tag the record tag
+     * @return the number of bytes skipped, or {@code -1} for an unknown tag, in which case nothing is read
+     * @throws IOException if the stream ends early
+     */
+    static int skipTrailer(DataInputStream in, int tag) throws IOException {
+        switch (tag) {
+            case 'T':
+                return 0;
+            case 'D':
+                in.skipNBytes(Integer.BYTES);
+                return Integer.BYTES;
+            case 'E':
+                int bytes = 0;
+                for (int field = 0; field < 2; field++) {
+                    do {
+                        bytes++;
+                    } while ((in.readUnsignedByte() & 0x80) != 0);
+                }
+                return bytes;
+            default:
+                return -1;
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Writes {@code value} zigzag-encoded as a varint, so that small negative values stay short too.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(ByteBuffer buf) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = buf.get() & 0xFF;
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return (v >>> 1) ^ -(v & 1);
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return (v >>> 1) ^ -(v & 1);
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static int readVarInt(ByteBuffer buf) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = buf.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Returns the number of bytes {@code value} takes as a varint.
+     *
+     * @param value a non-negative value
+     * @return the encoded size
+     */
+    static int varIntSize(int value) {
+        int bytes = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,58 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * {@link TaskStore} for the compact binary format of {@link BinaryTaskCodec}.
+ *
+ * @since 1.1
+ */
+public final class BinaryTaskStore implements TaskStore {
+
+    private final String filePath;
+
+    /**
+     * Creates a store for the binary file at {@code filePath}.
+     *
+     * @param filePath the backing file
+     */
+    public BinaryTaskStore(String filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public StorageFormat format() {
+        return StorageFormat.BINARY;
+    }
+
+    @Override
+    public SnapshotHeader load(int firstId, int maxTasks, Consumer<Task> sink) throws IOException {
+        Path path = Path.of(filePath);
+        if (!Files.exists(path)) return SnapshotHeader.NONE;
+        int[] loaded = {0};
+        return BinaryTaskCodec.read(path, firstId, t -> {
+            if (loaded[0] >= maxTasks) return false;
+            sink.accept(t);
+            loaded[0]++;
+            return true;
+        });
+    }
+
+    @Override
+    public boolean save(SnapshotHeader header, List<Task> tasks) {
+        return BinaryTaskCodec.write(filePath, header, tasks);
+    }
+
+    @Override
+    public JournalCompactor.Snapshot capture(SnapshotHeader header, List<Task> tasks) {
+        byte[] data = BinaryTaskCodec.encode(header, tasks);
+        return path -> FileParser.writeBytesAtomically(path, data);
+    }
+}
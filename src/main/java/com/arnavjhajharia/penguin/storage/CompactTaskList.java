@@ -0,0 +1,54 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.util.List;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * A list of tasks that are not held as {@link Task} objects: {@link #get(int)} builds a task from a compact
+ * representation, and changes to that task are not written back. The accessors below read and update the
+ * representation directly, so that commands touching one field never build a task.
+ *
+ * @since 1.1
+ */
+public interface CompactTaskList extends List<Task> {
+
+    /**
+     * Returns the id of the task at {@code index}.
+     *
+     * @param index zero-based list position
+     * @return the task id
+     */
+    int idAt(int index);
+
+    /**
+     * Returns whether the task at {@code index} is done.
+     *
+     * @param index zero-based list position
+     * @return {@code true} if done
+     */
+    boolean isDone(int index);
+
+    /**
+     * Changes the done status of the task at {@code index}.
+     *
+     * @param index zero-based list position
+     * @param done  new completion status
+     */
+    void setDone(int index, boolean done);
+
+    /**
+     * Returns the storage tag ({@code 'T'}, {@code 'D'} or {@code 'E'}) of the task at {@code index}.
+     *
+     * @param index zero-based list position
+     * @return the type tag
+     */
+    char typeAt(int index);
+
+    /**
+     * Removes the tasks at {@code ascending} in one pass, instead of shifting the list once per task.
+     *
+     * @param ascending zero-based list positions before the removal, in ascending order
+     */
+    void removeAll(int[] ascending);
+}
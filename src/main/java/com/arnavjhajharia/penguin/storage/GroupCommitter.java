@@ -0,0 +1,127 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Batches durability requests so that many writes share one {@code fsync}.
+ * <p>
+ * A writer first hands its bytes to the operating system and then calls {@link #submit()}. The returned
+ * future completes once a sync that started after the call has finished, i.e. once those bytes are on the
+ * storage device. A background thread syncs as soon as a request arrives while it is idle; requests arriving
+ * while a sync is in progress form the next batch, which is synced with a single {@link Syncable#sync()} as
+ * soon as the current one finishes. A lone writer waiting on each request therefore pays one sync per
+ * request and never waits for others, while concurrent writers share syncs, so throughput grows with the
+ * number of writers instead of being capped at the device's sync rate.
+ *
+ * @since 1.1
+ */
+public final class GroupCommitter implements Closeable {
+
+    /**
+     * The file (or files) whose written bytes are forced by a commit.
+     */
+    @FunctionalInterface
+    public interface Syncable {
+
+        /**
+         * Forces every byte written so far to the storage device.
+         *
+         * @throws IOException if the sync fails
+         */
+        void sync() throws IOException;
+    }
+
+    private final Syncable target;
+    private final Thread thread;
+
+    // Guarded by this.
+    private List<CompletableFuture<Void>> pending = new ArrayList<>();
+    private boolean closed;
+    private long batches;
+
+    /**
+     * Starts a committer for {@code target}.
+     *
+     * @param target what to sync
+     */
+    public GroupCommitter(Syncable target) {
+        assert target != null : "target must not be null";
+        this.target = target;
+        this.thread = new Thread(this::run, "GroupCommitter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Requests that everything written before this call becomes durable.
+     *
+     * @return a future that completes when the batch containing this request has been synced, or completes
+     *         exceptionally if the sync failed or the committer is closed
+     */
+    public synchronized CompletableFuture<Void> submit() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (closed) {
+            done.completeExceptionally(new IOException("group committer is closed"));
+            return done;
+        }
+        pending.add(done);
+        if (pending.size() == 1) {
+            notifyAll(); // wakes the thread if it is idle; otherwise it picks the request up after its sync
+        }
+        return done;
+    }
+
+    /**
+     * Returns the number of syncs issued so far.
+     *
+     * @return the batch count
+     */
+    public synchronized long batches() {
+        return batches;
+    }
+
+    private void run() {
+        while (true) {
+            List<CompletableFuture<Void>> batch;
+            synchronized (this) {
+                try {
+                    while (pending.isEmpty() && !closed) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (pending.isEmpty()) return; // closed and drained
+                batch = pending;
+                pending = new ArrayList<>();
+                batches++;
+            }
+            try {
+                target.sync();
+                batch.forEach(f -> f.complete(null));
+            } catch (IOException | RuntimeException e) {
+                batch.forEach(f -> f.completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * Commits the outstanding requests immediately and stops the background thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.IOException;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * {@link TaskStore} that also applies single mutations in place, so the caller never needs to rewrite the
+ * whole list to keep the file in step with it.
+ *
+ * @since 1.1
+ */
+public interface IncrementalTaskStore extends TaskStore {
+
+    /**
+     * Appends {@code task} to the end of the stored list.
+     *
+     * @param task the new task
+     * @throws IOException if the file cannot be written
+     */
+    void append(Task task) throws IOException;
+
+    /**
+     * Changes the done status of the stored task at {@code index}.
+     *
+     * @param index zero-based list position
+     * @param done  new completion status
+     * @throws IOException if the file cannot be written
+     */
+    void setDone(int index, boolean done) throws IOException;
+
+    /**
+     * Removes the stored task at {@code index}.
+     *
+     * @param index zero-based list position
+     * @throws IOException if the file cannot be written
+     */
+    void delete(int index) throws IOException;
+
+    /**
+     * Changes the done status of the stored tasks at {@code ascending} as one update. The default
+     * implementation applies them one by one.
+     *
+     * @param ascending zero-based list positions, in ascending order
+     * @param done      new completion status
+     * @throws IOException if the file cannot be written
+     */
+    default void setDoneAll(int[] ascending, boolean done) throws IOException {
+        for (int index : ascending) {
+            setDone(index, done);
+        }
+    }
+
+    /**
+     * Removes the stored tasks at {@code ascending} as one update. The default implementation removes them one
+     * by one, from the highest position down.
+     *
+     * @param ascending zero-based list positions before the removal, in ascending order
+     * @throws IOException if the file cannot be written
+     */
+    default void deleteAll(int[] ascending) throws IOException {
+        for (int i = ascending.length - 1; i >= 0; i--) {
+            delete(ascending[i]);
+        }
+    }
+}
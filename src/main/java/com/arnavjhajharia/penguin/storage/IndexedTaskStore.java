@@ -0,0 +1,869 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * Embedded, file-based {@link TaskStore} that keeps the list in a counted B+tree of fixed-size pages,
+ * so single mutations and range reads touch a handful of pages instead of the whole file.
+ * <p>
+ * Layout: page 0 is the header; every other page is a leaf, an internal node or free.
+ * <pre>
+ * header   : 'P' 'N' 'G' 'X' | version:u8 | ... | root:i32 @8 | pages:i32 @12 | freeHead:i32 @16
+ *            | checkpoint:i64 @20 | size:i32 @28 | nextId:i32 @32
+ * leaf     : type=1:u8 | - | count:u16 | prev:i32 | next:i32 | used:u16 | ... | records from @16
+ * internal : type=2:u8 | - | count:u16 | ... | (child:i32, subtreeSize:i32) pairs from @8
+ * free     : type=0:u8 | ... | nextFree:i32 @8
+ * </pre>
+ * Leaf records use the record encoding of {@link BinaryTaskCodec}. A version 2 file, whose records keep
+ * event times in minutes, is rewritten in the current version when first opened. Internal nodes store the number of tasks
+ * below each child, so the task at a list position is found in {@code O(log n)} and positions stay
+ * contiguous after deletions. Leaves are chained for range scans. Emptied pages go to a free list; nodes
+ * are not merged, so a long run of deletions leaves sparse pages until the next {@link #save(long, List)}.
+ * <p>
+ * Each mutation is a transaction: the original content of the pages it changes is first written to a
+ * rollback file next to the store and forced, then the pages are written and forced, and the rollback file
+ * is deleted. A crash at any point is undone on the next open. Encoded tasks are limited to
+ * {@link #MAX_RECORD} bytes so that a split always yields two valid leaves.
+ * <p>
+ * Everything runs in-process; no server or external library is involved.
+ *
+ * @since 1.1
+ */
+public final class IndexedTaskStore implements IncrementalTaskStore {
+
+    /** Size of every page, in bytes. */
+    static final int PAGE_SIZE = 4096;
+
+    /** Largest encoded task accepted, in bytes. */
+    static final int MAX_RECORD = 1024;
+
+    private static final byte[] MAGIC = {'P', 'N', 'G', 'X'};
+    private static final int VERSION = 3;
+
+    /** Version whose records are those of {@link BinaryTaskCodec#VERSION_WITH_MINUTES}. */
+    private static final int VERSION_WITH_MINUTES = 2;
+
+    private static final int H_ROOT = 8;
+    private static final int H_PAGES = 12;
+    private static final int H_FREE = 16;
+    private static final int H_CHECKPOINT = 20;
+    private static final int H_SIZE = 28;
+    private static final int H_NEXT_ID = 32;
+
+    private static final byte FREE = 0;
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+
+    private static final int COUNT = 2;
+    private static final int PREV = 4;
+    private static final int NEXT = 8;
+    private static final int USED = 12;
+    private static final int LEAF_DATA = 16;
+    private static final int INTERNAL_DATA = 8;
+    private static final int ENTRY = 8;
+    private static final int MAX_CHILDREN = (PAGE_SIZE - INTERNAL_DATA) / ENTRY;
+
+    /** Marks the end of a complete rollback file. */
+    private static final int ROLLBACK_END = -1;
+
+    private final Path path;
+    private final Path rollbackPath;
+
+    private FileChannel channel;
+    private int root;
+    private int pageCount;
+    private int committedPages;
+    private int freeHead;
+    private long checkpoint;
+    private int nextId;
+    private int size;
+
+    /** {@link BinaryTaskCodec} version of the records in the open file. */
+    private int recordVersion = BinaryTaskCodec.VERSION;
+
+    /** Pages changed by the running transaction. */
+    private final Map<Integer, ByteBuffer> dirty = new LinkedHashMap<>();
+
+    /** Internal nodes are few and read on every descent, so they stay cached. */
+    private final Map<Integer, ByteBuffer> internalCache = new HashMap<>();
+
+    /** Position within the leaf returned by the last {@link #locate(int)}. */
+    private int localIndex;
+
+    /**
+     * Creates a store for the indexed file at {@code filePath}. The file is created on the first mutation.
+     *
+     * @param filePath the backing file
+     */
+    public IndexedTaskStore(String filePath) {
+        this.path = Path.of(filePath);
+        this.rollbackPath = Path.of(filePath + ".rollback");
+    }
+
+    /**
+     * Returns whether the file at {@code path} starts with the indexed store header.
+     *
+     * @param path the file to inspect
+     * @return {@code true} if the file is an indexed store
+     */
+    public static boolean isIndexed(Path path) {
+        if (!Files.isRegularFile(path)) return false;
+        try (InputStream in = Files.newInputStream(path)) {
+            return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public StorageFormat format() {
+        return StorageFormat.INDEXED;
+    }
+
+    /**
+     * Returns the number of stored tasks.
+     *
+     * @return the task count
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized int size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public synchronized SnapshotHeader load(int firstId, int maxTasks, Consumer<Task> sink) throws IOException {
+        if (!Files.exists(path)) return SnapshotHeader.NONE;
+        ensureOpen();
+        scan(0, Math.min(size, maxTasks), sink);
+        return new SnapshotHeader(checkpoint, nextId);
+    }
+
+    @Override
+    public synchronized List<Task> range(int from, int to) throws IOException {
+        assert 0 <= from && from <= to : "invalid range";
+        List<Task> out = new ArrayList<>();
+        if (!Files.exists(path)) return out;
+        ensureOpen();
+        scan(from, Math.min(to, size), out::add);
+        return out;
+    }
+
+    @Override
+    public synchronized void append(Task task) throws IOException {
+        byte[] rec = encode(task);
+        ensureOpen();
+        try {
+            Split split = insert(root, size, rec);
+            if (split != null) {
+                int newRoot = allocate(INTERNAL);
+                ByteBuffer b = page(newRoot);
+                setEntry(b, 0, root, split.leftSize());
+                setEntry(b, 1, split.page(), split.rightSize());
+                setCount(b, 2);
+                root = newRoot;
+            }
+            size++;
+            nextId = Math.max(nextId, task.getId() + 1);
+            commit();
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void setDone(int index, boolean done) throws IOException {
+        setDoneAll(new int[] {index}, done);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All changed pages are committed together, behind one rollback file.
+     */
+    @Override
+    public synchronized void setDoneAll(int[] ascending, boolean done) throws IOException {
+        ensureOpen();
+        for (int index : ascending) {
+            Objects.checkIndex(index, size);
+        }
+        try {
+            for (int index : ascending) {
+                ByteBuffer b = modify(locate(index));
+                b.put(offsetOf(b, localIndex) + BinaryTaskCodec.FLAGS_OFFSET,
+                        (byte) (done ? BinaryTaskCodec.DONE_FLAG : 0));
+            }
+            commit();
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void delete(int index) throws IOException {
+        deleteAll(new int[] {index});
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each removal costs {@code O(log n)} page reads, and all changed pages are committed together, behind one
+     * rollback file.
+     */
+    @Override
+    public synchronized void deleteAll(int[] ascending) throws IOException {
+        ensureOpen();
+        for (int index : ascending) {
+            Objects.checkIndex(index, size);
+        }
+        try {
+            for (int i = ascending.length - 1; i >= 0; i--) {
+                delete(root, ascending[i]);
+                size--;
+            }
+            ByteBuffer r = page(root);
+            while (r.get(0) == INTERNAL && count(r) == 1) {
+                int only = child(r, 0);
+                free(root);
+                root = only;
+                r = page(root);
+            }
+            if (r.get(0) == INTERNAL && count(r) == 0) {
+                free(root);
+                root = allocate(LEAF);
+            }
+            commit();
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The new file is bulk-built with full leaves in a temporary file and then swapped in.
+     */
+    @Override
+    public synchronized boolean save(SnapshotHeader header, List<Task> tasks) {
+        Iterator<Task> it = tasks.iterator();
+        return replaceWith(header, tasks.size(), new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public byte[] next() {
+                return encode(it.next());
+            }
+        });
+    }
+
+    @Override
+    public JournalCompactor.Snapshot capture(SnapshotHeader header, List<Task> tasks) {
+        List<byte[]> records = new ArrayList<>(tasks.size());
+        for (Task t : tasks) {
+            records.add(encode(t));
+        }
+        return target -> new IndexedTaskStore(target).replaceWith(header, records.size(), records.iterator());
+    }
+
+    private synchronized boolean replaceWith(SnapshotHeader header, int count, Iterator<byte[]> records) {
+        close();
+        Path tmp = Path.of(path + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            build(tmp, header, count, records);
+            Files.deleteIfExists(rollbackPath); // belongs to the file being replaced
+            FileParser.moveAtomically(tmp, path);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Closes the file. The store reopens it on next use.
+     */
+    @Override
+    public synchronized void close() {
+        dirty.clear();
+        internalCache.clear();
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        channel = null;
+    }
+
+    // ---------------------------------------------------------------- tree operations
+
+    private record Split(int page, int leftSize, int rightSize) { }
+
+    /**
+     * Inserts {@code rec} at position {@code index} of the subtree rooted at {@code p}.
+     *
+     * @return the new right sibling if {@code p} had to be split, otherwise {@code null}
+     */
+    private Split insert(int p, int index, byte[] rec) throws IOException {
+        ByteBuffer b = page(p);
+        if (b.get(0) == LEAF) {
+            return insertIntoLeaf(p, index, rec);
+        }
+        int n = count(b);
+        int i = 0;
+        while (i < n - 1 && index > childSize(b, i)) {
+            index -= childSize(b, i);
+            i++;
+        }
+        Split split = insert(child(b, i), index, rec);
+        b = modify(p);
+        if (split == null) {
+            setEntry(b, i, child(b, i), childSize(b, i) + 1);
+            return null;
+        }
+        setEntry(b, i, child(b, i), split.leftSize());
+        if (n < MAX_CHILDREN) {
+            byte[] a = b.array();
+            int at = INTERNAL_DATA + (i + 1) * ENTRY;
+            System.arraycopy(a, at, a, at + ENTRY, (n - i - 1) * ENTRY);
+            setEntry(b, i + 1, split.page(), split.rightSize());
+            setCount(b, n + 1);
+            return null;
+        }
+
+        int[] children = new int[n + 1];
+        int[] sizes = new int[n + 1];
+        for (int k = 0, j = 0; k <= n; k++) {
+            if (k == i + 1) {
+                children[k] = split.page();
+                sizes[k] = split.rightSize();
+            } else {
+                children[k] = child(b, j);
+                sizes[k] = childSize(b, j);
+                j++;
+            }
+        }
+        int half = (n + 1) / 2;
+        int right = allocate(INTERNAL);
+        writeEntries(b, children, sizes, 0, half);
+        writeEntries(page(right), children, sizes, half, n + 1);
+        return new Split(right, sum(sizes, 0, half), sum(sizes, half, n + 1));
+    }
+
+    private Split insertIntoLeaf(int p, int local, byte[] rec) throws IOException {
+        ByteBuffer b = modify(p);
+        byte[] a = b.array();
+        int n = count(b);
+        int used = used(b);
+        int pos = offsetOf(b, local);
+        if (used + rec.length <= PAGE_SIZE) {
+            System.arraycopy(a, pos, a, pos + rec.length, used - pos);
+            System.arraycopy(rec, 0, a, pos, rec.length);
+            setCount(b, n + 1);
+            setUsed(b, used + rec.length);
+            return null;
+        }
+
+        int right = allocate(LEAF);
+        ByteBuffer r = page(right);
+        int next = b.getInt(NEXT);
+        r.putInt(PREV, p);
+        r.putInt(NEXT, next);
+        b.putInt(NEXT, right);
+        if (next != 0) {
+            modify(next).putInt(PREV, right);
+        }
+        if (local == n && next == 0) {
+            // Appending to the last leaf: start a new leaf so that a list built in order keeps its leaves full.
+            fill(r, List.of(rec), 0, 1);
+            return new Split(right, n, 1);
+        }
+
+        List<byte[]> recs = new ArrayList<>(n + 1);
+        for (int k = 0, q = LEAF_DATA; k <= n; k++) {
+            if (k == local) {
+                recs.add(rec);
+            }
+            if (k < n) {
+                int len = recordLength(b, q);
+                recs.add(Arrays.copyOfRange(a, q, q + len));
+                q += len;
+            }
+        }
+        int half = (used - LEAF_DATA + rec.length) / 2;
+        int cut = 0;
+        for (int acc = 0; cut < recs.size() - 1 && acc + recs.get(cut).length <= half; cut++) {
+            acc += recs.get(cut).length;
+        }
+        cut = Math.max(cut, 1);
+        fill(b, recs, 0, cut);
+        fill(r, recs, cut, recs.size());
+        return new Split(right, cut, recs.size() - cut);
+    }
+
+    /**
+     * Removes the task at position {@code index} of the subtree rooted at {@code p}.
+     *
+     * @return {@code true} if {@code p} became empty and was freed
+     */
+    private boolean delete(int p, int index) throws IOException {
+        ByteBuffer b = modify(p);
+        int n = count(b);
+        if (b.get(0) == LEAF) {
+            byte[] a = b.array();
+            int used = used(b);
+            int pos = offsetOf(b, index);
+            int len = recordLength(b, pos);
+            System.arraycopy(a, pos + len, a, pos, used - pos - len);
+            setCount(b, n - 1);
+            setUsed(b, used - len);
+            if (n > 1 || p == root) return false;
+            int prev = b.getInt(PREV);
+            int next = b.getInt(NEXT);
+            if (prev != 0) {
+                modify(prev).putInt(NEXT, next);
+            }
+            if (next != 0) {
+                modify(next).putInt(PREV, prev);
+            }
+            free(p);
+            return true;
+        }
+
+        int i = 0;
+        while (index >= childSize(b, i)) {
+            index -= childSize(b, i);
+            i++;
+        }
+        if (!delete(child(b, i), index)) {
+            setEntry(b, i, child(b, i), childSize(b, i) - 1);
+            return false;
+        }
+        byte[] a = b.array();
+        int at = INTERNAL_DATA + i * ENTRY;
+        System.arraycopy(a, at + ENTRY, a, at, (n - i - 1) * ENTRY);
+        setCount(b, n - 1);
+        if (n > 1 || p == root) return false;
+        free(p);
+        return true;
+    }
+
+    /**
+     * Finds the leaf holding position {@code index} and stores the position within it in {@link #localIndex}.
+     */
+    private int locate(int index) throws IOException {
+        int p = root;
+        ByteBuffer b = page(p);
+        while (b.get(0) == INTERNAL) {
+            int i = 0;
+            while (index >= childSize(b, i)) {
+                index -= childSize(b, i);
+                i++;
+            }
+            p = child(b, i);
+            b = page(p);
+        }
+        localIndex = index;
+        return p;
+    }
+
+    private void scan(int from, int to, Consumer<Task> sink) throws IOException {
+        if (from >= to) return;
+        int p = locate(from);
+        int local = localIndex;
+        for (int remaining = to - from; remaining > 0 && p != 0; local = 0) {
+            ByteBuffer b = page(p);
+            ByteBuffer view = b.duplicate();
+            view.position(offsetOf(b, local));
+            for (int k = local, n = count(b); k < n && remaining > 0; k++, remaining--) {
+                sink.accept(BinaryTaskCodec.decodeTask(view, recordVersion));
+            }
+            p = b.getInt(NEXT);
+        }
+    }
+
+    // ---------------------------------------------------------------- pages and transactions
+
+    private void ensureOpen() throws IOException {
+        if (channel != null) return;
+        recordVersion = BinaryTaskCodec.VERSION;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            recover();
+            if (channel.size() == 0) {
+                pageCount = 1;
+                committedPages = 0;
+                root = allocate(LEAF);
+                size = 0;
+                checkpoint = 0;
+                nextId = 0;
+                commit();
+            } else {
+                readHeader();
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        if (recordVersion != BinaryTaskCodec.VERSION) {
+            upgrade();
+        }
+    }
+
+    /**
+     * Rewrites an open file of an older version in the current one, keeping its tasks and header fields.
+     */
+    private void upgrade() throws IOException {
+        List<Task> tasks = new ArrayList<>(size);
+        scan(0, size, tasks::add);
+        if (!save(new SnapshotHeader(checkpoint, nextId), tasks)) {
+            throw new IOException("Cannot upgrade indexed task file: " + path);
+        }
+        ensureOpen();
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer h = ByteBuffer.allocate(PAGE_SIZE);
+        readFully(h, 0);
+        if (!Arrays.equals(Arrays.copyOf(h.array(), MAGIC.length), MAGIC)) {
+            throw new IOException("Not an indexed task file: " + path);
+        }
+        int version = h.get(MAGIC.length);
+        if (version != VERSION && version != VERSION_WITH_MINUTES) {
+            throw new IOException("Unsupported indexed task file version " + version + ": " + path);
+        }
+        recordVersion = version == VERSION ? BinaryTaskCodec.VERSION : BinaryTaskCodec.VERSION_WITH_MINUTES;
+        root = h.getInt(H_ROOT);
+        pageCount = h.getInt(H_PAGES);
+        committedPages = pageCount;
+        freeHead = h.getInt(H_FREE);
+        checkpoint = h.getLong(H_CHECKPOINT);
+        size = h.getInt(H_SIZE);
+        nextId = h.getInt(H_NEXT_ID);
+    }
+
+    private static ByteBuffer header(int root, int pages, int freeHead, SnapshotHeader meta, int size) {
+        ByteBuffer h = ByteBuffer.allocate(PAGE_SIZE);
+        h.put(MAGIC).put((byte) VERSION);
+        h.putInt(H_ROOT, root).putInt(H_PAGES, pages).putInt(H_FREE, freeHead);
+        h.putLong(H_CHECKPOINT, meta.checkpoint()).putInt(H_SIZE, size).putInt(H_NEXT_ID, meta.nextId());
+        return h;
+    }
+
+    /**
+     * Undoes a transaction interrupted by a crash, if its rollback file exists.
+     */
+    private void recover() throws IOException {
+        if (!Files.exists(rollbackPath)) return;
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(rollbackPath));
+        // The rollback file is moved into place only once complete, but check its end marker anyway.
+        if (in.limit() >= 2 * Integer.BYTES && in.getInt(in.limit() - Integer.BYTES) == ROLLBACK_END) {
+            int pages = in.getInt();
+            for (int p = in.getInt(); p != ROLLBACK_END; p = in.getInt()) {
+                writeFully(ByteBuffer.wrap(in.array(), in.position(), PAGE_SIZE), (long) p * PAGE_SIZE);
+                in.position(in.position() + PAGE_SIZE);
+            }
+            channel.truncate((long) pages * PAGE_SIZE);
+            channel.force(true);
+        }
+        Files.delete(rollbackPath);
+    }
+
+    private void commit() throws IOException {
+        dirty.put(0, header(root, pageCount, freeHead, new SnapshotHeader(checkpoint, nextId), size));
+        writeRollback();
+        for (Map.Entry<Integer, ByteBuffer> e : dirty.entrySet()) {
+            writeFully(e.getValue().duplicate().clear(), (long) e.getKey() * PAGE_SIZE);
+        }
+        channel.force(true);
+        Files.delete(rollbackPath);
+        committedPages = pageCount;
+        dirty.clear();
+    }
+
+    private void writeRollback() throws IOException {
+        Path tmp = Path.of(rollbackPath + ".tmp");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((dirty.size() + 1) * (PAGE_SIZE + Integer.BYTES));
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(committedPages);
+        ByteBuffer original = ByteBuffer.allocate(PAGE_SIZE);
+        for (int p : dirty.keySet()) {
+            if (p >= committedPages) continue; // did not exist before: dropped by the truncation
+            original.clear();
+            readFully(original, (long) p * PAGE_SIZE);
+            out.writeInt(p);
+            out.write(original.array());
+        }
+        out.writeInt(ROLLBACK_END);
+        Files.write(tmp, bytes.toByteArray());
+        FileParser.sync(tmp);
+        FileParser.moveAtomically(tmp, rollbackPath);
+    }
+
+    /**
+     * Forgets the changes of a failed transaction; the file itself was restored or never touched.
+     */
+    private void abort() {
+        close();
+        try {
+            ensureOpen();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private ByteBuffer page(int p) throws IOException {
+        ByteBuffer b = dirty.get(p);
+        if (b == null) {
+            b = internalCache.get(p);
+        }
+        if (b == null) {
+            b = ByteBuffer.allocate(PAGE_SIZE);
+            readFully(b, (long) p * PAGE_SIZE);
+            if (b.get(0) == INTERNAL) {
+                internalCache.put(p, b);
+            }
+        }
+        return b;
+    }
+
+    private ByteBuffer modify(int p) throws IOException {
+        ByteBuffer b = page(p);
+        dirty.put(p, b);
+        return b;
+    }
+
+    private int allocate(byte type) throws IOException {
+        int p;
+        if (freeHead != 0) {
+            p = freeHead;
+            freeHead = page(p).getInt(NEXT);
+        } else {
+            p = pageCount++;
+        }
+        ByteBuffer b = ByteBuffer.allocate(PAGE_SIZE);
+        b.put(0, type);
+        if (type == LEAF) {
+            setUsed(b, LEAF_DATA);
+        } else {
+            internalCache.put(p, b);
+        }
+        dirty.put(p, b);
+        return p;
+    }
+
+    private void free(int p) {
+        ByteBuffer b = ByteBuffer.allocate(PAGE_SIZE);
+        b.put(0, FREE);
+        b.putInt(NEXT, freeHead);
+        freeHead = p;
+        internalCache.remove(p);
+        dirty.put(p, b);
+    }
+
+    private void readFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                throw new EOFException("Truncated indexed task file: " + path);
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            position += channel.write(buf, position);
+        }
+    }
+
+    /**
+     * Writes a complete store with full leaves to {@code target}, without transactions.
+     */
+    private static void build(Path target, SnapshotHeader meta, int count, Iterator<byte[]> records) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            int nextPage = 1;
+            List<int[]> level = new ArrayList<>(); // (page, subtree size) of each node of the level being built
+            int leafPage = nextPage++;
+            ByteBuffer leaf = ByteBuffer.allocate(PAGE_SIZE);
+            leaf.put(0, LEAF);
+            setUsed(leaf, LEAF_DATA);
+            while (records.hasNext()) {
+                byte[] rec = records.next();
+                if (used(leaf) + rec.length > PAGE_SIZE) {
+                    int next = nextPage++;
+                    leaf.putInt(NEXT, next);
+                    writePage(out, leafPage, leaf);
+                    level.add(new int[] {leafPage, count(leaf)});
+                    leaf = ByteBuffer.allocate(PAGE_SIZE);
+                    leaf.put(0, LEAF);
+                    leaf.putInt(PREV, leafPage);
+                    setUsed(leaf, LEAF_DATA);
+                    leafPage = next;
+                }
+                int used = used(leaf);
+                leaf.put(used, rec);
+                setUsed(leaf, used + rec.length);
+                setCount(leaf, count(leaf) + 1);
+            }
+            writePage(out, leafPage, leaf);
+            level.add(new int[] {leafPage, count(leaf)});
+
+            while (level.size() > 1) {
+                List<int[]> parents = new ArrayList<>();
+                for (int from = 0; from < level.size(); from += MAX_CHILDREN) {
+                    int to = Math.min(from + MAX_CHILDREN, level.size());
+                    ByteBuffer node = ByteBuffer.allocate(PAGE_SIZE);
+                    node.put(0, INTERNAL);
+                    int total = 0;
+                    for (int k = from; k < to; k++) {
+                        setEntry(node, k - from, level.get(k)[0], level.get(k)[1]);
+                        total += level.get(k)[1];
+                    }
+                    setCount(node, to - from);
+                    int page = nextPage++;
+                    writePage(out, page, node);
+                    parents.add(new int[] {page, total});
+                }
+                level = parents;
+            }
+            writePage(out, 0, header(level.get(0)[0], nextPage, 0, meta, count));
+            out.force(true);
+        }
+    }
+
+    private static void writePage(FileChannel out, int page, ByteBuffer b) throws IOException {
+        ByteBuffer src = b.duplicate().clear();
+        long position = (long) page * PAGE_SIZE;
+        while (src.hasRemaining()) {
+            position += out.write(src, position);
+        }
+    }
+
+    // ---------------------------------------------------------------- page field accessors
+
+    private static byte[] encode(Task task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            BinaryTaskCodec.writeTask(new DataOutputStream(bytes), task);
+        } catch (IOException e) {
+            throw new IllegalStateException("in-memory encoding cannot fail", e);
+        }
+        if (bytes.size() > MAX_RECORD) {
+            throw new IllegalArgumentException("Task is too long to store (max " + MAX_RECORD + " bytes).");
+        }
+        return bytes.toByteArray();
+    }
+
+    private int recordLength(ByteBuffer b, int pos) {
+        int tag = b.get(pos) & 0xFF;
+        int p = pos + 2;
+        while ((b.get(p++) & 0x80) != 0) {
+            // skip the id
+        }
+        int len = 0;
+        int x;
+        int shift = 0;
+        do {
+            x = b.get(p++) & 0xFF;
+            len |= (x & 0x7F) << shift;
+            shift += 7;
+        } while ((x & 0x80) != 0);
+        return p - pos + len + BinaryTaskCodec.trailerBytes(b, p + len, tag, recordVersion);
+    }
+
+    private int offsetOf(ByteBuffer b, int local) {
+        int pos = LEAF_DATA;
+        for (int k = 0; k < local; k++) {
+            pos += recordLength(b, pos);
+        }
+        return pos;
+    }
+
+    private static void fill(ByteBuffer b, List<byte[]> recs, int from, int to) {
+        int pos = LEAF_DATA;
+        for (int k = from; k < to; k++) {
+            b.put(pos, recs.get(k));
+            pos += recs.get(k).length;
+        }
+        Arrays.fill(b.array(), pos, PAGE_SIZE, (byte) 0);
+        setCount(b, to - from);
+        setUsed(b, pos);
+    }
+
+    private static void writeEntries(ByteBuffer b, int[] children, int[] sizes, int from, int to) {
+        for (int k = from; k < to; k++) {
+            setEntry(b, k - from, children[k], sizes[k]);
+        }
+        setCount(b, to - from);
+    }
+
+    private static int sum(int[] values, int from, int to) {
+        int total = 0;
+        for (int k = from; k < to; k++) {
+            total += values[k];
+        }
+        return total;
+    }
+
+    private static int count(ByteBuffer b) {
+        return b.getShort(COUNT) & 0xFFFF;
+    }
+
+    private static void setCount(ByteBuffer b, int n) {
+        b.putShort(COUNT, (short) n);
+    }
+
+    private static int used(ByteBuffer b) {
+        return b.getShort(USED) & 0xFFFF;
+    }
+
+    private static void setUsed(ByteBuffer b, int used) {
+        b.putShort(USED, (short) used);
+    }
+
+    private static int child(ByteBuffer b, int i) {
+        return b.getInt(INTERNAL_DATA + i * ENTRY);
+    }
+
+    private static int childSize(ByteBuffer b, int i) {
+        return b.getInt(INTERNAL_DATA + i * ENTRY + Integer.BYTES);
+    }
+
+    private static void setEntry(ByteBuffer b, int i, int child, int size) {
+        b.putInt(INTERNAL_DATA + i * ENTRY, child);
+        b.putInt(INTERNAL_DATA + i * ENTRY + Integer.BYTES, size);
+    }
+}
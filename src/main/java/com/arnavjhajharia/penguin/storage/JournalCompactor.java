@@ -0,0 +1,149 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Folds a {@link TaskJournal} back into its snapshot on a background thread.
+ * <p>
+ * The caller captures the snapshot content and seals the journal segment (both cheap, in-memory steps),
+ * then hands the content to {@link #submit(String, Snapshot, TaskJournal)}. The background thread writes
+ * the snapshot to a temporary file, atomically swaps it in and discards the sealed segment, so the
+ * command loop never waits on the disk.
+ * <p>
+ * A compaction is due once the active segment reaches either the byte or the record threshold.
+ * At most one compaction runs at a time. A compaction whose write failed keeps its sealed segment, and its
+ * snapshot is kept for {@link #retry(String, TaskJournal)}.
+ *
+ * @since 1.1
+ */
+public final class JournalCompactor implements Closeable {
+
+    /**
+     * Snapshot content captured when the segment was sealed, in any {@link StorageFormat}.
+     */
+    @FunctionalInterface
+    public interface Snapshot {
+
+        /**
+         * Atomically replaces the file at {@code path} with this snapshot.
+         *
+         * @param path the snapshot file
+         * @return {@code true} if the file was replaced
+         */
+        boolean writeTo(String path);
+    }
+
+    /** Default segment size (bytes) that triggers a compaction. */
+    public static final long DEFAULT_MAX_BYTES = 1L << 20;
+
+    /** Default record count that triggers a compaction. */
+    public static final long DEFAULT_MAX_RECORDS = 10_000;
+
+    private final long maxBytes;
+    private final long maxRecords;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "JournalCompactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** The compaction currently running, if any. Only touched by the owning thread. */
+    private Future<?> inFlight;
+
+    /** Snapshot of the last compaction if writing it failed, kept for {@link #retry(String, TaskJournal)}. */
+    private volatile Snapshot failed;
+
+    /**
+     * Creates a compactor with the given thresholds.
+     *
+     * @param maxBytes   segment size in bytes at which a compaction becomes due
+     * @param maxRecords segment record count at which a compaction becomes due
+     */
+    public JournalCompactor(long maxBytes, long maxRecords) {
+        assert maxBytes > 0 && maxRecords > 0 : "compaction thresholds must be positive";
+        this.maxBytes = maxBytes;
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * Returns whether the journal has grown enough to be worth compacting and no compaction is running.
+     *
+     * @param journal the journal to inspect
+     * @return {@code true} if a new compaction should be started
+     */
+    public boolean isDue(TaskJournal journal) {
+        return isIdle() && (journal.size() >= maxBytes || journal.records() >= maxRecords);
+    }
+
+    /**
+     * Returns whether no compaction is running.
+     *
+     * @return {@code true} if idle
+     */
+    public boolean isIdle() {
+        return inFlight == null || inFlight.isDone();
+    }
+
+    /**
+     * Starts writing {@code snapshot} in the background. The snapshot must record the sealed generation
+     * as its checkpoint.
+     *
+     * @param snapshotPath path of the snapshot to replace
+     * @param snapshot     content captured at the moment the segment was sealed
+     * @param journal      journal whose sealed segment is dropped once the snapshot is in place
+     */
+    public void submit(String snapshotPath, Snapshot snapshot, TaskJournal journal) {
+        assert isIdle() : "only one compaction may run at a time";
+        inFlight = executor.submit(() -> {
+            if (snapshot.writeTo(snapshotPath)) {
+                failed = null;
+                journal.dropSealed();
+            } else {
+                failed = snapshot;
+            }
+        });
+    }
+
+    /**
+     * Starts writing the snapshot of the last compaction again if it failed, so that its sealed segment can
+     * still be dropped without capturing the list anew.
+     *
+     * @param snapshotPath path of the snapshot to replace
+     * @param journal      journal whose sealed segment is dropped once the snapshot is in place
+     * @return {@code true} if a retry was started; {@code false} if no failed compaction is known
+     */
+    public boolean retry(String snapshotPath, TaskJournal journal) {
+        Snapshot snapshot = failed;
+        if (snapshot == null) return false;
+        submit(snapshotPath, snapshot, journal);
+        return true;
+    }
+
+    /**
+     * Blocks until the running compaction, if any, has finished.
+     */
+    public void awaitIdle() {
+        if (inFlight == null) return;
+        try {
+            inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    /**
+     * Waits for the running compaction and stops the background thread.
+     */
+    @Override
+    public void close() {
+        awaitIdle();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,316 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import com.arnavjhajharia.penguin.model.task.Deadline;
+import com.arnavjhajharia.penguin.model.task.Event;
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+
+/**
+ * A list of tasks whose fields live outside the Java heap, in an arena of direct {@link ByteBuffer} chunks,
+ * for lists of tens of millions of tasks.
+ * <p>
+ * Each task is one record in the arena:
+ * <pre>
+ * tag:u8 ('T' | 'D' | 'E') | flags:u8 (bit 0 = done) | id:i32 | descLen:i32 | [D] epochDay:i32
+ *                                                                            | [E] start:i64 | end:i64 (epoch seconds)
+ * | desc:UTF-8
+ * </pre>
+ * The heap only holds the position table, one {@code long} per task, and the chunks themselves, so the
+ * garbage collector has a handful of objects to trace instead of several per task. {@link #get(int)} builds a
+ * short-lived task from its record; the other accessors of {@link CompactTaskList} read or update the record
+ * in place.
+ * <p>
+ * Records of removed or replaced tasks stay in their chunk until they make up more than half of the arena,
+ * when the live records are copied to fresh chunks in one pass. Chunks no longer used are freed with their
+ * buffers by the garbage collector.
+ * <p>
+ * Not thread-safe.
+ *
+ * @since 1.1
+ */
+public final class OffHeapTaskList extends AbstractList<Task> implements CompactTaskList, RandomAccess {
+
+    /** Default size of an arena chunk; records larger than a chunk get a chunk of their own. */
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 26;
+
+    private static final int FLAGS_OFFSET = 1;
+    private static final int ID_OFFSET = 2;
+    private static final int LENGTH_OFFSET = 6;
+    private static final int FIELDS_OFFSET = 10;
+    private static final int DONE_FLAG = 1;
+
+    private final int chunkBytes;
+
+    private List<ByteBuffer> chunks = new ArrayList<>();
+
+    /** Location of the record of each task: chunk index in the high half, offset in the low half. */
+    private long[] refs = new long[16];
+
+    private int size;
+
+    /** Bytes of all records in {@link #chunks}, live or not. */
+    private long usedBytes;
+
+    /** Bytes of records no task refers to any more. */
+    private long deadBytes;
+
+    /** Reused buffer for decoding descriptions. */
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Creates an empty list with chunks of {@link #DEFAULT_CHUNK_BYTES}.
+     */
+    public OffHeapTaskList() {
+        this(DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Creates an empty list with chunks of {@code chunkBytes}.
+     *
+     * @param chunkBytes size of each arena chunk
+     */
+    public OffHeapTaskList(int chunkBytes) {
+        assert chunkBytes >= 64 : "chunks must hold at least a small record";
+        this.chunkBytes = chunkBytes;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        long ref = refs[index];
+        ByteBuffer chunk = chunks.get(chunkOf(ref));
+        int p = offsetOf(ref);
+        int tag = chunk.get(p);
+        int id = chunk.getInt(p + ID_OFFSET);
+        int len = chunk.getInt(p + LENGTH_OFFSET);
+        int fields = p + FIELDS_OFFSET;
+        int trailer = fieldBytes(tag);
+        if (len > scratch.length) {
+            scratch = new byte[Math.max(len, scratch.length * 2)];
+        }
+        chunk.get(fields + trailer, scratch, 0, len);
+        String desc = new String(scratch, 0, len, StandardCharsets.UTF_8);
+
+        Task t = switch (tag) {
+            case 'D' -> Deadline.ofEpochDay(desc, id, chunk.getInt(fields));
+            case 'E' -> Event.ofEpochSeconds(desc, id, chunk.getLong(fields), chunk.getLong(fields + Long.BYTES));
+            default -> new Todo(desc, id);
+        };
+        if ((chunk.get(p + FLAGS_OFFSET) & DONE_FLAG) != 0) {
+            t.markDone();
+        }
+        return t;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Task task) {
+        assert task != null : "task must not be null";
+        long ref = write(task);
+        if (size == refs.length) {
+            refs = Arrays.copyOf(refs, size * 2);
+        }
+        refs[size++] = ref;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Replaces the task at {@code index} with a new record; the old one becomes dead.
+     */
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "task must not be null";
+        Task old = get(index);
+        deadBytes += recordBytes(refs[index]);
+        refs[index] = write(task);
+        compactIfDue();
+        return old;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        deadBytes += recordBytes(refs[index]);
+        System.arraycopy(refs, index + 1, refs, index, size - index - 1);
+        size--;
+        modCount++;
+        compactIfDue();
+        return removed;
+    }
+
+    @Override
+    public void removeAll(int[] ascending) {
+        if (ascending.length == 0) return;
+        Objects.checkIndex(ascending[0], size);
+        Objects.checkIndex(ascending[ascending.length - 1], size);
+        int w = ascending[0];
+        int k = 0;
+        for (int r = ascending[0]; r < size; r++) {
+            if (k < ascending.length && ascending[k] == r) {
+                deadBytes += recordBytes(refs[r]);
+                k++;
+                continue;
+            }
+            refs[w++] = refs[r];
+        }
+        assert k == ascending.length : "positions must be ascending and in range";
+        size = w;
+        modCount++;
+        compactIfDue();
+    }
+
+    @Override
+    public void clear() {
+        chunks = new ArrayList<>();
+        refs = new long[16];
+        size = 0;
+        usedBytes = 0;
+        deadBytes = 0;
+        modCount++;
+    }
+
+    @Override
+    public int idAt(int index) {
+        Objects.checkIndex(index, size);
+        long ref = refs[index];
+        return chunks.get(chunkOf(ref)).getInt(offsetOf(ref) + ID_OFFSET);
+    }
+
+    @Override
+    public boolean isDone(int index) {
+        Objects.checkIndex(index, size);
+        long ref = refs[index];
+        return (chunks.get(chunkOf(ref)).get(offsetOf(ref) + FLAGS_OFFSET) & DONE_FLAG) != 0;
+    }
+
+    /**
+     * Updates the done flag of the record in place.
+     */
+    @Override
+    public void setDone(int index, boolean done) {
+        Objects.checkIndex(index, size);
+        long ref = refs[index];
+        chunks.get(chunkOf(ref)).put(offsetOf(ref) + FLAGS_OFFSET, (byte) (done ? DONE_FLAG : 0));
+    }
+
+    @Override
+    public char typeAt(int index) {
+        Objects.checkIndex(index, size);
+        long ref = refs[index];
+        return (char) chunks.get(chunkOf(ref)).get(offsetOf(ref));
+    }
+
+    /**
+     * Returns the off-heap memory held by the arena, live records, dead records and free space alike.
+     *
+     * @return arena capacity in bytes
+     */
+    public long arenaBytes() {
+        long total = 0;
+        for (ByteBuffer chunk : chunks) {
+            total += chunk.capacity();
+        }
+        return total;
+    }
+
+    /**
+     * Appends the record of {@code task} to the arena.
+     *
+     * @return the record's location
+     */
+    private long write(Task task) {
+        byte[] desc = task.getName().getBytes(StandardCharsets.UTF_8);
+        char tag = task instanceof Deadline ? 'D' : task instanceof Event ? 'E' : 'T';
+        int length = FIELDS_OFFSET + fieldBytes(tag) + desc.length;
+        long ref = reserve(length);
+        ByteBuffer chunk = chunks.get(chunkOf(ref));
+        int p = offsetOf(ref);
+        chunk.put(p, (byte) tag);
+        chunk.put(p + FLAGS_OFFSET, (byte) (task.isDone() ? DONE_FLAG : 0));
+        chunk.putInt(p + ID_OFFSET, task.getId());
+        chunk.putInt(p + LENGTH_OFFSET, desc.length);
+        int fields = p + FIELDS_OFFSET;
+        if (task instanceof Deadline d) {
+            chunk.putInt(fields, d.getEpochDay());
+        } else if (task instanceof Event e) {
+            chunk.putLong(fields, e.getStartEpochSecond());
+            chunk.putLong(fields + Long.BYTES, e.getEndEpochSecond());
+        }
+        chunk.put(fields + fieldBytes(tag), desc);
+        return ref;
+    }
+
+    /**
+     * Claims {@code length} bytes at the end of the last chunk, or in a new chunk if they do not fit.
+     */
+    private long reserve(int length) {
+        ByteBuffer last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (last == null || last.remaining() < length) {
+            last = ByteBuffer.allocateDirect(Math.max(chunkBytes, length));
+            chunks.add(last);
+        }
+        int offset = last.position();
+        last.position(offset + length);
+        usedBytes += length;
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+
+    private int recordBytes(long ref) {
+        ByteBuffer chunk = chunks.get(chunkOf(ref));
+        int p = offsetOf(ref);
+        return FIELDS_OFFSET + fieldBytes(chunk.get(p)) + chunk.getInt(p + LENGTH_OFFSET);
+    }
+
+    /**
+     * Copies the live records to fresh chunks, in list order, once dead records make up more than half of
+     * the arena and at least a chunk.
+     */
+    private void compactIfDue() {
+        if (deadBytes <= usedBytes / 2 || deadBytes < chunkBytes) return;
+        List<ByteBuffer> old = chunks;
+        chunks = new ArrayList<>();
+        usedBytes = 0;
+        deadBytes = 0;
+        for (int i = 0; i < size; i++) {
+            ByteBuffer from = old.get(chunkOf(refs[i]));
+            int p = offsetOf(refs[i]);
+            int length = FIELDS_OFFSET + fieldBytes(from.get(p)) + from.getInt(p + LENGTH_OFFSET);
+            long ref = reserve(length);
+            chunks.get(chunkOf(ref)).put(offsetOf(ref), from, p, length);
+            refs[i] = ref;
+        }
+    }
+
+    /**
+     * Returns the size of the date fields of a record with the given tag.
+     */
+    private static int fieldBytes(int tag) {
+        return switch (tag) {
+            case 'D' -> Integer.BYTES;
+            case 'E' -> 2 * Long.BYTES;
+            default -> 0;
+        };
+    }
+
+    private static int chunkOf(long ref) {
+        return (int) (ref >>> 32);
+    }
+
+    private static int offsetOf(long ref) {
+        return (int) ref;
+    }
+}
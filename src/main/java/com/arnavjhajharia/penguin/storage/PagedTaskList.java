@@ -0,0 +1,534 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Deadline;
+import com.arnavjhajharia.penguin.model.task.Event;
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * A list of tasks backed by a binary snapshot (see {@link BinaryTaskCodec}) that keeps only a compact index
+ * on the heap and builds {@link Task} objects on demand.
+ * <p>
+ * The index holds, per record, its file offset, its id and one byte for its type and done flag (about 17 bytes
+ * per task including the position table). Records are read in pages of {@link #PAGE_SIZE} and kept in a bounded
+ * LRU cache, so sequential scans such as {@code list} and {@code find} read each page once while the heap
+ * holds at most the configured number of pages.
+ * <p>
+ * The done flag in the index is authoritative: {@link #setDone(int, boolean)} updates it so that a change
+ * survives the eviction of the page holding the task. Tasks added after opening stay on the heap and
+ * deleted records stay in the file until the next save, after which {@link #reload()} starts afresh.
+ * <p>
+ * Not thread-safe.
+ *
+ * @since 1.1
+ */
+public final class PagedTaskList extends AbstractList<Task> implements CompactTaskList, RandomAccess, Closeable {
+
+    /** Number of consecutive records read and cached together. */
+    public static final int PAGE_SIZE = 256;
+
+    /** Default number of pages kept in the cache. */
+    public static final int DEFAULT_CACHED_PAGES = 64;
+
+    /**
+     * Page cache counters.
+     *
+     * @param hits        page lookups served from the cache
+     * @param misses      page lookups that read the file
+     * @param evictions   pages dropped to stay within the cache bound
+     * @param cachedPages pages currently cached
+     */
+    public record Stats(long hits, long misses, long evictions, int cachedPages) {
+
+        /**
+         * Returns the fraction of page lookups served from the cache.
+         *
+         * @return the hit rate between {@code 0} and {@code 1}
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private static final int DONE_BIT = 1;
+
+    private final Path path;
+    private final int maxPages;
+
+    /** Opened lazily, so that {@link #close()} does not make the list unusable. */
+    private FileChannel channel;
+
+    private long checkpoint;
+
+    private int nextId;
+
+    /** Number of records in the file; slots at or above this refer to {@link #appended}. */
+    private int fileCount;
+
+    /** File offset of each record, plus the end of the last one. */
+    private long[] offsets;
+
+    /** Type tag index and done flag of each record; see {@link #meta(int, boolean)}. */
+    private byte[] meta;
+
+    /** Task id of each record. */
+    private int[] ids;
+
+    /** Slot of the task at each list position. */
+    private int[] order;
+
+    private int size;
+
+    private final List<Task> appended = new ArrayList<>();
+
+    private final Map<Integer, Task[]> pages;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private PagedTaskList(Path path, int maxPages) {
+        this.path = path;
+        this.maxPages = maxPages;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Task[]> eldest) {
+                if (size() <= PagedTaskList.this.maxPages) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Opens a paged view of the snapshot at {@code path}. A text snapshot, or a binary one of an older version,
+     * is first converted to the current binary format in place, streaming, so it is never held in memory as a
+     * whole. A missing file gives an empty list.
+     *
+     * @param path     the snapshot file
+     * @param maxPages number of pages the cache may hold
+     * @return the paged list
+     * @throws IOException if the file cannot be read or converted
+     */
+    public static PagedTaskList open(Path path, int maxPages) throws IOException {
+        assert maxPages > 0 : "cache must hold at least one page";
+        PagedTaskList list = new PagedTaskList(path, maxPages);
+        list.reload();
+        return list;
+    }
+
+    /**
+     * Discards the cache, the pending additions and deletions, and rebuilds the index from the file.
+     * Call after the file has been rewritten.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public void reload() throws IOException {
+        close();
+        pages.clear();
+        appended.clear();
+        modCount++;
+        if (Files.exists(path) && !BinaryTaskCodec.isBinary(path)) {
+            convertFromText(path);
+        } else if (Files.exists(path) && headerOf(path).version() != BinaryTaskCodec.VERSION) {
+            convertFromOldBinary(path);
+        }
+        if (!Files.exists(path)) {
+            checkpoint = 0;
+            nextId = 0;
+            fileCount = 0;
+            offsets = new long[] {BinaryTaskCodec.HEADER_BYTES};
+            meta = new byte[0];
+            ids = new int[0];
+            order = new int[16];
+            size = 0;
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            BinaryTaskCodec.Header header = BinaryTaskCodec.readHeader(in, path);
+            int n = header.count();
+            long[] newOffsets = new long[n + 1];
+            byte[] newMeta = new byte[n];
+            int[] newIds = new int[n];
+            long pos = BinaryTaskCodec.HEADER_BYTES;
+            for (int i = 0; i < n; i++) {
+                newOffsets[i] = pos;
+                int tag = in.readUnsignedByte();
+                boolean done = (in.readUnsignedByte() & BinaryTaskCodec.DONE_FLAG) != 0;
+                int id = BinaryTaskCodec.readVarInt(in);
+                int len = BinaryTaskCodec.readVarInt(in);
+                in.skipNBytes(len);
+                int trailer = BinaryTaskCodec.skipTrailer(in, tag);
+                if (trailer < 0) {
+                    throw new IOException("Unknown task tag " + tag + " in " + path);
+                }
+                newMeta[i] = meta(tag, done);
+                newIds[i] = id;
+                pos += 2 + BinaryTaskCodec.varIntSize(id) + BinaryTaskCodec.varIntSize(len) + len + trailer;
+            }
+            newOffsets[n] = pos;
+
+            checkpoint = header.checkpoint();
+            nextId = header.nextId();
+            fileCount = n;
+            offsets = newOffsets;
+            meta = newMeta;
+            ids = newIds;
+            order = new int[Math.max(16, n)];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            size = n;
+        }
+    }
+
+    /**
+     * Returns the checkpoint generation stored in the snapshot header.
+     *
+     * @return the checkpoint
+     */
+    public long checkpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Returns the next id stored in the snapshot header.
+     *
+     * @return the stored next id, or {@code 0} if none
+     */
+    public int nextId() {
+        return nextId;
+    }
+
+    /**
+     * Returns the id of the task at {@code index}, without reading it from the file.
+     *
+     * @param index zero-based list position
+     * @return the task id
+     */
+    @Override
+    public int idAt(int index) {
+        Objects.checkIndex(index, size);
+        int slot = order[index];
+        return slot >= fileCount ? appended.get(slot - fileCount).getId() : ids[slot];
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        int slot = order[index];
+        if (slot >= fileCount) {
+            return appended.get(slot - fileCount);
+        }
+        return page(slot / PAGE_SIZE)[slot % PAGE_SIZE];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Task task) {
+        assert task != null : "task must not be null";
+        appended.add(task);
+        if (size == order.length) {
+            order = Arrays.copyOf(order, size * 2);
+        }
+        order[size++] = fileCount + appended.size() - 1;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        System.arraycopy(order, index + 1, order, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at {@code ascending} in one pass over the index, instead of shifting it once per task.
+     *
+     * @param ascending zero-based list positions before the removal, in ascending order
+     */
+    @Override
+    public void removeAll(int[] ascending) {
+        if (ascending.length == 0) return;
+        Objects.checkIndex(ascending[0], size);
+        Objects.checkIndex(ascending[ascending.length - 1], size);
+        int w = ascending[0];
+        int k = 0;
+        for (int r = ascending[0]; r < size; r++) {
+            if (k < ascending.length && ascending[k] == r) {
+                k++;
+                continue;
+            }
+            order[w++] = order[r];
+        }
+        assert k == ascending.length : "positions must be ascending and in range";
+        size = w;
+        modCount++;
+    }
+
+    /**
+     * Records the done status of the task at {@code index} in the index, so it is kept when the page
+     * holding the task is evicted.
+     *
+     * @param index zero-based list position
+     * @param done  new completion status
+     */
+    @Override
+    public void setDone(int index, boolean done) {
+        Objects.checkIndex(index, size);
+        int slot = order[index];
+        Task cached;
+        if (slot >= fileCount) {
+            cached = appended.get(slot - fileCount);
+        } else {
+            meta[slot] = (byte) (done ? meta[slot] | DONE_BIT : meta[slot] & ~DONE_BIT);
+            Task[] page = pages.get(slot / PAGE_SIZE);
+            cached = page == null ? null : page[slot % PAGE_SIZE];
+        }
+        if (cached != null) {
+            if (done) {
+                cached.markDone();
+            } else {
+                cached.markUndone();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the task at {@code index} is done, without reading it from the file.
+     *
+     * @param index zero-based list position
+     * @return {@code true} if done
+     */
+    @Override
+    public boolean isDone(int index) {
+        Objects.checkIndex(index, size);
+        int slot = order[index];
+        if (slot >= fileCount) {
+            return appended.get(slot - fileCount).isDone();
+        }
+        return (meta[slot] & DONE_BIT) != 0;
+    }
+
+    /**
+     * Returns the storage tag ({@code 'T'}, {@code 'D'} or {@code 'E'}) of the task at {@code index},
+     * without reading it from the file.
+     *
+     * @param index zero-based list position
+     * @return the type tag
+     */
+    @Override
+    public char typeAt(int index) {
+        Objects.checkIndex(index, size);
+        int slot = order[index];
+        if (slot >= fileCount) {
+            Task t = appended.get(slot - fileCount);
+            return t instanceof Deadline ? 'D' : t instanceof Event ? 'E' : 'T';
+        }
+        return "TDE".charAt(meta[slot] >> 1);
+    }
+
+    /**
+     * Returns the page cache counters.
+     *
+     * @return a snapshot of the counters
+     */
+    public Stats stats() {
+        return new Stats(hits, misses, evictions, pages.size());
+    }
+
+    private Task[] page(int p) {
+        Task[] page = pages.get(p);
+        if (page != null) {
+            hits++;
+            return page;
+        }
+        misses++;
+        page = readPage(p);
+        pages.put(p, page);
+        return page;
+    }
+
+    private Task[] readPage(int p) {
+        int first = p * PAGE_SIZE;
+        int last = Math.min(first + PAGE_SIZE, fileCount);
+        long from = offsets[first];
+        ByteBuffer buf = ByteBuffer.allocate((int) (offsets[last] - from));
+        try {
+            FileChannel ch = channel();
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, from + buf.position()) < 0) {
+                    throw new EOFException("Snapshot shrank while paged: " + path);
+                }
+            }
+            buf.flip();
+            Task[] page = new Task[last - first];
+            for (int slot = first; slot < last; slot++) {
+                Task t = BinaryTaskCodec.decodeTask(buf);
+                if ((meta[slot] & DONE_BIT) != 0) {
+                    t.markDone();
+                } else {
+                    t.markUndone();
+                }
+                page[slot - first] = t;
+            }
+            return page;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        return channel;
+    }
+
+    private static byte meta(int tag, boolean done) {
+        int type = switch (tag) {
+            case 'D' -> 1;
+            case 'E' -> 2;
+            default -> 0;
+        };
+        return (byte) (type << 1 | (done ? DONE_BIT : 0));
+    }
+
+    private static BinaryTaskCodec.Header headerOf(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return BinaryTaskCodec.readHeader(in, path);
+        }
+    }
+
+    /**
+     * Rewrites a text snapshot as a binary one, streaming, keeping its header fields.
+     */
+    private static void convertFromText(Path path) throws IOException {
+        long[] checkpoint = {0};
+        int[] nextId = {0};
+        convert(path, sink -> FileParser.streamLines(path.toString(), line -> {
+            long header = TaskJournal.parseCheckpoint(line);
+            if (header >= 0) {
+                checkpoint[0] = header;
+                return true;
+            }
+            int next = TaskLineParser.parseNextId(line);
+            if (next >= 0) {
+                nextId[0] = next;
+                return true;
+            }
+            Task t = TaskLineParser.parse(line, sink.count);
+            return t == null || sink.test(t);
+        }), () -> new SnapshotHeader(checkpoint[0], nextId[0]));
+    }
+
+    /**
+     * Rewrites a binary snapshot of an older version in the current one, streaming.
+     */
+    private static void convertFromOldBinary(Path path) throws IOException {
+        SnapshotHeader[] header = {SnapshotHeader.NONE};
+        convert(path, sink -> {
+            header[0] = BinaryTaskCodec.read(path, 0, sink);
+            return true;
+        }, () -> header[0]);
+    }
+
+    /** Receives converted tasks and counts them. */
+    private abstract static class ConversionSink implements Predicate<Task> {
+        int count;
+    }
+
+    /** Produces every task of the old file into the sink. */
+    private interface ConversionSource {
+        boolean feed(ConversionSink sink) throws IOException;
+    }
+
+    /**
+     * Streams the tasks of {@code source} into a new binary snapshot that then replaces {@code path}.
+     * The header is written last, once {@code header} knows the fields found in the old file.
+     */
+    private static void convert(Path path, ConversionSource source,
+                                Supplier<SnapshotHeader> header) throws IOException {
+        Path tmp = Path.of(path + ".tmp");
+        IOException[] failure = {null};
+        int count;
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            BinaryTaskCodec.writeHeader(out, SnapshotHeader.NONE, 0);
+            ConversionSink sink = new ConversionSink() {
+                @Override
+                public boolean test(Task t) {
+                    try {
+                        BinaryTaskCodec.writeTask(out, t);
+                        count++;
+                        return true;
+                    } catch (IOException e) {
+                        failure[0] = e;
+                        return false;
+                    }
+                }
+            };
+            source.feed(sink);
+            count = sink.count;
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            SnapshotHeader fields = header.get();
+            ByteBuffer buf = ByteBuffer.allocate(Long.BYTES + 2 * Integer.BYTES);
+            buf.putLong(fields.checkpoint()).putInt(count).putInt(fields.nextId()).flip();
+            ch.write(buf, BinaryTaskCodec.COUNT_OFFSET - Long.BYTES);
+            ch.force(true);
+        }
+        FileParser.moveAtomically(tmp, path);
+    }
+
+    /**
+     * Closes the backing file. The list stays usable and reopens the file on the next page miss.
+     */
+    @Override
+    public void close() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        channel = null;
+    }
+}
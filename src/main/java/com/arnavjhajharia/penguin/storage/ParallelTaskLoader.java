@@ -0,0 +1,214 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * Loads large text snapshots by parsing newline-aligned chunks of the file in parallel on the
+ * common {@link ForkJoinPool}.
+ * <p>
+ * Loading runs in two parallel passes so that ids stay deterministic:
+ * <ol>
+ *   <li>Each chunk counts its task lines using the cheap {@link TaskLineParser#isTaskLine(CharSequence)} check.</li>
+ *   <li>A prefix sum over the counts gives every chunk its first id; each chunk is then fully parsed
+ *       (the expensive part, including date parsing) with ids assigned by position.</li>
+ * </ol>
+ * Chunks are parsed a wave of one chunk per core at a time, and each wave is handed to the caller in file order
+ * before the next is parsed, so the outcome is identical to a sequential load and no more than a wave of parsed
+ * tasks is held besides what the caller keeps. A caller storing tasks off the heap therefore never holds the
+ * whole file on it.
+ *
+ * @since 1.1
+ */
+public final class ParallelTaskLoader {
+
+    /** Files smaller than this are not worth splitting. */
+    private static final long PARALLEL_THRESHOLD = 4L << 20;
+
+    /** Lower bound on chunk size, so that small files are not over-split. */
+    private static final long MIN_CHUNK = 1L << 20;
+
+    /** Upper bound on chunk size, which bounds the parsed tasks of a wave. */
+    private static final long MAX_CHUNK = 8L << 20;
+
+    /**
+     * Outcome of a parallel load.
+     *
+     * @param tasks      parsed tasks in file order
+     * @param checkpoint checkpoint generation found in the snapshot, or {@code 0} if none
+     * @param nextId     next id found in the snapshot, or {@code 0} if none
+     */
+    public record Result(List<Task> tasks, long checkpoint, int nextId) {
+
+        /**
+         * Returns the snapshot header fields of this result.
+         *
+         * @return the checkpoint and next id
+         */
+        public SnapshotHeader header() {
+            return new SnapshotHeader(checkpoint, nextId);
+        }
+    }
+
+    private ParallelTaskLoader() { }
+
+    /**
+     * Returns whether a file of {@code size} bytes is worth loading in parallel: it must be large enough
+     * to amortise the extra counting pass, and there must be more than one core to spread it over.
+     *
+     * @param size file size in bytes
+     * @return {@code true} if {@link #load(String, int, int, Consumer)} is expected to beat a sequential load
+     */
+    public static boolean isWorthwhile(long size) {
+        return size >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Parses the text snapshot at {@code filePath} in parallel.
+     *
+     * @param filePath the text snapshot
+     * @param firstId  id assigned to the first task, if the lines carry none
+     * @param maxTasks maximum number of tasks to return
+     * @return the parsed tasks and the snapshot's header fields
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a line is malformed in a way the sequential loader rejects
+     */
+    public static Result load(String filePath, int firstId, int maxTasks) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        SnapshotHeader header = load(filePath, firstId, maxTasks, tasks::add);
+        return new Result(tasks, header.checkpoint(), header.nextId());
+    }
+
+    /**
+     * Parses the text snapshot at {@code filePath} in parallel, handing the tasks to {@code sink} in file
+     * order on the calling thread.
+     *
+     * @param filePath the text snapshot
+     * @param firstId  id assigned to the first task, if the lines carry none
+     * @param maxTasks maximum number of tasks to hand over
+     * @param sink     receives each parsed task
+     * @return the snapshot's header fields
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a line is malformed in a way the sequential loader rejects
+     */
+    public static SnapshotHeader load(String filePath, int firstId, int maxTasks, Consumer<Task> sink)
+            throws IOException {
+        Path path = Path.of(filePath);
+        long size = Files.size(path);
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long wanted = Math.max(parallelism * 4L, (size + MAX_CHUNK - 1) / MAX_CHUNK);
+        int chunks = (int) Math.max(1, Math.min(wanted, size / MIN_CHUNK));
+        long[] bounds = chunkBounds(path, size, chunks);
+
+        // Pass 1: count task lines per chunk and note any header lines.
+        int[] counts = new int[chunks];
+        long[] checkpoints = new long[chunks];
+        int[] nextIds = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[] count = {0};
+            long[] checkpoint = {-1};
+            int[] nextId = {-1};
+            FileParser.streamLines(path, bounds[c], bounds[c + 1], line -> {
+                long header = TaskJournal.parseCheckpoint(line);
+                int next = header < 0 ? TaskLineParser.parseNextId(line) : -1;
+                if (header >= 0) {
+                    checkpoint[0] = header;
+                } else if (next >= 0) {
+                    nextId[0] = next;
+                } else if (TaskLineParser.isTaskLine(line)) {
+                    count[0]++;
+                }
+                return true;
+            });
+            counts[c] = count[0];
+            checkpoints[c] = checkpoint[0];
+            nextIds[c] = nextId[0];
+        });
+
+        long[] base = new long[chunks + 1];
+        for (int c = 0; c < chunks; c++) {
+            base[c + 1] = base[c] + counts[c];
+        }
+
+        // Pass 2: parse a wave of chunks with ids derived from their positions, hand it over, then the next.
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Task>[] parts = new List[chunks];
+        for (int from = 0; from < chunks && base[from] < maxTasks; from += parallelism) {
+            int to = Math.min(chunks, from + parallelism);
+            IntStream.range(from, to).parallel().forEach(c -> {
+                long remaining = maxTasks - base[c];
+                if (remaining <= 0) {
+                    parts[c] = List.of();
+                    return;
+                }
+                List<Task> out = new ArrayList<>((int) Math.min(counts[c], remaining));
+                FileParser.streamLines(path, bounds[c], bounds[c + 1], line -> {
+                    if (out.size() >= remaining) return false;
+                    Task t = TaskLineParser.parse(line, (int) (firstId + base[c] + out.size()));
+                    if (t != null) {
+                        out.add(t);
+                    }
+                    return true;
+                });
+                parts[c] = out;
+            });
+            for (int c = from; c < to; c++) {
+                parts[c].forEach(sink);
+                parts[c] = null;
+            }
+        }
+
+        long checkpoint = 0;
+        int nextId = 0;
+        for (int c = 0; c < chunks; c++) {
+            if (checkpoints[c] >= 0) {
+                checkpoint = checkpoints[c];
+            }
+            if (nextIds[c] >= 0) {
+                nextId = nextIds[c];
+            }
+        }
+        return new SnapshotHeader(checkpoint, nextId);
+    }
+
+    /**
+     * Splits {@code [0, size)} into {@code chunks} ranges whose boundaries each fall just after a newline.
+     */
+    private static long[] chunkBounds(Path path, long size, int chunks) throws IOException {
+        long[] bounds = new long[chunks + 1];
+        bounds[chunks] = size;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer probe = ByteBuffer.allocate(8192);
+            for (int c = 1; c < chunks; c++) {
+                long nominal = Math.max(size / chunks * c, bounds[c - 1]);
+                bounds[c] = nextLineStart(ch, nominal, size, probe);
+            }
+        }
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel ch, long pos, long size, ByteBuffer probe) throws IOException {
+        while (pos < size) {
+            probe.clear();
+            int read = ch.read(probe, pos);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+        }
+        return size;
+    }
+}
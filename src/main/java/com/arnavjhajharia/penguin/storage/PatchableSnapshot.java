@@ -0,0 +1,220 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * A binary snapshot (see {@link BinaryTaskCodec}) kept open for in-place updates.
+ * <p>
+ * The file offset of every record is remembered, so a change of done status rewrites the single flags byte
+ * of that record and new tasks are appended at the end followed by an update of the count (and next id) in
+ * the header.
+ * Only structural changes such as deletions need {@link #rewrite(Task[], int)}, which replaces the file atomically.
+ * <p>
+ * Appended records are written before the count that covers them, so a crash in between leaves a valid
+ * snapshot without the new tasks: readers stop after {@code count} records and ignore trailing bytes.
+ * <p>
+ * Not thread-safe; {@link SnapshotFlusher} confines an instance to its background thread.
+ *
+ * @since 1.1
+ */
+public final class PatchableSnapshot implements Closeable {
+
+    private final Path path;
+
+    private FileChannel channel;
+
+    /** File offset of each record, in list order. */
+    private long[] offsets = new long[0];
+
+    private int count;
+
+    /** Next id stored in the header; never lower than one past the id of any task written. */
+    private int nextId;
+
+    /** Offset just past the last record. */
+    private long end;
+
+    /** Bytes written since the instance was opened, for diagnostics and tests. */
+    private long bytesWritten;
+
+    private final ByteBuffer one = ByteBuffer.allocate(1);
+
+    /** Count and next id, which are adjacent in the header. */
+    private final ByteBuffer countBuf = ByteBuffer.allocate(2 * Integer.BYTES);
+
+    /**
+     * Writes {@code tasks} as a fresh binary snapshot at {@code filePath} and keeps it open for updates.
+     *
+     * @param filePath destination file path, replaced atomically
+     * @param nextId   id the list will assign to its next task
+     * @param tasks    tasks in list order
+     * @return the opened snapshot
+     * @throws IOException if the file cannot be written
+     */
+    public static PatchableSnapshot create(String filePath, int nextId, List<Task> tasks) throws IOException {
+        PatchableSnapshot snapshot = new PatchableSnapshot(Path.of(filePath));
+        snapshot.rewrite(tasks.toArray(new Task[0]), nextId);
+        return snapshot;
+    }
+
+    private PatchableSnapshot(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Replaces the whole file with {@code tasks}, atomically.
+     *
+     * @param tasks  tasks in list order
+     * @param nextId id the list will assign to its next task; ids of tasks deleted before they reached the
+     *               file are only known to the list, so the header never goes below it
+     * @throws IOException if the file cannot be written
+     */
+    public void rewrite(Task[] tasks, int nextId) throws IOException {
+        closeChannel();
+        Path tmp = Path.of(path + ".tmp");
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        long[] newOffsets = new long[Math.max(16, tasks.length)];
+        long pos = BinaryTaskCodec.HEADER_BYTES;
+        ByteArrayOutputStream record = new ByteArrayOutputStream(64);
+        DataOutputStream recordOut = new DataOutputStream(record);
+        this.nextId = Math.max(this.nextId, nextId);
+        if (tasks.length > 0) {
+            this.nextId = Math.max(this.nextId, tasks[tasks.length - 1].getId() + 1);
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            BinaryTaskCodec.writeHeader(out, new SnapshotHeader(0, this.nextId), tasks.length);
+            for (int i = 0; i < tasks.length; i++) {
+                newOffsets[i] = pos;
+                record.reset();
+                BinaryTaskCodec.writeTask(recordOut, tasks[i]);
+                record.writeTo(out);
+                pos += record.size();
+            }
+        }
+        FileParser.sync(tmp);
+        FileParser.moveAtomically(tmp, path);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        offsets = newOffsets;
+        count = tasks.length;
+        end = pos;
+        bytesWritten += pos;
+    }
+
+    /**
+     * Appends {@code tasks} after the last record and updates the count in the header.
+     *
+     * @param tasks tasks to append, in list order
+     * @throws IOException if the file cannot be written
+     */
+    public void append(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) return;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tasks.size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (count + tasks.size() > offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(count + tasks.size(), offsets.length * 2));
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            offsets[count + i] = end + bytes.size();
+            BinaryTaskCodec.writeTask(out, tasks.get(i));
+            nextId = Math.max(nextId, tasks.get(i).getId() + 1);
+        }
+        byte[] data = bytes.toByteArray();
+        writeFully(ByteBuffer.wrap(data), end);
+        end += data.length;
+        count += tasks.size();
+        countBuf.clear();
+        assert BinaryTaskCodec.NEXT_ID_OFFSET == BinaryTaskCodec.COUNT_OFFSET + Integer.BYTES : "count and next id must be adjacent";
+        countBuf.putInt(count).putInt(nextId).flip();
+        writeFully(countBuf, BinaryTaskCodec.COUNT_OFFSET);
+    }
+
+    /**
+     * Rewrites the flags byte of the record at {@code idx}.
+     *
+     * @param idx  zero-based index of the task
+     * @param done new done status
+     * @throws IOException if the file cannot be written
+     */
+    public void patchDone(int idx, boolean done) throws IOException {
+        if (idx < 0 || idx >= count) return;
+        one.clear();
+        one.put((byte) (done ? BinaryTaskCodec.DONE_FLAG : 0)).flip();
+        writeFully(one, offsets[idx] + BinaryTaskCodec.FLAGS_OFFSET);
+    }
+
+    /**
+     * Forces the written bytes to the storage device.
+     *
+     * @throws IOException if the sync fails
+     */
+    public void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Returns the number of tasks in the file.
+     *
+     * @return the record count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of bytes written since the snapshot was opened.
+     *
+     * @return bytes written
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    private void writeFully(ByteBuffer buf, long position) throws IOException {
+        if (channel == null) {
+            throw new IOException("Snapshot is not open: " + path);
+        }
+        while (buf.hasRemaining()) {
+            int n = channel.write(buf, position);
+            position += n;
+            bytesWritten += n;
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Closes the underlying file.
+     */
+    @Override
+    public void close() {
+        try {
+            closeChannel();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * Tracks which tasks changed since the last flush and writes just those changes to a {@link PatchableSnapshot}
+ * on a background thread.
+ * <p>
+ * The owning thread records changes as they happen: done-status changes by index, appended tasks, and
+ * structural changes (such as deletions) as a copy of the whole list. Recording is cheap and never touches
+ * the disk. A burst of changes is debounced: the flush runs once no change has been recorded for the quiet
+ * period, but never later than the maximum delay after the first unflushed change.
+ * <p>
+ * A flush applies the pending whole-list copy (if any), then the appended tasks, then the done-status patches,
+ * so later changes always win. Marking one task of a large list therefore writes a single byte.
+ *
+ * @since 1.1
+ */
+public final class SnapshotFlusher implements Closeable {
+
+    /** Default quiet period before a flush, in milliseconds. */
+    public static final long DEFAULT_QUIET_MILLIS = 200;
+
+    /** Default upper bound on how long a change may stay unflushed, in milliseconds. */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 2_000;
+
+    private final PatchableSnapshot snapshot;
+    private final long quietNanos;
+    private final long maxDelayNanos;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "SnapshotFlusher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Pending changes, guarded by this.
+    private Task[] rewrite;
+    private int rewriteNextId;
+    private List<Task> appended = new ArrayList<>();
+    private Map<Integer, Boolean> doneChanges = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduled;
+    private long firstChangeNanos;
+
+    /**
+     * Creates a flusher for an open snapshot, which it takes ownership of.
+     *
+     * @param snapshot       the file to update
+     * @param quietMillis    time without changes after which a flush runs
+     * @param maxDelayMillis upper bound on how long a change may stay unflushed
+     */
+    public SnapshotFlusher(PatchableSnapshot snapshot, long quietMillis, long maxDelayMillis) {
+        assert snapshot != null : "snapshot must not be null";
+        assert quietMillis >= 0 && maxDelayMillis >= quietMillis : "invalid debounce window";
+        this.snapshot = snapshot;
+        this.quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    }
+
+    /**
+     * Records that {@code task} was appended to the end of the list.
+     *
+     * @param task the new task
+     */
+    public synchronized void recordAppend(Task task) {
+        appended.add(task);
+        schedule();
+    }
+
+    /**
+     * Records that the task at {@code idx} was marked done or undone.
+     *
+     * @param idx  zero-based index of the task
+     * @param done new completion status
+     */
+    public synchronized void recordDone(int idx, boolean done) {
+        doneChanges.put(idx, done);
+        schedule();
+    }
+
+    /**
+     * Records a structural change. The next flush rewrites the file from {@code tasks}, superseding every
+     * change recorded before.
+     *
+     * @param tasks  a copy of the whole list after the change
+     * @param nextId id the list will assign to its next task
+     */
+    public synchronized void recordRewrite(Task[] tasks, int nextId) {
+        rewrite = tasks;
+        rewriteNextId = nextId;
+        appended = new ArrayList<>();
+        doneChanges = new LinkedHashMap<>();
+        schedule();
+    }
+
+    /**
+     * Writes every pending change now and waits for it to reach the disk.
+     *
+     * @return {@code true} if the snapshot is up to date; {@code false} if writing failed
+     */
+    public boolean flush() {
+        synchronized (this) {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+        }
+        try {
+            return executor.submit(() -> applyPending(true)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the snapshot so far.
+     *
+     * @return bytes written
+     */
+    public long bytesWritten() {
+        try {
+            return executor.submit(snapshot::bytesWritten).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (ExecutionException e) {
+            return -1;
+        }
+    }
+
+    private void schedule() {
+        long now = System.nanoTime();
+        if (scheduled == null || scheduled.isDone()) {
+            firstChangeNanos = now;
+        } else {
+            scheduled.cancel(false);
+        }
+        long delay = Math.min(quietNanos, Math.max(0, firstChangeNanos + maxDelayNanos - now));
+        scheduled = executor.schedule(() -> applyPending(false), delay, TimeUnit.NANOSECONDS);
+    }
+
+    /** Runs on the background thread only. */
+    private boolean applyPending(boolean sync) {
+        Task[] all;
+        int allNextId;
+        List<Task> added;
+        Map<Integer, Boolean> marks;
+        synchronized (this) {
+            all = rewrite;
+            allNextId = rewriteNextId;
+            added = appended;
+            marks = doneChanges;
+            rewrite = null;
+            appended = new ArrayList<>();
+            doneChanges = new LinkedHashMap<>();
+        }
+        try {
+            if (all != null) {
+                snapshot.rewrite(all, allNextId);
+            }
+            snapshot.append(added);
+            for (Map.Entry<Integer, Boolean> change : marks.entrySet()) {
+                snapshot.patchDone(change.getKey(), change.getValue());
+            }
+            if (sync) {
+                snapshot.force();
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Flushes pending changes, stops the background thread and closes the snapshot.
+     */
+    @Override
+    public void close() {
+        flush();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshot.close();
+    }
+}
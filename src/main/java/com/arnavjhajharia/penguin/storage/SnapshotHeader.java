@@ -0,0 +1,15 @@
+package com.arnavjhajharia.penguin.storage;
+
+/**
+ * Metadata saved with a snapshot alongside its tasks.
+ *
+ * @param checkpoint newest journal generation contained in the snapshot ({@code 0} if none)
+ * @param nextId     id the list will assign to its next task, or {@code 0} if unknown; the ids of the
+ *                   stored tasks always count as well, so this only matters after the newest tasks were deleted
+ * @since 1.1
+ */
+public record SnapshotHeader(long checkpoint, int nextId) {
+
+    /** Header of a snapshot without a checkpoint or a recorded next id. */
+    public static final SnapshotHeader NONE = new SnapshotHeader(0, 0);
+}
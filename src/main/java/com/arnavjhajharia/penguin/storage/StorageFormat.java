@@ -0,0 +1,31 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * On-disk formats a task list snapshot can be written in.
+ * <p>
+ * Loading never needs to be told the format: {@link #detect(Path)} recognises it from the file header.
+ */
+public enum StorageFormat {
+    /** Human-readable pipe-delimited lines produced by {@code Task.toStorageLine()}. */
+    TEXT,
+    /** Compact binary records produced by {@link BinaryTaskCodec}. */
+    BINARY,
+    /** Paged B-tree file maintained by {@link IndexedTaskStore}, updated in place. */
+    INDEXED;
+
+    /**
+     * Detects the format of an existing file from its header.
+     *
+     * @param path the file to inspect
+     * @return the detected format, or {@code null} if the file does not exist
+     */
+    public static StorageFormat detect(Path path) {
+        if (!Files.isRegularFile(path)) return null;
+        if (BinaryTaskCodec.isBinary(path)) return BINARY;
+        if (IndexedTaskStore.isIndexed(path)) return INDEXED;
+        return TEXT;
+    }
+}
@@ -0,0 +1,126 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass tokenizer for pipe-delimited storage lines.
+ * <p>
+ * Splits a {@link CharSequence} on {@code '|'} and records the start and end offset of each field with
+ * surrounding whitespace removed, without creating any intermediate {@link String}s. It accepts exactly what
+ * {@code line.trim().split("\\s*\\|\\s*")} followed by a {@code trim()} of each part accepts: whitespace
+ * around pipes is ignored and trailing empty fields are dropped.
+ * <p>
+ * Instances are reusable but not thread-safe; the offset arrays grow once and are then recycled.
+ *
+ * @since 1.1
+ */
+public final class StorageLineTokenizer {
+
+    private CharSequence line;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int count;
+
+    /**
+     * Tokenizes {@code line}, replacing the result of any previous call.
+     *
+     * @param line the storage line
+     * @return the number of fields found
+     */
+    public int tokenize(CharSequence line) {
+        this.line = line;
+        count = 0;
+        int hi = line.length();
+        int fieldStart = 0;
+        for (int i = 0; i <= hi; i++) {
+            if (i == hi || line.charAt(i) == '|') {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+        // String.split drops trailing empty strings; an all-blank line therefore has no fields.
+        while (count > 0 && starts[count - 1] == ends[count - 1]) {
+            count--;
+        }
+        return count;
+    }
+
+    private void addField(int from, int to) {
+        while (from < to && line.charAt(from) <= ' ') from++;
+        while (to > from && line.charAt(to - 1) <= ' ') to--;
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = from;
+        ends[count] = to;
+        count++;
+    }
+
+    /**
+     * Returns the number of fields found by the last {@link #tokenize(CharSequence)}.
+     *
+     * @return the field count
+     */
+    public int fieldCount() {
+        return count;
+    }
+
+    /**
+     * Returns the offset of the first character of field {@code i}.
+     *
+     * @param i zero-based field index
+     * @return the start offset (inclusive)
+     */
+    public int start(int i) {
+        return starts[i];
+    }
+
+    /**
+     * Returns the offset just past the last character of field {@code i}.
+     *
+     * @param i zero-based field index
+     * @return the end offset (exclusive)
+     */
+    public int end(int i) {
+        return ends[i];
+    }
+
+    /**
+     * Returns the length of field {@code i}.
+     *
+     * @param i zero-based field index
+     * @return the field length
+     */
+    public int length(int i) {
+        return ends[i] - starts[i];
+    }
+
+    /**
+     * Returns whether field {@code i} equals {@code expected}, ignoring case.
+     *
+     * @param i        zero-based field index
+     * @param expected the text to compare against
+     * @return {@code true} if the field matches
+     */
+    public boolean fieldEqualsIgnoreCase(int i, String expected) {
+        int len = length(i);
+        if (len != expected.length()) return false;
+        for (int k = 0; k < len; k++) {
+            char a = line.charAt(starts[i] + k);
+            char b = expected.charAt(k);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Materialises field {@code i} as a {@link String}.
+     *
+     * @param i zero-based field index
+     * @return the field text
+     */
+    public String field(int i) {
+        return line.subSequence(starts[i], ends[i]).toString();
+    }
+}
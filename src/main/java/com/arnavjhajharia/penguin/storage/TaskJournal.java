@@ -0,0 +1,598 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+
+/**
+ * Append-only write-ahead journal of task list mutations.
+ * <p>
+ * Every mutation is written as one short line, so the cost of a write is
+ * proportional to the size of the record rather than the size of the list:
+ * <pre>
+ * G 4
+ * A T | 0 | read book
+ * M 3
+ * U 3
+ * X 0
+ * X 0-299,412
+ * </pre>
+ * {@code G} opens a segment and names its generation, {@code A} appends a task given as its storage line,
+ * {@code M}/{@code U} mark the task at a zero-based index as done/undone, and {@code X} deletes it. A bulk
+ * command writes a single {@code M}, {@code U} or {@code X} record naming all its indexes, ascending, with
+ * runs written as ranges; the indexes of an {@code X} record all refer to the list before the deletion.
+ * <p>
+ * Generations tie the journal to snapshots: a snapshot starting with {@code # checkpoint <g>} already
+ * contains every record of generation {@code g} and older, so only newer segments are replayed on top of it.
+ * This makes it safe to crash at any point between writing a snapshot and discarding the journal.
+ * The active segment lives at {@code <snapshot>.log}; {@link #rotate()} seals it to {@code <snapshot>.log.old}
+ * while a compaction writes the next snapshot.
+ * <p>
+ * A trailing record without a terminating newline is treated as a torn write and ignored.
+ * <p>
+ * By default a record is handed to the operating system before the append returns, which survives a crash
+ * of the program but not of the machine. {@link #enableGroupCommit()} additionally forces records to the
+ * storage device, the appends made during one {@code fsync} sharing the next; {@link #awaitDurable()} waits for the latest batch.
+ *
+ * @since 1.1
+ */
+public final class TaskJournal implements Closeable {
+
+    /** Prefix of the generation record that starts every segment. */
+    private static final String GENERATION_PREFIX = "G ";
+
+    /** Prefix of the checkpoint header written as the first line of a snapshot. */
+    private static final String CHECKPOINT_PREFIX = "# checkpoint ";
+
+    /**
+     * Receives the records of a journal during replay, in the order they were written.
+     */
+    public interface Replayer {
+
+        /**
+         * Called for an {@code A} record.
+         *
+         * @param storageLine the storage line of the added task
+         */
+        void onAdd(String storageLine);
+
+        /**
+         * Called for an {@code M} or {@code U} record.
+         *
+         * @param idx  zero-based index of the task
+         * @param done {@code true} for {@code M}, {@code false} for {@code U}
+         */
+        void onMark(int idx, boolean done);
+
+        /**
+         * Called for an {@code X} record.
+         *
+         * @param idx zero-based index of the removed task
+         */
+        void onDelete(int idx);
+
+        /**
+         * Called for an {@code X} record naming several tasks. By default deletes them one by one from the
+         * highest index down, so that each index is still valid when it is deleted.
+         *
+         * @param ascending zero-based indexes of the removed tasks, before the deletion, in ascending order
+         */
+        default void onDeleteAll(int[] ascending) {
+            for (int i = ascending.length - 1; i >= 0; i--) {
+                onDelete(ascending[i]);
+            }
+        }
+    }
+
+    /** Location of the active segment. */
+    private final Path path;
+
+    /** Location of the segment sealed by {@link #rotate()} until its compaction completes. */
+    private final Path sealedPath;
+
+    /** Generation of the active segment. */
+    private long generation;
+
+    /** Records appended to the active segment since it was opened. */
+    private long records;
+
+    /** Approximate size of the active segment in bytes. */
+    private long bytes;
+
+    /** Channel of the active segment; {@code null} once closed. Swapped only under this object's lock. */
+    private FileChannel channel;
+
+    /** Writer on top of {@link #channel}; {@code null} once closed. */
+    private BufferedWriter out;
+
+    /** Batches syncs of the active segment, or {@code null} when group commit is disabled. */
+    private GroupCommitter committer;
+
+    /**
+     * Completes once the most recent append is durable. Written by appends under the owner's lock, read by
+     * {@link #awaitDurable()} without it.
+     */
+    private volatile CompletableFuture<Void> lastCommit = CompletableFuture.completedFuture(null);
+
+    /**
+     * Opens the journal next to the given snapshot for appending.
+     * <p>
+     * If the existing active segment is newer than {@code checkpoint}, its records have already been replayed
+     * and new records are appended to it. Otherwise a fresh segment is started with a generation newer than
+     * anything on disk. A sealed segment that the snapshot already covers is discarded.
+     *
+     * @param snapshotPath path of the snapshot file the journal belongs to
+     * @param checkpoint   checkpoint generation read from the snapshot ({@code 0} if none)
+     * @throws IOException if the file cannot be opened
+     */
+    public TaskJournal(String snapshotPath, long checkpoint) throws IOException {
+        assert snapshotPath != null : "snapshot path must not be null";
+        this.path = pathFor(snapshotPath);
+        this.sealedPath = sealedPathFor(snapshotPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        long sealedGen = readGeneration(sealedPath);
+        if (sealedGen >= 0 && sealedGen <= checkpoint) {
+            Files.deleteIfExists(sealedPath);
+        }
+
+        long activeGen = readGeneration(path);
+        if (activeGen > checkpoint) {
+            this.generation = activeGen;
+            this.bytes = Files.size(path);
+            openWriter(StandardOpenOption.APPEND);
+        } else {
+            start(Math.max(checkpoint, Math.max(sealedGen, activeGen)) + 1);
+        }
+    }
+
+    /**
+     * Returns the conventional journal location for a snapshot file, i.e. {@code <snapshot>.log}.
+     *
+     * @param snapshotPath path of the snapshot file
+     * @return the journal path next to the snapshot
+     */
+    public static Path pathFor(String snapshotPath) {
+        return Path.of(snapshotPath + ".log");
+    }
+
+    private static Path sealedPathFor(String snapshotPath) {
+        return Path.of(snapshotPath + ".log.old");
+    }
+
+    /**
+     * Returns the header line that marks a snapshot as containing every record up to {@code generation}.
+     *
+     * @param generation the newest generation included in the snapshot
+     * @return the header line
+     */
+    public static String checkpointHeader(long generation) {
+        return CHECKPOINT_PREFIX + generation;
+    }
+
+    /**
+     * Parses a snapshot line written by {@link #checkpointHeader(long)}.
+     *
+     * @param line a line of the snapshot
+     * @return the checkpoint generation, or {@code -1} if the line is not a checkpoint header
+     */
+    public static long parseCheckpoint(String line) {
+        if (line == null || !line.startsWith(CHECKPOINT_PREFIX)) return -1;
+        try {
+            return Long.parseLong(line.substring(CHECKPOINT_PREFIX.length()).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Records that a task was appended.
+     *
+     * @param storageLine the task's {@code toStorageLine()} representation
+     * @return {@code true} if the record was written
+     */
+    public boolean appendAdd(String storageLine) {
+        return write("A " + storageLine);
+    }
+
+    /**
+     * Records that the task at {@code idx} was marked done or undone.
+     *
+     * @param idx  zero-based index of the task
+     * @param done new completion status
+     * @return {@code true} if the record was written
+     */
+    public boolean appendMark(int idx, boolean done) {
+        return write((done ? "M " : "U ") + idx);
+    }
+
+    /**
+     * Records that the task at {@code idx} was removed.
+     *
+     * @param idx zero-based index of the removed task
+     * @return {@code true} if the record was written
+     */
+    public boolean appendDelete(int idx) {
+        return write("X " + idx);
+    }
+
+    /**
+     * Records that the tasks at {@code ascending} were marked done or undone by one command.
+     *
+     * @param ascending zero-based indexes of the tasks, in ascending order
+     * @param done      new completion status
+     * @return {@code true} if the record was written
+     */
+    public boolean appendMarkAll(int[] ascending, boolean done) {
+        return write((done ? "M " : "U ") + formatIndexes(ascending));
+    }
+
+    /**
+     * Records that the tasks at {@code ascending} were removed by one command.
+     *
+     * @param ascending zero-based indexes of the removed tasks before the removal, in ascending order
+     * @return {@code true} if the record was written
+     */
+    public boolean appendDeleteAll(int[] ascending) {
+        return write("X " + formatIndexes(ascending));
+    }
+
+    /**
+     * Turns on group commit: every append is also forced to the storage device. An append made while no
+     * {@code fsync} is running is forced at once; the appends made while one is running share the next.
+     */
+    public void enableGroupCommit() {
+        if (committer != null) return;
+        committer = new GroupCommitter(this::sync);
+    }
+
+    /**
+     * Waits until every record appended so far is on the storage device. Returns immediately if group
+     * commit is disabled.
+     *
+     * @return {@code true} if the records are durable; {@code false} if forcing them failed
+     */
+    public boolean awaitDurable() {
+        try {
+            lastCommit.join();
+            return true;
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of {@code fsync} batches issued by group commit so far.
+     *
+     * @return the batch count, or {@code 0} if group commit is disabled
+     */
+    public long commitBatches() {
+        return committer == null ? 0 : committer.batches();
+    }
+
+    /**
+     * Returns the generation of the active segment.
+     *
+     * @return the active generation
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Returns the number of records in the active segment.
+     *
+     * @return the record count
+     */
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Returns the approximate size of the active segment in bytes.
+     *
+     * @return the segment size
+     */
+    public long size() {
+        return bytes;
+    }
+
+    /**
+     * Seals the active segment so that it can be folded into a snapshot in the background, and starts
+     * a new segment with the next generation. Only one segment can be sealed at a time.
+     *
+     * @return the generation that was sealed, or {@code -1} if a sealed segment is still pending or the
+     *         rotation failed
+     */
+    public long rotate() {
+        if (hasSealed()) return -1;
+        long sealed = generation;
+        try {
+            closeWriter();
+            FileParser.moveAtomically(path, sealedPath);
+            start(sealed + 1);
+            return sealed;
+        } catch (IOException e) {
+            e.printStackTrace();
+            reopenQuietly();
+            return -1;
+        }
+    }
+
+    /**
+     * Returns whether a segment sealed by {@link #rotate()} is still waiting for its compaction: one is
+     * running, one failed, or the program stopped before it finished.
+     *
+     * @return {@code true} if a sealed segment exists
+     */
+    public boolean hasSealed() {
+        return Files.exists(sealedPath);
+    }
+
+    /**
+     * Discards the sealed segment once a snapshot containing it has been swapped in.
+     * Safe to call from a background thread.
+     */
+    public void dropSealed() {
+        try {
+            Files.deleteIfExists(sealedPath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Discards every segment and starts again at {@code nextGeneration}. Called once a snapshot
+     * containing every journaled mutation has been written.
+     *
+     * @param nextGeneration generation of the new active segment
+     * @return {@code true} if the journal was reset
+     */
+    public boolean reset(long nextGeneration) {
+        try {
+            closeWriter();
+            Files.deleteIfExists(sealedPath);
+            start(nextGeneration);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Replays every segment next to {@code snapshotPath} that is newer than {@code checkpoint},
+     * oldest first.
+     *
+     * @param snapshotPath path of the snapshot file
+     * @param checkpoint   checkpoint generation read from the snapshot ({@code 0} if none)
+     * @param replayer     receiver for the decoded records
+     * @return the newest generation now reflected in memory (at least {@code checkpoint})
+     */
+    public static long replayAll(String snapshotPath, long checkpoint, Replayer replayer) {
+        long applied = checkpoint;
+        for (Path segment : List.of(sealedPathFor(snapshotPath), pathFor(snapshotPath))) {
+            long gen = readGeneration(segment);
+            if (gen > checkpoint) {
+                replay(segment, replayer);
+                applied = Math.max(applied, gen);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Replays every complete record of the single segment at {@code path} into {@code replayer}.
+     * Missing files are treated as empty journals; malformed records are skipped.
+     *
+     * @param path     location of the segment
+     * @param replayer receiver for the decoded records
+     * @return the number of records replayed
+     */
+    public static int replay(Path path, Replayer replayer) {
+        if (!Files.exists(path)) return 0;
+        String content;
+        try {
+            content = Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 0;
+        }
+
+        int replayed = 0;
+        int start = 0;
+        int end;
+        // Only newline-terminated records are complete; anything after the last '\n' is a torn write.
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            if (apply(content.substring(start, end), replayer)) replayed++;
+            start = end + 1;
+        }
+        return replayed;
+    }
+
+    /**
+     * Reads the generation of the segment at {@code path}.
+     *
+     * @return the generation, {@code 1} for a segment without a generation record, or {@code -1} if missing
+     */
+    private static long readGeneration(Path path) {
+        if (!Files.exists(path)) return -1;
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String first = in.readLine();
+            if (first != null && first.startsWith(GENERATION_PREFIX)) {
+                return Long.parseLong(first.substring(GENERATION_PREFIX.length()).trim());
+            }
+            return 1;
+        } catch (IOException | NumberFormatException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    private static boolean apply(String record, Replayer replayer) {
+        if (record.length() < 3 || record.charAt(1) != ' ') return false;
+        String payload = record.substring(2);
+        try {
+            switch (record.charAt(0)) {
+                case 'A' -> replayer.onAdd(payload);
+                case 'M', 'U' -> {
+                    for (int idx : parseIndexes(payload)) {
+                        replayer.onMark(idx, record.charAt(0) == 'M');
+                    }
+                }
+                case 'X' -> {
+                    int[] indexes = parseIndexes(payload);
+                    if (indexes.length == 1) {
+                        replayer.onDelete(indexes[0]);
+                    } else {
+                        replayer.onDeleteAll(indexes);
+                    }
+                }
+                default -> {
+                    return false; // includes the G record
+                }
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /** Writes ascending indexes as {@code 0-299,412}: runs of consecutive indexes become ranges. */
+    static String formatIndexes(int[] ascending) {
+        assert ascending.length > 0 : "at least one index";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ascending.length; ) {
+            int j = i;
+            while (j + 1 < ascending.length && ascending[j + 1] == ascending[j] + 1) {
+                j++;
+            }
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(ascending[i]);
+            if (j > i) {
+                sb.append('-').append(ascending[j]);
+            }
+            i = j + 1;
+        }
+        return sb.toString();
+    }
+
+    /** Reads the indexes written by {@link #formatIndexes(int[])}, or a single plain index. */
+    static int[] parseIndexes(String payload) {
+        String[] items = payload.trim().split(",");
+        int count = 0;
+        int[][] runs = new int[items.length][];
+        for (int i = 0; i < items.length; i++) {
+            int dash = items[i].indexOf('-', 1);
+            int from = Integer.parseInt(dash < 0 ? items[i] : items[i].substring(0, dash));
+            int to = dash < 0 ? from : Integer.parseInt(items[i].substring(dash + 1));
+            if (to < from) throw new NumberFormatException("Descending range " + items[i]);
+            runs[i] = new int[] {from, to};
+            count += to - from + 1;
+        }
+        int[] out = new int[count];
+        int k = 0;
+        for (int[] run : runs) {
+            for (int idx = run[0]; idx <= run[1]; idx++) {
+                out[k++] = idx;
+            }
+        }
+        return out;
+    }
+
+    private boolean write(String record) {
+        if (out == null) return false;
+        try {
+            out.write(record);
+            out.write('\n');
+            out.flush(); // hand the record to the OS before the command returns
+            records++;
+            bytes += record.length() + 1;
+            if (committer != null) {
+                lastCommit = committer.submit();
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private void start(long gen) throws IOException {
+        openWriter(StandardOpenOption.TRUNCATE_EXISTING);
+        generation = gen;
+        records = 0;
+        bytes = 0;
+        out.write(GENERATION_PREFIX + gen);
+        out.write('\n');
+        out.flush();
+    }
+
+    private void reopenQuietly() {
+        try {
+            if (out == null) {
+                openWriter(StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized void openWriter(StandardOpenOption mode) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+        out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Forces the active segment to the storage device. Called by the {@link GroupCommitter} thread.
+     */
+    private synchronized void sync() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    private synchronized void closeWriter() throws IOException {
+        if (out != null) {
+            out.flush();
+            if (committer != null) {
+                channel.force(false); // commits still waiting for this segment are covered here
+            }
+            out.close();
+            out = null;
+            channel = null;
+        }
+    }
+
+    /**
+     * Commits outstanding appends and closes the underlying file. Further appends are ignored.
+     */
+    @Override
+    public void close() {
+        if (committer != null) {
+            committer.close();
+        }
+        try {
+            closeWriter();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
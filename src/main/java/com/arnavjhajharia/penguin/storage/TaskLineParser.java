@@ -0,0 +1,222 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.arnavjhajharia.penguin.model.task.Deadline;
+import com.arnavjhajharia.penguin.model.task.Event;
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+
+/**
+ * Parses the pipe-delimited text storage format produced by {@link Task#toStorageLine()}.
+ * <p>
+ * Shared by the sequential loader in {@code TaskList}, journal replay and {@link ParallelTaskLoader},
+ * so every load path accepts exactly the same lines.
+ *
+ * @since 1.1
+ */
+public final class TaskLineParser {
+
+    /** Per-thread tokenizer, so that parsing allocates nothing but the task and its description. */
+    private static final ThreadLocal<StorageLineTokenizer> TOKENIZER =
+            ThreadLocal.withInitial(StorageLineTokenizer::new);
+
+    /** Prefix of the optional header line holding the next id to assign; see {@link #nextIdHeader(int)}. */
+    private static final String NEXT_ID_PREFIX = "# next-id ";
+
+    private TaskLineParser() { }
+
+    /**
+     * Parses a single line into a concrete {@link Task}. The following storage formats are supported:
+     * <pre>
+     * T | 1 | read book | #3
+     * D | 0 | return book | June 6th
+     * E | 0 | project meeting | 2025-08-06T14:00 | 2025-08-06T16:00 | #12
+     * E | 1 | standup | 2025-08-07T10:00 | 2025-08-07T11:00
+     * </pre>
+     * Notes:
+     * <ul>
+     *   <li>A trailing {@code #<id>} field, after all fields of the type, is the task id. Lines written before
+     *       ids were stored have none and receive {@code fallbackId}.</li>
+     *   <li>Pipes may be surrounded by arbitrary whitespace.</li>
+     *   <li>The "done" flag accepts {@code 1} / {@code 0} (and {@code true}/{@code false} for marking done).</li>
+     *   <li>Event timestamps are expected as ISO-like strings ({@code yyyy-MM-dd'T'HH:mm}).</li>
+     * </ul>
+     * Fields are located by a {@link StorageLineTokenizer} rather than a regex split, and well-formed ISO dates
+     * are parsed in place, so the only {@link String} created is the description. Anything unusual falls back
+     * to the {@link Deadline}/{@link Event} string constructors, which keep their original error messages.
+     *
+     * @param line       the raw line from storage
+     * @param fallbackId the id to assign if the line does not carry one
+     * @return a {@link Task} instance if parsing succeeds; {@code null} if the line is ignorable/invalid for non-Event types
+     * @throws IllegalArgumentException if an Event line does not contain both start and end (minimum 5 parts)
+     */
+    public static Task parse(CharSequence line, int fallbackId) {
+        assert fallbackId >= 0 : "fallbackId must be non-negative";
+        if (line == null) return null;
+
+        StorageLineTokenizer fields = TOKENIZER.get();
+        // Expect at least: type | done | desc
+        if (fields.tokenize(line) < 3) return null;
+        char type = typeOf(fields, line);
+        if (type == 0) return null;
+
+        int fieldsWithoutId = type == 'T' ? 3 : type == 'D' ? 4 : 5;
+        int storedId = fields.fieldCount() > fieldsWithoutId ? parseId(fields, line, fieldsWithoutId) : -1;
+        int id = storedId >= 0 ? storedId : fallbackId;
+
+        String desc = fields.field(2);
+        Task t = switch (type) {
+            case 'T' -> new Todo(desc, id);
+            case 'D' -> {
+                if (fields.fieldCount() < 4) {
+                    yield new Deadline(desc, id, "");
+                }
+                LocalDate date = parseIsoDate(line, fields.start(3), fields.end(3));
+                yield date != null
+                        ? new Deadline(desc, id, date)
+                        : new Deadline(desc, id, fields.field(3)); // slow path reports the error
+            }
+            default -> {
+                if (fields.fieldCount() < 5) {
+                    throw new IllegalArgumentException(
+                            "Invalid Event line. Expected: E | <0/1> | <desc> | yyyy-MM-dd'T'HH:mm | yyyy-MM-dd'T'HH:mm"
+                    );
+                }
+                LocalDateTime start = parseIsoDateTime(line, fields.start(3), fields.end(3));
+                LocalDateTime end = parseIsoDateTime(line, fields.start(4), fields.end(4));
+                yield start != null && end != null
+                        ? new Event(desc, id, start, end)
+                        : new Event(desc, id, fields.field(3), fields.field(4));
+            }
+        };
+
+        if (fields.fieldEqualsIgnoreCase(1, "1") || fields.fieldEqualsIgnoreCase(1, "true")) {
+            t.markDone();
+        }
+        return t;
+    }
+
+    /**
+     * Returns the snapshot header line recording the next id the list will assign. Only needed when the
+     * newest tasks were deleted, since otherwise the ids in the file already imply it.
+     *
+     * @param nextId the next id
+     * @return the header line
+     */
+    public static String nextIdHeader(int nextId) {
+        return NEXT_ID_PREFIX + nextId;
+    }
+
+    /**
+     * Parses a snapshot line written by {@link #nextIdHeader(int)}.
+     *
+     * @param line the raw line
+     * @return the next id, or {@code -1} if the line is not a next-id header
+     */
+    public static int parseNextId(CharSequence line) {
+        if (line == null || line.length() <= NEXT_ID_PREFIX.length()
+                || !NEXT_ID_PREFIX.contentEquals(line.subSequence(0, NEXT_ID_PREFIX.length()))) {
+            return -1;
+        }
+        return number(line, NEXT_ID_PREFIX.length(), line.length());
+    }
+
+    /**
+     * Cheaply predicts whether {@link #parse(CharSequence, int)} would produce a task for {@code line},
+     * without parsing any dates. Lines for which this returns {@code true} either parse to a task or make
+     * {@link #parse(CharSequence, int)} throw.
+     *
+     * @param line the raw line from storage
+     * @return {@code true} if the line is a task record
+     */
+    public static boolean isTaskLine(CharSequence line) {
+        if (line == null) return false;
+        StorageLineTokenizer fields = TOKENIZER.get();
+        return fields.tokenize(line) >= 3 && typeOf(fields, line) != 0;
+    }
+
+    /**
+     * Returns the upper-case type tag of the tokenized line, or {@code 0} if it is not T, D or E.
+     */
+    private static char typeOf(StorageLineTokenizer fields, CharSequence line) {
+        if (fields.length(0) != 1) return 0;
+        char type = Character.toUpperCase(line.charAt(fields.start(0)));
+        return type == 'T' || type == 'D' || type == 'E' ? type : 0;
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd} in place. Returns {@code null} for anything else (including invalid dates),
+     * leaving the caller to fall back to the {@link String}-based path and its error messages.
+     */
+    private static LocalDate parseIsoDate(CharSequence s, int from, int to) {
+        if (to - from != 10 || s.charAt(from + 4) != '-' || s.charAt(from + 7) != '-') return null;
+        int year = digits(s, from, 4);
+        int month = digits(s, from + 5, 2);
+        int day = digits(s, from + 8, 2);
+        if (year < 0 || month < 0 || day < 0) return null;
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd'T'HH:mm} or {@code yyyy-MM-dd'T'HH:mm:ss} in place, or returns {@code null}.
+     */
+    private static LocalDateTime parseIsoDateTime(CharSequence s, int from, int to) {
+        int len = to - from;
+        if ((len != 16 && len != 19) || s.charAt(from + 10) != 'T' || s.charAt(from + 13) != ':') return null;
+        LocalDate date = parseIsoDate(s, from, from + 10);
+        int hour = digits(s, from + 11, 2);
+        int minute = digits(s, from + 14, 2);
+        int second = 0;
+        if (len == 19) {
+            if (s.charAt(from + 16) != ':') return null;
+            second = digits(s, from + 17, 2);
+        }
+        if (date == null || hour < 0 || minute < 0 || second < 0) return null;
+        try {
+            return date.atTime(hour, minute, second);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a {@code #<id>} field, or returns {@code -1} if field {@code i} is anything else.
+     */
+    private static int parseId(StorageLineTokenizer fields, CharSequence line, int i) {
+        int from = fields.start(i);
+        int to = fields.end(i);
+        if (to - from < 2 || line.charAt(from) != '#') return -1;
+        return number(line, from + 1, to);
+    }
+
+    /**
+     * Parses a non-negative decimal {@code int} spanning {@code [from, to)}, or returns {@code -1}.
+     */
+    private static int number(CharSequence s, int from, int to) {
+        if (to - from > 10) return -1;
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value <= Integer.MAX_VALUE ? (int) value : -1;
+    }
+
+    private static int digits(CharSequence s, int from, int n) {
+        int value = 0;
+        for (int i = from; i < from + n; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,98 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * Persistence backend of a task list.
+ * <p>
+ * Every store can load the whole list and replace it with a new snapshot. An {@link IncrementalTaskStore}
+ * also applies single mutations in place, so the caller never needs to rewrite the whole list, and answers
+ * {@link #range(int, int)} without reading everything.
+ *
+ * @since 1.1
+ */
+public interface TaskStore extends Closeable {
+
+    /**
+     * Opens the store for the file at {@code path} in the given format. No I/O happens until first use.
+     *
+     * @param path   the backing file
+     * @param format the format of the file
+     * @return the store
+     */
+    static TaskStore open(String path, StorageFormat format) {
+        assert path != null && format != null : "path and format must not be null";
+        return switch (format) {
+            case TEXT -> new TextTaskStore(path);
+            case BINARY -> new BinaryTaskStore(path);
+            case INDEXED -> new IndexedTaskStore(path);
+        };
+    }
+
+    /**
+     * Returns the format this store reads and writes.
+     *
+     * @return the storage format
+     */
+    StorageFormat format();
+
+    /**
+     * Reads the stored tasks in list order. Tasks stored without an id (written before ids were stored)
+     * receive consecutive ids starting at {@code firstId}. A missing file is an empty list.
+     *
+     * @param firstId  id of the first task, if the file stores none
+     * @param maxTasks maximum number of tasks to deliver
+     * @param sink     receives each task
+     * @return the checkpoint and next id stored with the tasks ({@link SnapshotHeader#NONE} if none)
+     * @throws IOException if the file cannot be read
+     */
+    SnapshotHeader load(int firstId, int maxTasks, Consumer<Task> sink) throws IOException;
+
+    /**
+     * Replaces the stored tasks with {@code tasks}, atomically.
+     *
+     * @param header checkpoint and next id to store with the tasks
+     * @param tasks  tasks in list order
+     * @return {@code true} if the write succeeded; {@code false} otherwise
+     */
+    boolean save(SnapshotHeader header, List<Task> tasks);
+
+    /**
+     * Captures {@code tasks} in memory so that they can be written to a file later, possibly on another
+     * thread. Used for background journal compaction.
+     *
+     * @param header checkpoint and next id to store with the tasks
+     * @param tasks  tasks in list order
+     * @return the captured snapshot
+     */
+    JournalCompactor.Snapshot capture(SnapshotHeader header, List<Task> tasks);
+
+    /**
+     * Reads the stored tasks at positions {@code [from, to)}.
+     * The default implementation reads the list from the start.
+     *
+     * @param from first position, inclusive
+     * @param to   last position, exclusive
+     * @return the tasks in the range (fewer if the list is shorter)
+     * @throws IOException if the file cannot be read
+     */
+    default List<Task> range(int from, int to) throws IOException {
+        assert 0 <= from && from <= to : "invalid range";
+        List<Task> all = new ArrayList<>();
+        load(0, to, all::add);
+        return all.subList(Math.min(from, all.size()), all.size());
+    }
+
+    /**
+     * Releases any open file. The store may be used again afterwards.
+     */
+    @Override
+    default void close() {
+    }
+}
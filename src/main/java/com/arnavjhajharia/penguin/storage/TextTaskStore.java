@@ -0,0 +1,145 @@
+package com.arnavjhajharia.penguin.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Task;
+
+/**
+ * {@link TaskStore} for the human-readable text format: one {@link Task#toStorageLine()} per line,
+ * optionally preceded by a journal checkpoint header and a next-id header.
+ * <p>
+ * Small files are streamed line by line; large files are parsed in parallel by {@link ParallelTaskLoader}. Either
+ * way tasks reach the sink as they are parsed, not after the whole file is.
+ *
+ * @since 1.1
+ */
+public final class TextTaskStore implements TaskStore {
+
+    private final String filePath;
+
+    /**
+     * Creates a store for the text file at {@code filePath}.
+     *
+     * @param filePath the backing file
+     */
+    public TextTaskStore(String filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public StorageFormat format() {
+        return StorageFormat.TEXT;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Lines that cannot be parsed are skipped; an invalid {@code Event} line throws an
+     * {@link IllegalArgumentException} (see {@link TaskLineParser#parse(CharSequence, int)}).
+     */
+    @Override
+    public SnapshotHeader load(int firstId, int maxTasks, Consumer<Task> sink) throws IOException {
+        if (isLarge()) {
+            return ParallelTaskLoader.load(filePath, firstId, maxTasks, sink);
+        }
+
+        long[] checkpoint = {0};
+        int[] nextId = {0};
+        int[] loaded = {0};
+        FileParser.streamLines(filePath, line -> {
+            long header = TaskJournal.parseCheckpoint(line);
+            if (header >= 0) {
+                checkpoint[0] = header;
+                return true;
+            }
+            int next = TaskLineParser.parseNextId(line);
+            if (next >= 0) {
+                nextId[0] = next;
+                return true;
+            }
+            if (loaded[0] >= maxTasks) return false;
+            Task parsed = TaskLineParser.parse(line, firstId + loaded[0]);
+            if (parsed != null) {
+                sink.accept(parsed);
+                loaded[0]++;
+            }
+            return true;
+        });
+        return new SnapshotHeader(checkpoint[0], nextId[0]);
+    }
+
+    private boolean isLarge() throws IOException {
+        try {
+            return ParallelTaskLoader.isWorthwhile(Files.size(Path.of(filePath)));
+        } catch (NoSuchFileException e) {
+            return false; // nothing saved yet
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Lines are rendered while they are written, so no copy of the list is held in memory.
+     */
+    @Override
+    public boolean save(SnapshotHeader header, List<Task> tasks) {
+        Iterable<String> lines = () -> new Iterator<>() {
+            private final Iterator<String> headers = headerLines(header, tasks).iterator();
+            private final Iterator<Task> it = tasks.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return headers.hasNext() || it.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return headers.hasNext() ? headers.next() : it.next().toStorageLine();
+            }
+        };
+        return FileParser.writeLinesAtomically(filePath, lines);
+    }
+
+    @Override
+    public JournalCompactor.Snapshot capture(SnapshotHeader header, List<Task> tasks) {
+        List<String> lines = lines(header, tasks);
+        return path -> FileParser.writeLinesAtomically(path, lines);
+    }
+
+    /**
+     * Renders the tasks as snapshot lines, preceded by their header lines. Used where the lines must outlive
+     * changes to the list.
+     */
+    private static List<String> lines(SnapshotHeader header, List<Task> tasks) {
+        List<String> lines = new ArrayList<>(tasks.size() + 2);
+        lines.addAll(headerLines(header, tasks));
+        for (Task t : tasks) {
+            lines.add(t.toStorageLine());   // <<— polymorphic call
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the checkpoint header when a journal generation is involved, and the next-id header when the
+     * ids of the tasks do not imply it (the newest tasks were deleted).
+     */
+    private static List<String> headerLines(SnapshotHeader header, List<Task> tasks) {
+        List<String> lines = new ArrayList<>(2);
+        if (header.checkpoint() > 0) {
+            lines.add(TaskJournal.checkpointHeader(header.checkpoint()));
+        }
+        int impliedNextId = tasks.isEmpty() ? 0 : tasks.get(tasks.size() - 1).getId() + 1;
+        if (header.nextId() > impliedNextId) {
+            lines.add(TaskLineParser.nextIdHeader(header.nextId()));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,42 @@
+package com.arnavjhajharia.penguin.logic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileParserTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void streamLines_linesStraddlingWindows_areReassembled() throws Exception {
+        Path file = dir.resolve("tasks.txt");
+        Files.writeString(file, "T | 0 | first\r\nT | 1 | sécond line\n\nT | 0 | last");
+
+        List<String> lines = new ArrayList<>();
+        assertTrue(FileParser.streamLines(file, 0, Long.MAX_VALUE, 5, lines::add)); // tiny window forces splits
+        assertEquals(List.of("T | 0 | first", "T | 1 | sécond line", "", "T | 0 | last"), lines);
+    }
+
+    @Test
+    void streamLines_sinkReturnsFalse_stopsEarly() throws Exception {
+        Path file = dir.resolve("tasks.txt");
+        Files.writeString(file, "a\nb\nc\n");
+
+        List<String> lines = new ArrayList<>();
+        FileParser.streamLines(file.toString(), l -> lines.add(l) && lines.size() < 2);
+        assertEquals(List.of("a", "b"), lines);
+    }
+
+    @Test
+    void streamLines_missingFile_returnsFalse() {
+        assertFalse(FileParser.streamLines(dir.resolve("missing.txt").toString(), l -> true));
+    }
+}
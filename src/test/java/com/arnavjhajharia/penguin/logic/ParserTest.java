@@ -6,8 +6,11 @@ import com.arnavjhajharia.penguin.logic.commands.AddCommand;
 import com.arnavjhajharia.penguin.logic.commands.ByeCommand;
 import com.arnavjhajharia.penguin.logic.commands.Command;
 import com.arnavjhajharia.penguin.logic.commands.DeleteCommand;
+import com.arnavjhajharia.penguin.logic.commands.FindCommand;
 import com.arnavjhajharia.penguin.logic.commands.ListCommand;
 import com.arnavjhajharia.penguin.logic.commands.MarkCommand;
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskType;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -121,6 +124,20 @@ class ParserTest {
         assertInstanceOf(DeleteCommand.class, c);
     }
 
+    @Test
+    void parse_findTop_ranksAndValidatesCount() throws Exception {
+        TaskList tasks = new TaskList(10);
+        tasks.add("booking venue", TaskType.TODO);
+        tasks.add("read book", TaskType.TODO);
+        Command c = parser.parse("find --top 1 book");
+        assertInstanceOf(FindCommand.class, c);
+        assertTrue(c.execute(tasks).message().contains("2. [T] [] read book (#1)"));
+        assertTrue(parser.parse("find --verbose").execute(tasks).message().startsWith("No matches"));
+        assertThrows(MissingArgumentException.class, () -> parser.parse("find --top many book").execute(tasks));
+        assertThrows(MissingArgumentException.class, () -> parser.parse("find --after 1:0 book").execute(tasks));
+        assertThrows(MissingArgumentException.class, () -> parser.parse("find --top 3").execute(tasks));
+    }
+
     // ---------- Whitespace & arg-splitting ----------
     @Test
     void parse_trimsLeadingAndTrailingWhitespace() throws Exception {
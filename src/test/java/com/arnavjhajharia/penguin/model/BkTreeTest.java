@@ -0,0 +1,62 @@
+package com.arnavjhajharia.penguin.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BkTreeTest {
+
+    private static String randomWord(Random rnd) {
+        char[] w = new char[4 + rnd.nextInt(5)];
+        for (int i = 0; i < w.length; i++) {
+            w[i] = (char) ('a' + rnd.nextInt(4)); // a small alphabet, so that near neighbours are common
+        }
+        return new String(w);
+    }
+
+    @Test
+    void forEachWithin_matchesBruteForce() {
+        Random rnd = new Random(21);
+        BkTree tree = new BkTree();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            String w = randomWord(rnd);
+            if (tree.add(w)) {
+                words.add(w);
+            }
+        }
+        assertEquals(words.size(), tree.size());
+        assertFalse(tree.add(words.get(0)));
+
+        for (int q = 0; q < 200; q++) {
+            String query = randomWord(rnd);
+            for (int k = 1; k <= 2; k++) {
+                TreeSet<String> expected = new TreeSet<>();
+                for (String w : words) {
+                    if (SearchQuery.isWithinEdits(w, query, k)) {
+                        expected.add(w);
+                    }
+                }
+                TreeSet<String> found = new TreeSet<>();
+                tree.forEachWithin(query, k, found::add);
+                assertEquals(expected, found, query + " k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void distance_isLevenshtein() {
+        BkTree tree = new BkTree();
+        assertEquals(0, tree.distance("book", "book"));
+        assertEquals(1, tree.distance("book", "bokk"));
+        assertEquals(1, tree.distance("book", "books"));
+        assertEquals(2, tree.distance("book", "bkoo"));
+        assertEquals(3, tree.distance("kitten", "sitting"));
+        assertEquals(4, tree.distance("", "abcd"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.arnavjhajharia.penguin.model;
+
+import com.arnavjhajharia.penguin.model.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static com.arnavjhajharia.penguin.model.TaskListFixtures.assertSameResults;
+import static com.arnavjhajharia.penguin.model.TaskListFixtures.fill;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void indexedFind_matchesFullScan_throughChanges_inEveryMode() {
+        for (String mode : TaskListFixtures.MODES) {
+            TaskList scanned = new TaskList(TaskList.UNBOUNDED);
+            fill(scanned, new Random(7), 300);
+            TaskList indexed = TaskListFixtures.open(mode, dir, 7, 300);
+            indexed.enableSearchIndex();
+            assertSameResults(scanned, indexed, mode);
+
+            TaskListFixtures.changeBothAndCompare(scanned, indexed, new Random(19), 40, mode);
+            indexed.close();
+        }
+    }
+
+    @Test
+    void indexedFind_matchesFullScan_withTwoEdits() {
+        TaskList scanned = new TaskList(TaskList.UNBOUNDED);
+        TaskList indexed = new TaskList(TaskList.UNBOUNDED);
+        indexed.enableSearchIndex();
+        fill(scanned, new Random(5), 300);
+        fill(indexed, new Random(5), 300);
+        scanned.setTypoTolerance(2);
+        indexed.setTypoTolerance(2);
+        assertSameResults(scanned, indexed, "heap");
+        assertTrue(indexed.find("bkoo").toString().contains("book"));
+        assertTrue(indexed.find("metting").toString().contains("meeting"));
+
+        indexed.setTypoTolerance(1);
+        assertFalse(indexed.find("bkoo").toString().contains("book"));
+    }
+
+    @Test
+    void candidates_narrowByWordsAndIntersectTerms() {
+        SearchIndex index = new SearchIndex();
+        index.add(new Todo("read book", 0));
+        index.add(new Todo("booking venue", 1));
+        index.add(new Todo("team meeting notes", 2));
+        index.add(new Todo("read notes", 3));
+
+        assertArrayEquals(new int[] {0, 1}, index.candidates(SearchQuery.parse("book")));
+        assertArrayEquals(new int[] {0}, index.candidates(SearchQuery.parse("bokk")));
+        assertArrayEquals(new int[] {3}, index.candidates(SearchQuery.parse("read notes")));
+        assertArrayEquals(new int[] {2}, index.candidates(SearchQuery.parse("\"team meeting\"")));
+        assertNull(index.candidates(SearchQuery.parse("--")));
+        assertArrayEquals(new int[] {1}, index.candidates(SearchQuery.parse("kin")));
+        assertArrayEquals(new int[] {1}, index.candidates(SearchQuery.parse("\"ing ven\"")));
+        assertArrayEquals(new int[0], index.candidates(SearchQuery.parse("---")));
+
+        index.remove(new Todo("read book", 0));
+        Todo done = new Todo("read notes", 3);
+        done.markDone();
+        index.update(new Todo("read notes", 3), done);
+        assertArrayEquals(new int[] {1}, index.candidates(SearchQuery.parse("book")));
+        assertArrayEquals(new int[] {3}, index.candidates(SearchQuery.parse("x")));
+    }
+
+    @Test
+    void typoLookup_survivesVocabularyTurnover() {
+        SearchIndex index = new SearchIndex();
+        for (int i = 0; i < 5_000; i++) {
+            index.add(new Todo("word" + i, i));
+        }
+        for (int i = 0; i < 5_000; i++) {
+            if (i != 4_321) {
+                index.remove(new Todo("word" + i, i)); // rebuilds the typo tree along the way
+            }
+        }
+        index.add(new Todo("word1234", 5_000));
+        assertArrayEquals(new int[] {4_321}, index.candidates(SearchQuery.parse("wrd4321", 2)));
+        assertArrayEquals(new int[] {5_000}, index.candidates(SearchQuery.parse("word1235")));
+    }
+
+    @Test
+    void intersect_mergesAndProbes() {
+        assertArrayEquals(new int[] {3, 9}, SearchIndex.intersect(new int[] {1, 3, 5, 9}, new int[] {2, 3, 9, 10}));
+        int[] large = new int[1_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i * 2;
+        }
+        assertArrayEquals(new int[] {4, 1_998}, SearchIndex.intersect(new int[] {3, 4, 1_998}, large));
+        assertArrayEquals(new int[0], SearchIndex.intersect(new int[0], large));
+    }
+}
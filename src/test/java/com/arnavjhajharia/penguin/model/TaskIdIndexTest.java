@@ -0,0 +1,61 @@
+package com.arnavjhajharia.penguin.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIdIndexTest {
+
+    @Test
+    void randomOperations_matchHashMap() {
+        TaskIdIndex index = new TaskIdIndex();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rnd = new Random(12);
+        for (int i = 0; i < 50_000; i++) {
+            int id = rnd.nextInt(2_000);
+            if (rnd.nextInt(3) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                index.put(id, i);
+                expected.put(id, i);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        for (int id = 0; id < 2_000; id++) {
+            assertEquals(expected.getOrDefault(id, -1), index.get(id), "id " + id);
+        }
+    }
+
+    @Test
+    void shiftDown_movesPositionsPastTheRemovedOnes() {
+        TaskIdIndex index = new TaskIdIndex();
+        for (int id = 0; id < 10; id++) {
+            index.put(id, id);
+        }
+        index.remove(2);
+        index.shiftDown(new int[] {2});
+        index.remove(4); // at position 3 now
+        index.remove(7); // at position 6 now
+        index.shiftDown(new int[] {3, 6});
+        int[] expected = {0, 1, -1, 2, -1, 3, 4, -1, 5, 6};
+        for (int id = 0; id < 10; id++) {
+            assertEquals(expected[id], index.get(id), "id " + id);
+        }
+    }
+
+    @Test
+    void clear_forgetsEverything() {
+        TaskIdIndex index = new TaskIdIndex();
+        for (int id = 0; id < 100; id++) {
+            index.put(id, id);
+        }
+        index.clear();
+        assertEquals(0, index.size());
+        assertFalse(index.contains(5));
+    }
+}
@@ -0,0 +1,137 @@
+package com.arnavjhajharia.penguin.model;
+
+import com.arnavjhajharia.penguin.common.exceptions.InvalidIndexException;
+import com.arnavjhajharia.penguin.logic.commands.DeleteCommand;
+import com.arnavjhajharia.penguin.logic.commands.MarkCommand;
+import com.arnavjhajharia.penguin.storage.StorageFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListBulkTest {
+
+    @TempDir
+    Path dir;
+
+    private static TaskList filled(TaskList tl, int n) {
+        for (int i = 0; i < n; i++) {
+            tl.add("task " + i, TaskType.TODO);
+        }
+        return tl;
+    }
+
+    @Test
+    void markRange_thenDeleteDone() throws Exception {
+        TaskList tl = filled(new TaskList(100), 10);
+
+        String msg = new MarkCommand("1-3", true).execute(tl).message();
+        assertTrue(msg.contains("marked 3 tasks as done"), msg);
+        new MarkCommand("2", false).execute(tl);
+
+        msg = new DeleteCommand("done").execute(tl).message();
+        assertTrue(msg.contains("Removed 2 tasks."), msg);
+        assertEquals(8, tl.size());
+        assertTrue(tl.list().toString().startsWith("1. [T] [] task 1 (#1)\n2. [T] [] task 3 (#3)\n"));
+        assertEquals(1, tl.indexOfId(3));
+    }
+
+    @Test
+    void unmarkList_touchesOnlyNamedTasks() throws Exception {
+        TaskList tl = filled(new TaskList(100), 10);
+        new MarkCommand("done", true).execute(tl); // "done" selects nothing yet
+        new MarkCommand("undone", true).execute(tl);
+
+        new MarkCommand("3,7,#8", false).execute(tl);
+        String list = tl.list().toString();
+        assertTrue(list.contains("3. [T] [] task 2"));
+        assertTrue(list.contains("7. [T] [] task 6"));
+        assertTrue(list.contains("9. [T] [] task 8"));
+        assertEquals(7, list.split("\\[X]", -1).length - 1);
+    }
+
+    @Test
+    void outOfRangeSelection_changesNothing() {
+        TaskList tl = filled(new TaskList(100), 5);
+        InvalidIndexException ex = assertThrows(InvalidIndexException.class,
+                () -> new DeleteCommand("2-9").execute(tl));
+        assertTrue(ex.getMessage().contains("6"));
+        assertThrows(InvalidIndexException.class, () -> new MarkCommand("1,x", true).execute(tl));
+        assertEquals("Invalid task index.", tl.delete(TaskSelection.parse("1,#42").orElseThrow()).toString());
+        assertEquals(5, tl.size());
+    }
+
+    @Test
+    void bulkDelete_inTombstoneMode() {
+        TaskList tl = new TaskList(TaskList.UNBOUNDED);
+        tl.enableTombstones();
+        filled(tl, 1_000);
+        tl.delete(TaskSelection.parse("1-600,700,#999").orElseThrow());
+        assertEquals(398, tl.size());
+        assertEquals(0, tl.indexOfId(600));
+        assertEquals(99, tl.indexOfId(700));
+        assertEquals(-1, tl.indexOfId(999));
+    }
+
+    @Test
+    void bulkChanges_areReplayedFromOneJournalRecordEach() throws Exception {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList tl = new TaskList(TaskList.UNBOUNDED, file);
+        assertTrue(tl.enableJournal());
+        filled(tl, 500);
+        tl.mark(TaskSelection.parse("1-300,412").orElseThrow(), true);
+        tl.delete(TaskSelection.parse("2-100,#450").orElseThrow());
+        tl.mark(TaskSelection.where(true), false);
+        String expected = tl.list().toString();
+        tl.close();
+
+        long records = Files.readAllLines(Path.of(file + ".log")).stream()
+                .filter(line -> !line.startsWith("A")).count();
+        assertEquals(4, records); // G, M, X and U
+        TaskList reopened = new TaskList(TaskList.UNBOUNDED, file);
+        assertEquals(expected, reopened.list().toString());
+        reopened.close();
+    }
+
+    @Test
+    void bulkChanges_writeThroughIndexedStore() {
+        String file = dir.resolve("tasks.idx").toString();
+        TaskList tl = new TaskList(TaskList.UNBOUNDED, file);
+        tl.setStorageFormat(StorageFormat.INDEXED);
+        filled(tl, 2_000);
+        assertTrue(tl.save());
+        tl.mark(TaskSelection.parse("10-1500").orElseThrow(), true);
+        tl.delete(TaskSelection.parse("done").orElseThrow());
+        tl.add("late", TaskType.TODO);
+        String expected = tl.list().toString();
+        assertTrue(tl.save()); // nothing left to write
+        tl.close();
+
+        TaskList reopened = new TaskList(TaskList.UNBOUNDED, file);
+        assertEquals(510, reopened.size());
+        assertEquals(expected, reopened.list().toString());
+        reopened.close();
+    }
+
+    @Test
+    void bulkDelete_inPagedMode() {
+        String file = dir.resolve("tasks.bin").toString();
+        TaskList seed = new TaskList(TaskList.UNBOUNDED, file);
+        seed.setStorageFormat(StorageFormat.BINARY);
+        filled(seed, 1_000);
+        assertTrue(seed.save());
+        seed.close();
+
+        TaskList tl = new TaskList(TaskList.UNBOUNDED, file, 2);
+        tl.mark(TaskSelection.parse("1-10").orElseThrow(), true);
+        tl.delete(TaskSelection.parse("done").orElseThrow());
+        tl.delete(TaskSelection.parse("1,3").orElseThrow());
+        assertEquals(988, tl.size());
+        assertTrue(tl.list(1).toString().startsWith("1. [T] [] task 11 (#11)\n2. [T] [] task 13 (#13)\n"));
+        assertEquals(0, tl.indexOfId(11));
+        tl.close();
+    }
+}
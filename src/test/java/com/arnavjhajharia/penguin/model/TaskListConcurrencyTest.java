@@ -0,0 +1,121 @@
+package com.arnavjhajharia.penguin.model;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListConcurrencyTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int OPS_PER_WRITER = 3_000;
+
+    @Test
+    void concurrentReadersAndWriters_seeConsistentSnapshots() throws Exception {
+        TaskList tl = new TaskList(TaskList.UNBOUNDED);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<Integer>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(pool.submit(() -> {
+                    int deleted = 0;
+                    for (int i = 0; i < OPS_PER_WRITER; i++) {
+                        tl.add("writer " + writer + " task " + i, TaskType.TODO);
+                        if (i % 3 == 0) {
+                            tl.markDone(i % tl.size());
+                        }
+                        if (i % 5 == 0 && tl.delete(0).toString().startsWith("Removed")) {
+                            deleted++;
+                        }
+                    }
+                    return deleted;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                readers.add(pool.submit(() -> {
+                    long lastVersion = -1;
+                    while (writing.get()) {
+                        TaskSnapshot snap = tl.snapshot().orElseThrow();
+                        assertTrue(snap.version() >= lastVersion, "versions never go back");
+                        lastVersion = snap.version();
+                        String before = render(snap);
+                        assertEquals(snap.size(), before.isEmpty() ? 0 : before.split("\n").length);
+                        Thread.yield();
+                        assertEquals(before, render(snap), "a snapshot never changes");
+
+                        String page = tl.list(1).toString();
+                        if (!page.startsWith("No tasks")) {
+                            String[] lines = page.split("\n");
+                            for (int i = 0; i < Math.min(lines.length, TaskList.LIST_PAGE_SIZE); i++) {
+                                assertTrue(lines[i].startsWith((i + 1) + ". "), "numbering is dense");
+                            }
+                        }
+                        tl.find("task 42");
+                    }
+                    return null;
+                }));
+            }
+
+            int deleted = 0;
+            for (Future<Integer> f : writers) {
+                deleted += f.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> f : readers) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+
+            assertEquals(WRITERS * OPS_PER_WRITER - deleted, tl.size());
+            TaskSnapshot last = tl.snapshot().orElseThrow();
+            Set<Integer> ids = new HashSet<>();
+            for (int i = 0; i < last.size(); i++) {
+                Task t = last.get(i);
+                assertTrue(ids.add(t.getId()), "ids are unique");
+                assertEquals(i, tl.indexOfId(t.getId()));
+            }
+            assertEquals(tl.list().toString(), render(last));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void snapshot_isUnaffectedByLaterChanges() {
+        TaskList tl = new TaskList(100);
+        tl.add("read book", TaskType.TODO);
+        tl.add("write essay", TaskType.TODO);
+        TaskSnapshot before = tl.snapshot().orElseThrow();
+
+        tl.markDone(0);
+        tl.delete(1);
+        tl.add("water plants", TaskType.TODO);
+
+        assertFalse(before.get(0).isDone());
+        assertEquals("write essay", before.get(1).getName());
+        assertTrue(tl.snapshot().orElseThrow().get(0).isDone());
+        assertTrue(tl.snapshot().orElseThrow().version() > before.version());
+    }
+
+    private static String render(List<Task> snap) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        for (Task t : snap) {
+            sb.append(++i).append(". ").append(t).append(" (#").append(t.getId()).append(")\n");
+        }
+        return sb.toString();
+    }
+}
@@ -51,6 +51,69 @@ class TaskListFindTest {
         assertFalse(result.contains("booking venue"));
         assertFalse(result.contains("team meeting notes"));
     }
-}
 
+    @Test
+    void scan_inParts_keepsListOrder() {
+        TaskList big = new TaskList(TaskList.UNBOUNDED);
+        for (int i = 0; i < 5_000; i++) {
+            big.add(i % 7 == 0 ? "read book " + i : "water plants " + i, TaskType.TODO);
+        }
+        TaskSnapshot view = big.snapshot().orElseThrow();
+        SearchQuery query = SearchQuery.parse("bokk");
+        int[] sequential = TaskList.scan(view, query, 1);
+        assertEquals(715, sequential.length);
+        assertArrayEquals(sequential, TaskList.scan(view, query, 16));
+        assertArrayEquals(new int[0], TaskList.scan(view, SearchQuery.parse("zzz"), 16));
+        assertArrayEquals(new int[] {0}, TaskList.scan(view.subList(0, 1), query, 16));
+
+        String expected = big.find("book").toString();
+        big.enableParallelFind(1);
+        assertEquals(expected, big.find("book").toString());
+    }
+
+    @Test
+    void findTop_ranksWholeWordsThenPartsThenTypos() {
+        tasks.add("bokk club", TaskType.TODO);                   // 5, "book" only as a typo
+        String result = tasks.findTop("book", 3, null).toString();
+        assertEquals("Here’s what I found, best first:\n"
+                + "1. [T] [] read book (#0)\n"
+                + "2. [T] [] booking venue (#1)\n"
+                + "5. [T] [] bokk club (#4)\n", result);
+        assertEquals("No matches found, bro. Try different keywords.", tasks.findTop("zzz", 3, null).toString());
+    }
 
+    @Test
+    void findTop_prefersTermsCloseTogether() {
+        tasks.add("status report for the project", TaskType.TODO);  // 5, same words further apart
+        String result = tasks.findTop("project status", 1, null).toString();
+        assertTrue(result.contains("4. [T] [] Project status Aug update (#3)"), result);
+        assertTrue(result.endsWith("Use \"find --top 1 --after 650:3 project status\" for more."), result);
+    }
+
+    @Test
+    void findTop_pagesThroughEveryMatchOnce() {
+        TaskList big = new TaskList(TaskList.UNBOUNDED);
+        for (int i = 0; i < 500; i++) {
+            big.add(i % 3 == 0 ? "read book " + i : i % 3 == 1 ? "booking " + i : "water plants " + i, TaskType.TODO);
+        }
+        StringBuilder seen = new StringBuilder();
+        String after = null;
+        int pages = 0;
+        while (true) {
+            String page = big.findTop("book", 40, after).toString();
+            pages++;
+            int footer = page.indexOf("Showing ");
+            seen.append(footer < 0 ? page.substring(page.indexOf('\n') + 1) : page.substring(page.indexOf('\n') + 1, footer));
+            if (footer < 0) break;
+            int from = page.indexOf("--after ") + "--after ".length();
+            after = page.substring(from, page.indexOf(' ', from));
+        }
+        assertEquals(9, pages);
+        String[] lines = seen.toString().split("\n");
+        assertEquals(334, lines.length);
+        assertTrue(lines[0].startsWith("499. [T] [] read book 498"), lines[0]);
+        assertTrue(lines[167].startsWith("500. [T] [] booking 499"), lines[167]);
+        assertEquals("No more matches, bro.", big.findTop("book", 40, "1:0").toString());
+        assertTrue(big.findTop("book", 40, "oops").toString().startsWith("Invalid cursor"));
+    }
+}
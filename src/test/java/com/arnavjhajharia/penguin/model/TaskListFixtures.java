@@ -0,0 +1,128 @@
+package com.arnavjhajharia.penguin.model;
+
+import com.arnavjhajharia.penguin.storage.StorageFormat;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shared skeleton of the differential tests of {@code find}: random lists, the same random changes applied to
+ * a plain list and to one under test, and a check that both answer every query alike. Lists under test can be
+ * built in every storage mode.
+ */
+final class TaskListFixtures {
+
+    /** The storage modes of {@link #open(String, Path, long, int)}. */
+    static final String[] MODES = {"heap", "tombstone", "off-heap", "paged"};
+
+    private static final String[] WORDS = {
+        "read", "book", "booking", "team", "meeting", "notes", "project", "status", "aug", "update",
+        "return", "venue", "bokk", "x", "chapter", "2025"
+    };
+
+    private static final String[] QUERIES = {
+        "book", "bokk", "boo", "bo", "x", "[x]", "[t]", "\"team meeting\"", "\"meeting notes\"", "project aug",
+        "sep", "by:", "2025", "ook", "meetin", "status update", "zzz", "--", "\"read book\" team", "chapter 1",
+        "(#", "e]", "venu", "retrun", "\"unclosed", "notes,", "d", "---", "\"ing, venue\"", "] [x] r", "apte"
+    };
+
+    private TaskListFixtures() { }
+
+    /**
+     * Adds {@code n} todos, deadlines and events made of random {@link #WORDS}.
+     */
+    static void fill(TaskList tl, Random rnd, int n) {
+        for (int i = 0; i < n; i++) {
+            StringBuilder desc = new StringBuilder();
+            for (int w = 0; w < 1 + rnd.nextInt(4); w++) {
+                desc.append(WORDS[rnd.nextInt(WORDS.length)]).append(w % 2 == 0 ? " " : ", ");
+            }
+            desc.append(i);
+            switch (i % 3) {
+                case 0 -> tl.add(desc.toString(), TaskType.TODO);
+                case 1 -> tl.add(desc + " /by 2025-09-0" + (1 + i % 9), TaskType.DEADLINE);
+                default -> tl.add(desc + " /from 2025-08-01T10:00 /to 2025-08-01T11:00", TaskType.EVENT);
+            }
+        }
+    }
+
+    /**
+     * Returns a list in {@code mode} holding what {@code fill(tl, new Random(seed), n)} adds to a new list.
+     * A paged list is saved to a binary file in {@code dir} and reopened with two cached pages.
+     */
+    static TaskList open(String mode, Path dir, long seed, int n) {
+        if (mode.equals("paged")) {
+            String file = dir.resolve("tasks-" + seed + "-" + System.nanoTime() + ".bin").toString();
+            TaskList seedList = new TaskList(TaskList.UNBOUNDED, file);
+            seedList.setStorageFormat(StorageFormat.BINARY);
+            fill(seedList, new Random(seed), n);
+            assertTrue(seedList.save());
+            seedList.close();
+            return new TaskList(TaskList.UNBOUNDED, file, 2);
+        }
+        TaskList tl = new TaskList(TaskList.UNBOUNDED);
+        switch (mode) {
+            case "heap" -> { }
+            case "tombstone" -> assertTrue(tl.enableTombstones());
+            case "off-heap" -> assertTrue(tl.enableOffHeap(1 << 12));
+            default -> fail("unknown mode " + mode);
+        }
+        fill(tl, new Random(seed), n);
+        return tl;
+    }
+
+    /**
+     * Asserts that {@code actual} answers every query of {@link #QUERIES} like {@code expected}, in full and
+     * ranked.
+     */
+    static void assertSameResults(TaskList expected, TaskList actual, String mode) {
+        for (String q : QUERIES) {
+            assertEquals(expected.find(q).toString(), actual.find(q).toString(), mode + ": " + q);
+            assertEquals(expected.findTop(q, 7, null).toString(), actual.findTop(q, 7, null).toString(), mode + ": " + q);
+        }
+    }
+
+    /**
+     * Applies the same random marks, unmarks, deletes and additions to both lists, checking them after every
+     * fifth change, then a range mark and a range delete large enough to compact tombstones.
+     */
+    static void changeBothAndCompare(TaskList expected, TaskList actual, Random rnd, int rounds, String mode) {
+        for (int round = 0; round < rounds; round++) {
+            int idx = rnd.nextInt(expected.size());
+            switch (rnd.nextInt(4)) {
+                case 0 -> {
+                    expected.markDone(idx);
+                    actual.markDone(idx);
+                }
+                case 1 -> {
+                    expected.markUndone(idx);
+                    actual.markUndone(idx);
+                }
+                case 2 -> {
+                    expected.delete(idx);
+                    actual.delete(idx);
+                }
+                default -> {
+                    fill(expected, new Random(round), 3);
+                    fill(actual, new Random(round), 3);
+                }
+            }
+            if (round % 5 == 4) {
+                assertSameResults(expected, actual, mode + ", round " + round);
+            }
+        }
+        TaskSelection range = TaskSelection.parse("10-40").orElseThrow();
+        expected.mark(range, true);
+        actual.mark(range, true);
+        assertSameResults(expected, actual, mode);
+        TaskSelection most = TaskSelection.parse("5-" + (expected.size() * 2 / 3)).orElseThrow();
+        expected.delete(most);
+        actual.delete(most);
+        assertSameResults(expected, actual, mode);
+        expected.markDone(3);
+        actual.markDone(3);
+        assertSameResults(expected, actual, mode);
+    }
+}
@@ -0,0 +1,148 @@
+package com.arnavjhajharia.penguin.model;
+
+import com.arnavjhajharia.penguin.common.exceptions.InvalidIndexException;
+import com.arnavjhajharia.penguin.logic.commands.DeleteCommand;
+import com.arnavjhajharia.penguin.logic.commands.MarkCommand;
+import com.arnavjhajharia.penguin.storage.StorageFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListIdTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ids_surviveDeletionOfEarlierTasks() {
+        TaskList tl = new TaskList(100);
+        tl.add("read book", TaskType.TODO);
+        tl.add("write essay", TaskType.TODO);
+        tl.add("water plants", TaskType.TODO);
+
+        tl.delete(0);
+        assertEquals(0, tl.indexOfId(1));
+        assertEquals(1, tl.indexOfId(2));
+        assertEquals(-1, tl.indexOfId(0));
+        assertTrue(tl.list().toString().startsWith("1. [T] [] write essay (#1)"));
+    }
+
+    @Test
+    void indexOfId_staysExact_throughDeletesAnywhere() {
+        TaskList tl = new TaskList(TaskList.UNBOUNDED);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            tl.add("task " + i, TaskType.TODO);
+            expected.add(i);
+        }
+        Random rnd = new Random(12);
+        for (int round = 0; round < 60; round++) {
+            int from = switch (round % 3) {
+                case 0 -> rnd.nextInt(10);                        // long tail moves
+                case 1 -> expected.size() - 1 - rnd.nextInt(10);  // short tail moves
+                default -> rnd.nextInt(expected.size() - 20);
+            };
+            if (round % 2 == 0) {
+                tl.delete(from);
+                expected.remove(from);
+            } else {
+                int to = Math.min(expected.size() - 1, from + rnd.nextInt(5));
+                tl.delete(TaskSelection.parse((from + 1) + "-" + (to + 1)).orElseThrow());
+                expected.subList(from, to + 1).clear();
+            }
+            for (int id = 0; id < 1_000; id++) {
+                assertEquals(expected.indexOf(id), tl.indexOfId(id), "round " + round + ", id " + id);
+            }
+        }
+    }
+
+    @Test
+    void commands_acceptHashIds() throws Exception {
+        TaskList tl = new TaskList(100);
+        tl.add("read book", TaskType.TODO);
+        tl.add("write essay", TaskType.TODO);
+
+        new DeleteCommand("1").execute(tl);
+        new MarkCommand("#1", true).execute(tl);
+        assertTrue(tl.list().toString().contains("[X] write essay (#1)"));
+        assertThrows(InvalidIndexException.class, () -> new DeleteCommand("#0").execute(tl));
+        assertThrows(InvalidIndexException.class, () -> new DeleteCommand("#x").execute(tl));
+    }
+
+    @Test
+    void ids_areNotReusedAfterReload() {
+        for (StorageFormat format : StorageFormat.values()) {
+            String file = dir.resolve("tasks-" + format).toString();
+            TaskList tl = new TaskList(100, file);
+            tl.setStorageFormat(format);
+            tl.add("read book", TaskType.TODO);
+            tl.add("write essay", TaskType.TODO);
+            tl.delete(1);
+            assertTrue(tl.save());
+            tl.close();
+
+            TaskList reopened = new TaskList(100, file);
+            reopened.add("water plants", TaskType.TODO);
+            assertEquals(1, reopened.indexOfId(2), format.toString());
+            assertEquals(-1, reopened.indexOfId(1), format.toString());
+            reopened.close();
+        }
+    }
+
+    @Test
+    void ids_areNotReusedAfterJournalReplay() {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList tl = new TaskList(100, file);
+        assertTrue(tl.enableJournal());
+        tl.add("read book", TaskType.TODO);
+        tl.add("write essay", TaskType.TODO);
+        tl.delete(1);
+        tl.close();
+
+        TaskList reopened = new TaskList(100, file);
+        assertEquals(0, reopened.indexOfId(0));
+        reopened.add("water plants", TaskType.TODO);
+        assertEquals(1, reopened.indexOfId(2));
+        assertEquals(-1, reopened.indexOfId(1));
+        reopened.close();
+    }
+
+    @Test
+    void tombstoneMode_keepsDenseNumberingAndIds() throws Exception {
+        TaskList plain = new TaskList(1_000);
+        TaskList tomb = new TaskList(1_000);
+        assertTrue(tomb.enableTombstones(0.5));
+        for (int i = 0; i < 300; i++) {
+            plain.add("task " + i, TaskType.TODO);
+            tomb.add("task " + i, TaskType.TODO);
+        }
+        for (int i = 0; i < 200; i++) {
+            int idx = i % 3 == 0 ? 0 : (i * 31) % plain.size();
+            plain.delete(idx);
+            tomb.delete(idx);
+            if (i % 50 == 0) {
+                tomb.markDone(plain.size() / 2);
+                plain.markDone(plain.size() / 2);
+            }
+        }
+        assertEquals(plain.list().toString(), tomb.list().toString());
+        assertEquals(plain.find("task 29").toString(), tomb.find("task 29").toString());
+        assertTrue(tomb.isInvalidIndex(100));
+        for (int id = 0; id < 300; id++) {
+            assertEquals(plain.indexOfId(id), tomb.indexOfId(id), "id " + id);
+        }
+        int live = 299;
+        while (tomb.indexOfId(live) < 0) {
+            live--;
+        }
+        new DeleteCommand("#" + live).execute(tomb);
+        assertEquals(-1, tomb.indexOfId(live));
+        assertEquals(plain.size() - 1, tomb.size());
+    }
+}
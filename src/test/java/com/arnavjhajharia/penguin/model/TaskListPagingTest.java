@@ -0,0 +1,49 @@
+package com.arnavjhajharia.penguin.model;
+
+import com.arnavjhajharia.penguin.logic.commands.ListCommand;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListPagingTest {
+
+    private static TaskList filled(int n) {
+        TaskList tl = new TaskList(TaskList.UNBOUNDED);
+        for (int i = 0; i < n; i++) {
+            tl.add("task " + i, TaskType.TODO);
+        }
+        return tl;
+    }
+
+    @Test
+    void unbounded_acceptsMoreThanOldCap() {
+        TaskList tl = filled(250);
+        assertEquals(250, tl.size());
+    }
+
+    @Test
+    void singlePage_rendersLikeFullList() {
+        TaskList tl = filled(3);
+        assertEquals(tl.list().toString(), tl.list(1).toString());
+    }
+
+    @Test
+    void largeList_isShownOnePageAtATime() {
+        TaskList tl = filled(TaskList.LIST_PAGE_SIZE * 2 + 5);
+        String second = tl.list(2).toString();
+        assertTrue(second.startsWith((TaskList.LIST_PAGE_SIZE + 1) + ". "));
+        assertTrue(second.contains("Page 2 of 3"));
+        assertFalse(second.contains("\n" + (2 * TaskList.LIST_PAGE_SIZE + 1) + ". "));
+        assertTrue(tl.list(3).toString().startsWith((2 * TaskList.LIST_PAGE_SIZE + 1) + ". "));
+        assertTrue(tl.list(4).toString().startsWith("Invalid page"));
+        assertTrue(tl.list(0).toString().startsWith("Invalid page"));
+    }
+
+    @Test
+    void listCommand_parsesPage() throws Exception {
+        TaskList tl = filled(TaskList.LIST_PAGE_SIZE + 1);
+        assertEquals(tl.list(1).toString(), new ListCommand().execute(tl).message());
+        assertEquals(tl.list(2).toString(), new ListCommand("2").execute(tl).message());
+        assertTrue(new ListCommand("two").execute(tl).message().startsWith("Invalid page"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.arnavjhajharia.penguin.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static com.arnavjhajharia.penguin.model.TaskListFixtures.assertSameResults;
+import static com.arnavjhajharia.penguin.model.TaskListFixtures.fill;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListQueryCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void cachedFind_staysExact_throughChanges_inEveryMode() {
+        for (String mode : TaskListFixtures.MODES) {
+            for (boolean indexed : new boolean[] {false, true}) {
+                String label = mode + (indexed ? " with search index" : "");
+                TaskList expected = new TaskList(TaskList.UNBOUNDED);
+                fill(expected, new Random(25), 200);
+                TaskList cached = TaskListFixtures.open(mode, dir, 25, 200);
+                cached.enableQueryCache();
+                if (indexed) {
+                    cached.enableSearchIndex();
+                }
+                assertSameResults(expected, cached, label);
+
+                TaskListFixtures.changeBothAndCompare(expected, cached, new Random(3), 60, label);
+                assertTrue(cached.queryCacheStats().orElseThrow().hits() > 0, label);
+                cached.close();
+            }
+        }
+    }
+
+    @Test
+    void deleteBetweenIdenticalFinds_isStillAHit() {
+        TaskList expected = new TaskList(TaskList.UNBOUNDED);
+        TaskList cached = new TaskList(TaskList.UNBOUNDED);
+        fill(expected, new Random(12), 300);
+        fill(cached, new Random(12), 300);
+        cached.enableQueryCache();
+
+        assertEquals(expected.find("book").toString(), cached.find("book").toString());
+        expected.delete(0);
+        cached.delete(0);
+        expected.delete(TaskSelection.parse("100-150").orElseThrow());
+        cached.delete(TaskSelection.parse("100-150").orElseThrow());
+        assertEquals(expected.find("book").toString(), cached.find("book").toString());
+
+        QueryCache.Stats stats = cached.queryCacheStats().orElseThrow();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.cachedQueries());
+    }
+
+    @Test
+    void stats_countHitsAndEvictLeastRecentlyUsed() {
+        TaskList tasks = new TaskList(TaskList.UNBOUNDED);
+        assertTrue(tasks.queryCacheStats().isEmpty());
+        tasks.enableQueryCache(2);
+        tasks.add("read book", TaskType.TODO);
+        tasks.add("team meeting", TaskType.TODO);
+
+        tasks.find("book");
+        tasks.find("  BOOK ");     // same terms, so a hit
+        tasks.find("meeting");
+        tasks.find("book");        // makes "meeting" the least recently used
+        tasks.find("team");        // evicts "meeting"
+        tasks.find("meeting");     // evicts "book"
+        tasks.add("team building", TaskType.TODO);
+        assertTrue(tasks.find("team").toString().contains("team building"));
+
+        QueryCache.Stats stats = tasks.queryCacheStats().orElseThrow();
+        assertEquals(3, stats.hits());
+        assertEquals(4, stats.misses());
+        assertEquals(2, stats.evictions());
+        assertEquals(2, stats.cachedQueries());
+        assertEquals(3.0 / 7, stats.hitRate(), 1e-9);
+    }
+}
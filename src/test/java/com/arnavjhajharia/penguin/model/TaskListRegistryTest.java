@@ -0,0 +1,113 @@
+package com.arnavjhajharia.penguin.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    private TaskListRegistry inMemoryUntilEvicted(int maxOpen) {
+        return new TaskListRegistry(dir, maxOpen, file -> new TaskList(TaskList.UNBOUNDED, file));
+    }
+
+    @Test
+    void leastRecentlyUsedIdleList_isSavedAndClosed() {
+        TaskListRegistry registry = inMemoryUntilEvicted(2);
+        for (String name : List.of("alice", "bob")) {
+            try (TaskListRegistry.Lease lease = registry.acquire(name)) {
+                lease.tasks().add("task of " + name, TaskType.TODO);
+            }
+        }
+        try (TaskListRegistry.Lease lease = registry.acquire("alice")) {
+            assertEquals(1, lease.tasks().size()); // still open, so alice is now more recent than bob
+        }
+        registry.acquire("carol").close();
+
+        assertFalse(registry.isOpen("bob"));
+        assertTrue(registry.isOpen("alice"));
+        assertTrue(Files.exists(dir.resolve("bob.txt")));
+        try (TaskListRegistry.Lease lease = registry.acquire("bob")) {
+            assertTrue(lease.tasks().list().toString().contains("task of bob"));
+        }
+        registry.close();
+        assertEquals(0, registry.openCount());
+    }
+
+    @Test
+    void leasedList_isNeverEvicted() {
+        TaskListRegistry registry = inMemoryUntilEvicted(1);
+        TaskListRegistry.Lease held = registry.acquire("alice");
+        registry.acquire("bob").close();
+        registry.acquire("carol").close();
+
+        assertTrue(registry.isOpen("alice"));
+        held.tasks().add("still usable", TaskType.TODO);
+        held.close();
+        held.close(); // releasing twice has no effect
+        registry.acquire("dave").close();
+        assertFalse(registry.isOpen("alice"));
+        registry.close();
+    }
+
+    @Test
+    void invalidNames_areRejected() {
+        TaskListRegistry registry = inMemoryUntilEvicted(1);
+        for (String name : new String[] {"", "../etc", "a/b", ".hidden", "x".repeat(65), null}) {
+            assertThrows(IllegalArgumentException.class, () -> registry.acquire(name));
+        }
+        assertTrue(TaskListRegistry.isValidName("team-1.work_list"));
+    }
+
+    @Test
+    void concurrentUseWithEviction_losesNoTasks() throws Exception {
+        int threads = 8;
+        int lists = 16;
+        int addsPerThread = 400;
+        TaskListRegistry registry = inMemoryUntilEvicted(4);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            results.add(pool.submit(() -> {
+                Random rnd = new Random(seed);
+                int[] added = new int[lists];
+                for (int i = 0; i < addsPerThread; i++) {
+                    int list = rnd.nextInt(lists);
+                    try (TaskListRegistry.Lease lease = registry.acquire("list" + list)) {
+                        lease.tasks().add("task " + i, TaskType.TODO);
+                        added[list]++;
+                    }
+                }
+                return added;
+            }));
+        }
+        int[] expected = new int[lists];
+        for (Future<int[]> f : results) {
+            int[] added = f.get(60, TimeUnit.SECONDS);
+            for (int i = 0; i < lists; i++) {
+                expected[i] += added[i];
+            }
+        }
+        pool.shutdown();
+        registry.close();
+
+        for (int i = 0; i < lists; i++) {
+            TaskList reopened = new TaskList(TaskList.UNBOUNDED, dir.resolve("list" + i + ".txt").toString());
+            assertEquals(expected[i], reopened.size(), "list" + i);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.arnavjhajharia.penguin.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSelectionTest {
+
+    private static BitSet resolve(String raw, int size) {
+        return TaskSelection.parse(raw).orElseThrow().resolve(size, i -> i % 2 == 0, id -> id < size ? id : -1);
+    }
+
+    @Test
+    void parse_rangesListsAndIds() {
+        assertEquals(BitSet.valueOf(new long[] {0b1111}), resolve("1-4", 10));
+        assertEquals(BitSet.valueOf(new long[] {0b1000100100}), resolve("3, 6 ,#9", 10));
+        assertEquals(BitSet.valueOf(new long[] {0b11110}), resolve("2-3,3-5", 10));
+    }
+
+    @Test
+    void parse_status() {
+        assertEquals(BitSet.valueOf(new long[] {0b10101}), resolve("DONE", 5));
+        assertEquals(BitSet.valueOf(new long[] {0b01010}), resolve("undone", 5));
+    }
+
+    @Test
+    void parse_rejectsMalformedInput() {
+        assertTrue(TaskSelection.parse("").isEmpty());
+        assertTrue(TaskSelection.parse("5-2").isEmpty());
+        assertTrue(TaskSelection.parse("1,,2").isEmpty());
+        assertTrue(TaskSelection.parse("1-").isEmpty());
+        assertTrue(TaskSelection.parse("all").isEmpty());
+        assertTrue(TaskSelection.parse("#-1").isEmpty());
+    }
+
+    @Test
+    void isBulk_onlyForSeveralTasks() {
+        assertFalse(TaskSelection.parse("3").orElseThrow().isBulk());
+        assertFalse(TaskSelection.parse("#3").orElseThrow().isBulk());
+        assertFalse(TaskSelection.parse("3-3").orElseThrow().isBulk());
+        assertTrue(TaskSelection.parse("3-4").orElseThrow().isBulk());
+        assertTrue(TaskSelection.parse("3,#3").orElseThrow().isBulk());
+        assertTrue(TaskSelection.where(true).isBulk());
+    }
+
+    @Test
+    void invalidPositions_areReported() {
+        assertEquals(OptionalInt.of(10), TaskSelection.parse("5-12").orElseThrow().firstInvalidPosition(10));
+        assertEquals(OptionalInt.of(-1), TaskSelection.parse("0-3").orElseThrow().firstInvalidPosition(10));
+        assertEquals(OptionalInt.empty(), TaskSelection.parse("1-10,#99").orElseThrow().firstInvalidPosition(10));
+        assertNull(resolve("5-12", 10));
+        assertNull(resolve("#12", 10));
+    }
+}
@@ -0,0 +1,48 @@
+package com.arnavjhajharia.penguin.model;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSnapshotTest {
+
+    @Test
+    void randomChanges_matchArrayListAndLeaveOlderVersionsIntact() {
+        List<Task> expected = new ArrayList<>();
+        TaskSnapshot snap = TaskSnapshot.of(expected, 0);
+        List<Task> frozen = List.of();
+        TaskSnapshot frozenSnap = snap;
+        Random rnd = new Random(14);
+        for (int i = 1; i <= 30_000; i++) {
+            int op = rnd.nextInt(10);
+            if (!expected.isEmpty() && op < 3) {
+                int idx = op == 0 ? 0 : rnd.nextInt(expected.size());
+                expected.remove(idx);
+                snap = snap.withRemoved(idx, i);
+            } else if (!expected.isEmpty() && op < 5) {
+                int idx = rnd.nextInt(expected.size());
+                Task t = expected.get(idx).withDone(true);
+                expected.set(idx, t);
+                snap = snap.withReplaced(idx, t, i);
+            } else {
+                Task t = new Todo("task " + i, i);
+                expected.add(t);
+                snap = snap.withAppended(t, i);
+            }
+            if (i % 4_999 == 0) {
+                assertEquals(expected, snap);
+                assertEquals(frozen, frozenSnap);
+                frozen = List.copyOf(expected);
+                frozenSnap = snap;
+            }
+        }
+        assertEquals(expected, snap);
+        assertEquals(expected, TaskSnapshot.of(snap, 0));
+    }
+}
@@ -0,0 +1,72 @@
+package com.arnavjhajharia.penguin.model;
+
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TombstoneTaskListTest {
+
+    @Test
+    void randomOperations_matchArrayList() {
+        TombstoneTaskList list = new TombstoneTaskList(List.of(), 0.5);
+        List<Task> expected = new ArrayList<>();
+        Random rnd = new Random(13);
+        for (int i = 0; i < 20_000; i++) {
+            if (!expected.isEmpty() && rnd.nextInt(5) < 2) {
+                int idx = rnd.nextInt(3) == 0 ? 0 : rnd.nextInt(expected.size());
+                assertSame(expected.remove(idx), list.remove(idx));
+                list.compactIfDue();
+            } else {
+                Task t = new Todo("task " + i, i);
+                expected.add(t);
+                list.add(t);
+            }
+            if (i % 997 == 0) {
+                assertEquals(expected, list);
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        for (int i = expected.size() - 1; i >= 0; i -= 7) {
+            assertSame(expected.get(i), list.get(i));
+            assertEquals(i, list.indexOfSlot(list.slotOf(i)));
+        }
+        assertEquals(expected, new ArrayList<>(list));
+    }
+
+    @Test
+    void deletesFromHead_leaveTombstonesUntilThreshold() {
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            initial.add(new Todo("task " + i, i));
+        }
+        TombstoneTaskList list = new TombstoneTaskList(initial, 0.25);
+        for (int i = 0; i < 25; i++) {
+            list.remove(0);
+            assertFalse(list.compactIfDue());
+        }
+        assertEquals(25, list.deadCount());
+        assertEquals("task 25", list.get(0).getName());
+        assertEquals(-1, list.indexOfSlot(0));
+
+        list.remove(0);
+        assertTrue(list.compactIfDue());
+        assertEquals(0, list.deadCount());
+        assertEquals("task 26", list.get(0).getName());
+    }
+
+    @Test
+    void removingLastTask_givesSlotsBack() {
+        TombstoneTaskList list = new TombstoneTaskList(List.of(new Todo("a", 0), new Todo("b", 1), new Todo("c", 2)), 0.9);
+        list.remove(1);
+        list.remove(1);
+        assertEquals(1, list.slotCount());
+        list.add(new Todo("d", 3));
+        assertEquals("d", list.get(1).getName());
+    }
+}
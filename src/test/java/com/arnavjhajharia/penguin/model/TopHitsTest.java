@@ -0,0 +1,49 @@
+package com.arnavjhajharia.penguin.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopHitsTest {
+
+    @Test
+    void drain_returnsTheBestRanksBestFirst() {
+        Random rnd = new Random(24);
+        for (int k : new int[] {1, 5, 64}) {
+            long[] all = rnd.longs(200, 0, 1_000_000).distinct().toArray();
+            TopHits top = new TopHits(k);
+            for (int i = 0; i < all.length; i++) {
+                top.offer(all[i], i);
+            }
+            assertEquals(k, top.size());
+            long[] ranks = new long[k];
+            int[] positions = new int[k];
+            top.drainBestFirst(ranks, positions);
+            assertEquals(0, top.size());
+
+            long[] sorted = all.clone();
+            Arrays.sort(sorted);
+            for (int i = 0; i < k; i++) {
+                assertEquals(sorted[sorted.length - 1 - i], ranks[i]);
+                assertEquals(all[positions[i]], ranks[i]);
+            }
+        }
+    }
+
+    @Test
+    void drain_withFewerHitsThanK_keepsThemAll() {
+        TopHits top = new TopHits(10);
+        top.offer(5, 0);
+        top.offer(9, 1);
+        top.offer(7, 2);
+        long[] ranks = new long[3];
+        int[] positions = new int[3];
+        top.drainBestFirst(ranks, positions);
+        assertArrayEquals(new int[] {1, 2, 0}, positions);
+        assertEquals(9, ranks[0]);
+        assertEquals(5, ranks[2]);
+    }
+}
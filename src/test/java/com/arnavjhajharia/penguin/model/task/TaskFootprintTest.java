@@ -0,0 +1,92 @@
+package com.arnavjhajharia.penguin.model.task;
+
+import com.arnavjhajharia.penguin.storage.TaskLineParser;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFootprintTest {
+
+    private static final int TASKS = 30_000;
+
+    /** An imported list: a few dozen recurring descriptions, each parsed into its own string. */
+    private static Task[] imported() {
+        Task[] tasks = new Task[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            String desc = "daily standup with team " + (i % 40);
+            String line = switch (i % 3) {
+                case 0 -> "T | 0 | " + desc + " | #" + i;
+                case 1 -> "D | 1 | " + desc + " | 2025-09-" + (10 + i % 20) + " | #" + i;
+                default -> "E | 0 | " + desc + " | 2025-09-02T14:30 | 2025-09-02T15:00 | #" + i;
+            };
+            tasks[i] = TaskLineParser.parse(line, i);
+        }
+        return tasks;
+    }
+
+    /**
+     * What the same tasks kept reachable before descriptions were pooled and dates stored as numbers: a
+     * description per task, and the {@code java.time} objects (plus the raw deadline string) per task.
+     */
+    private static List<Object> previouslyRetained(Task[] tasks) {
+        List<Object> extra = new ArrayList<>();
+        for (Task t : tasks) {
+            extra.add(new String(t.getName()));
+            if (t instanceof Deadline d) {
+                extra.add(d.getDate());
+                extra.add(d.getDate().toString());
+            } else if (t instanceof Event e) {
+                extra.add(e.getStart());
+                extra.add(e.getEnd());
+            }
+        }
+        return extra;
+    }
+
+    @Test
+    void importedList_sharesDescriptionsAndHoldsNoDateObjects() {
+        Task[] tasks = imported();
+        long after = GraphLayout.parseInstance((Object) tasks).totalSize();
+        long before = after + GraphLayout.parseInstance(previouslyRetained(tasks).toArray()).totalSize();
+
+        System.out.printf("bytes per task: before %d, after %d%n", before / TASKS, after / TASKS);
+        // 40 bytes, plus the slot for the cached search text (empty until the first find).
+        assertTrue(after / TASKS <= 44, "after: " + after / TASKS);
+        assertTrue(after * 3 < before, "before: " + before / TASKS + ", after: " + after / TASKS);
+        assertSame(tasks[0].getName(), tasks[40].getName());
+    }
+
+    @Test
+    void dates_roundTripThroughNumbers() {
+        Deadline d = new Deadline("return book", 1, "2025-09-02");
+        assertEquals("2025-09-02", d.getDate().toString());
+        assertEquals(d.getEpochDay(), Deadline.ofEpochDay("return book", 1, d.getEpochDay()).getEpochDay());
+
+        Event e = new Event("meeting", 2, "1969-12-31T23:59:30.5", "2025-09-02T15:00");
+        assertEquals("1969-12-31T23:59:30", e.getStart().toString()); // kept to the second
+        assertEquals(e.toStorageLine(),
+                Event.ofEpochSeconds("meeting", 2, e.getStartEpochSecond(), e.getEndEpochSecond()).toStorageLine());
+        assertThrows(IllegalArgumentException.class,
+                () -> new Event("blink", 3, "2025-09-02T15:00:10.2", "2025-09-02T15:00:10.8"));
+    }
+
+    @Test
+    void searchText_isCachedUntilDoneStatusChanges() {
+        Deadline d = new Deadline("Return BOOK, now", 1, "2025-09-03");
+        String text = d.searchText();
+        assertEquals("[d] [] return book, now (by: sep 3, 2025)", text);
+        assertSame(text, d.searchText());
+        assertArrayEquals(new Object[] {"d", "return", "book", "now", "by", "sep", "3", "2025"}, d.searchWords());
+
+        d.markDone();
+        assertEquals("[d] [x] return book, now (by: sep 3, 2025)", d.searchText());
+        assertEquals("x", d.searchWords()[1]);
+        assertEquals("[D] [] Return BOOK, now (by: Sep 3, 2025)", d.withDone(false).toString());
+        assertEquals("[E] [X] meeting (from: Sep 2, 2025 2:30 PM to: Sep 2, 2025 3:00 PM)",
+                new Event("meeting", 2, "2025-09-02T14:30", "2025-09-02T15:00").withDone(true).toString());
+    }
+}
@@ -0,0 +1,125 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskType;
+import com.arnavjhajharia.penguin.model.task.Event;
+import com.arnavjhajharia.penguin.model.task.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryTaskCodecTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void binarySave_roundTripsEveryTaskType() {
+        String file = dir.resolve("tasks.bin").toString();
+        TaskList tl = new TaskList(10, file);
+        tl.setStorageFormat(StorageFormat.BINARY);
+        tl.add("read book", TaskType.TODO);
+        tl.add("return book /by 2025-09-02", TaskType.DEADLINE);
+        tl.add("café meetup /from 2025-08-06T14:00 /to 2025-08-06T16:30", TaskType.EVENT);
+        tl.markDone(2);
+        assertTrue(tl.save());
+
+        assertTrue(BinaryTaskCodec.isBinary(Path.of(file)));
+        TaskList reopened = new TaskList(10, file);
+        assertEquals(StorageFormat.BINARY, reopened.getStorageFormat());
+        assertEquals(tl.list().toString(), reopened.list().toString());
+    }
+
+    @Test
+    void subMinuteEvent_roundTripsToTheSecond() throws Exception {
+        long start = LocalDateTime.of(2025, 8, 6, 10, 0, 10).toEpochSecond(ZoneOffset.UTC);
+        for (StorageFormat format : new StorageFormat[] {StorageFormat.BINARY, StorageFormat.INDEXED}) {
+            String file = dir.resolve("events-" + format).toString();
+            TaskList tl = new TaskList(10, file);
+            tl.setStorageFormat(format);
+            tl.add("stand-up /from 2025-08-06T10:00:10 /to 2025-08-06T10:00:50", TaskType.EVENT);
+            assertTrue(tl.save());
+
+            List<Task> read = new ArrayList<>();
+            if (format == StorageFormat.BINARY) {
+                BinaryTaskCodec.read(Path.of(file), 0, read::add);
+            } else {
+                new IndexedTaskStore(file).load(0, 10, read::add);
+            }
+            Event e = (Event) read.get(0);
+            assertEquals(start, e.getStartEpochSecond());
+            assertEquals(start + 40, e.getEndEpochSecond());
+            assertEquals(tl.list().toString(), new TaskList(10, file).list().toString());
+        }
+        String file = dir.resolve("events-BINARY").toString();
+        assertEquals(1, new TaskList(10, file, 4).size()); // paged mode indexes the variable-length times
+    }
+
+    @Test
+    void minutePrecisionFile_isStillRead_andBadTimesAreReportedAsCorrupt() throws Exception {
+        long minute = LocalDateTime.of(2025, 8, 6, 10, 0).toEpochSecond(ZoneOffset.UTC) / 60;
+        Path file = dir.resolve("old.bin");
+        Files.write(file, versionTwoEvent(minute, minute + 30));
+        List<Task> read = new ArrayList<>();
+        BinaryTaskCodec.read(file, 0, read::add);
+        assertEquals(minute * 60, ((Event) read.get(0)).getStartEpochSecond());
+        assertEquals((minute + 30) * 60, ((Event) read.get(0)).getEndEpochSecond());
+
+        Files.write(file, versionTwoEvent(minute, minute));
+        assertThrows(IOException.class, () -> BinaryTaskCodec.read(file, 0, t -> true));
+        assertEquals(0, new TaskList(10, file.toString()).size());
+    }
+
+    private static byte[] versionTwoEvent(long startMinute, long endMinute) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeBytes("PNGB");
+        out.writeByte(BinaryTaskCodec.VERSION_WITH_MINUTES);
+        out.writeLong(0);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeBytes("E");
+        out.writeByte(0);
+        out.writeByte(0);                 // id
+        out.writeByte(2);                 // description length
+        out.writeBytes("ab");
+        out.writeLong(startMinute);
+        out.writeLong(endMinute);
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void loader_detectsTextFormat() throws Exception {
+        Path file = dir.resolve("tasks.txt");
+        Files.writeString(file, "T | 1 | read book\nD | 0 | return book | 2025-09-02\n");
+
+        assertFalse(BinaryTaskCodec.isBinary(file));
+        TaskList tl = new TaskList(10, file.toString());
+        assertEquals(StorageFormat.TEXT, tl.getStorageFormat());
+        assertEquals(2, tl.size());
+    }
+
+    @Test
+    void read_stopsWhenSinkRefuses() throws Exception {
+        String file = dir.resolve("tasks.bin").toString();
+        TaskList tl = new TaskList(10);
+        tl.setStorageFormat(StorageFormat.BINARY);
+        for (int i = 0; i < 5; i++) {
+            tl.add("task " + i, TaskType.TODO);
+        }
+        assertTrue(tl.saveToFile(file));
+
+        assertEquals(3, new TaskList(3, file).size());
+    }
+}
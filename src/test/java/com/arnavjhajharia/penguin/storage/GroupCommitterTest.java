@@ -0,0 +1,137 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void submits_madeDuringASync_shareTheNext() throws Exception {
+        AtomicInteger syncs = new AtomicInteger();
+        GroupCommitter committer = new GroupCommitter(() -> {
+            syncs.incrementAndGet();
+            try {
+                Thread.sleep(1); // a slow device
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    committer.submit().join();
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread w : writers) {
+            w.join();
+        }
+        committer.close();
+
+        assertTrue(syncs.get() < 400, "expected shared syncs for 800 commits, got " + syncs.get());
+        assertEquals(syncs.get(), committer.batches());
+    }
+
+    @Test
+    void loneWriter_isSyncedAtOnce() {
+        AtomicInteger syncs = new AtomicInteger();
+        GroupCommitter committer = new GroupCommitter(syncs::incrementAndGet);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 2_000; i++) {
+            committer.submit().join();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        committer.close();
+
+        assertEquals(2_000, syncs.get());
+        assertTrue(millis < 1_000, "a lone commit must not wait for others; 2000 took " + millis + " ms");
+    }
+
+    @Test
+    void failedSync_failsWholeBatch() {
+        GroupCommitter committer = new GroupCommitter(() -> {
+            throw new IOException("disk gone");
+        });
+
+        CompletableFuture<Void> commit = committer.submit();
+
+        assertThrows(CompletionException.class, commit::join);
+        committer.close();
+        assertTrue(committer.submit().isCompletedExceptionally());
+    }
+
+    @Test
+    void journal_awaitDurable_coversEveryMutation() {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList tl = new TaskList(10_000, file);
+        assertTrue(tl.enableJournal());
+        assertTrue(tl.enableGroupCommit());
+
+        for (int i = 0; i < 2_000; i++) {
+            tl.add("task " + i, TaskType.TODO);
+        }
+        tl.markDone(7);
+        assertTrue(tl.awaitDurable());
+        tl.close(); // simulate a crash: no save()
+
+        TaskList reopened = new TaskList(10_000, file);
+        assertEquals(2_000, reopened.size());
+        assertTrue(reopened.list().toString().contains("8. [T] [X] task 7"));
+    }
+
+    @Test
+    void journal_addThenAwaitEachCommand_keepsUpWithPlainFsync() throws IOException {
+        int commands = 300;
+        // Baseline: one write and one fsync per command, on the same device.
+        long fsyncNanos;
+        try (FileChannel channel = FileChannel.open(dir.resolve("baseline.log"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < commands; i++) {
+                channel.write(ByteBuffer.wrap(("A T task " + i + "\n").getBytes(StandardCharsets.UTF_8)));
+                channel.force(false);
+            }
+            fsyncNanos = System.nanoTime() - start;
+        }
+
+        // As the Simulator runs commands: each one is awaited before the next is read.
+        TaskList tl = new TaskList(TaskList.UNBOUNDED, dir.resolve("tasks.txt").toString());
+        assertTrue(tl.enableJournal());
+        assertTrue(tl.enableGroupCommit());
+        long start = System.nanoTime();
+        for (int i = 0; i < commands; i++) {
+            tl.add("task " + i, TaskType.TODO);
+            assertTrue(tl.awaitDurable());
+        }
+        long groupNanos = System.nanoTime() - start;
+        tl.close();
+
+        // Allows 1 ms of overhead per command over a plain fsync; waiting for a batch window alone costs more.
+        long allowedNanos = fsyncNanos + commands * 1_000_000L;
+        assertTrue(groupNanos < allowedNanos, String.format("%d commands took %d ms; plain fsync took %d ms",
+                commands, groupNanos / 1_000_000, fsyncNanos / 1_000_000));
+    }
+}
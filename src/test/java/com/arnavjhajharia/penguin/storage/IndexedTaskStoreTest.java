@@ -0,0 +1,206 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskType;
+import com.arnavjhajharia.penguin.model.task.Deadline;
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedTaskStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<String> lines(List<Task> tasks) {
+        List<String> out = new ArrayList<>();
+        for (Task t : tasks) {
+            out.add(t.toStorageLine());
+        }
+        return out;
+    }
+
+    private static List<Task> loadAll(String file) throws Exception {
+        List<Task> out = new ArrayList<>();
+        IndexedTaskStore store = new IndexedTaskStore(file);
+        store.load(0, Integer.MAX_VALUE, out::add);
+        store.close();
+        return out;
+    }
+
+    @Test
+    void onlyTheIndexedFormat_updatesInPlace() {
+        String file = dir.resolve("tasks").toString();
+        assertInstanceOf(IncrementalTaskStore.class, TaskStore.open(file, StorageFormat.INDEXED));
+        assertFalse(TaskStore.open(file, StorageFormat.BINARY) instanceof IncrementalTaskStore);
+        assertFalse(TaskStore.open(file, StorageFormat.TEXT) instanceof IncrementalTaskStore);
+    }
+
+    @Test
+    void pointUpdates_matchInMemoryList() throws Exception {
+        String file = dir.resolve("tasks.idx").toString();
+        IndexedTaskStore store = new IndexedTaskStore(file);
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Task t = i % 3 == 0 ? new Deadline("return book " + i, i, "2025-09-02") : new Todo("read chapter " + i, i);
+            store.append(t);
+            expected.add(t);
+        }
+        for (int i = 0; i < expected.size(); i += 7) {
+            store.setDone(i, true);
+            expected.get(i).markDone();
+        }
+        for (int i = expected.size() - 1; i >= 0; i -= 3) {
+            store.delete(i);
+            expected.remove(i);
+        }
+        // Empty whole leaves at the front so that pages are freed and reused.
+        for (int i = 0; i < 400; i++) {
+            store.delete(0);
+            expected.remove(0);
+        }
+        for (int i = 0; i < 500; i++) {
+            Task t = new Todo("late " + i, i);
+            store.append(t);
+            expected.add(t);
+        }
+        assertEquals(expected.size(), store.size());
+        store.close();
+
+        assertEquals(lines(expected), lines(loadAll(file)));
+        assertEquals(StorageFormat.INDEXED, StorageFormat.detect(Path.of(file)));
+    }
+
+    @Test
+    void bulkUpdates_matchInMemoryList() throws Exception {
+        String file = dir.resolve("tasks.idx").toString();
+        IndexedTaskStore store = new IndexedTaskStore(file);
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Task t = new Todo("read chapter " + i, i);
+            store.append(t);
+            expected.add(t);
+        }
+        int[] marked = new int[1_000];
+        for (int i = 0; i < marked.length; i++) {
+            marked[i] = i * 5;
+            expected.get(i * 5).markDone();
+        }
+        store.setDoneAll(marked, true);
+        int[] deleted = new int[2_500];
+        for (int i = 0; i < deleted.length; i++) {
+            deleted[i] = i < 2_000 ? i : 2_000 + (i - 2_000) * 2;
+        }
+        for (int i = deleted.length - 1; i >= 0; i--) {
+            expected.remove(deleted[i]);
+        }
+        store.deleteAll(deleted);
+        assertEquals(expected.size(), store.size());
+        store.close();
+
+        assertEquals(lines(expected), lines(loadAll(file)));
+    }
+
+    @Test
+    void range_readsOnlyRequestedPositions() throws Exception {
+        String file = dir.resolve("tasks.idx").toString();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            tasks.add(new Todo("task " + i, i));
+        }
+        IndexedTaskStore store = new IndexedTaskStore(file);
+        assertTrue(store.save(new SnapshotHeader(9, 3_000), tasks));
+
+        List<Task> slice = store.range(1_234, 1_240);
+        assertEquals(lines(tasks.subList(1_234, 1_240)), lines(slice));
+        assertEquals(2, store.range(2_998, 5_000).size());
+        assertEquals(new SnapshotHeader(9, 3_000), store.load(0, 10, t -> { }));
+        store.close();
+    }
+
+    @Test
+    void interruptedUpdate_isRolledBackOnOpen() throws Exception {
+        String file = dir.resolve("tasks.idx").toString();
+        IndexedTaskStore store = new IndexedTaskStore(file);
+        store.append(new Todo("read book", 0));
+        store.close();
+        byte[] committed = Files.readAllBytes(Path.of(file));
+
+        // Simulate a crash after the rollback file was written and the pages were partly overwritten.
+        Path rollback = Path.of(file + ".rollback");
+        writeRollback(rollback, committed);
+        Files.write(Path.of(file), new byte[2 * IndexedTaskStore.PAGE_SIZE + 10]);
+
+        assertEquals(List.of("T | 0 | read book | #0"), lines(loadAll(file)));
+        assertFalse(Files.exists(rollback));
+    }
+
+    @Test
+    void taskList_writesThroughIndexedStore() {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList tl = new TaskList(10_000, file);
+        tl.add("read book", TaskType.TODO);
+        tl.setStorageFormat(StorageFormat.INDEXED);
+        assertTrue(tl.save());
+
+        tl.add("return book /by 2025-09-02", TaskType.DEADLINE);
+        tl.markDone(0);
+        tl.add("write essay", TaskType.TODO);
+        tl.delete(1);
+        tl.close();
+
+        // Never saved after the mutations, yet the file has them all.
+        TaskList reopened = new TaskList(10_000, file);
+        assertEquals(tl.list().toString(), reopened.list().toString());
+        assertEquals(StorageFormat.INDEXED, reopened.getStorageFormat());
+        reopened.close();
+    }
+
+    @Test
+    void minutePrecisionFile_isUpgradedOnOpen() throws Exception {
+        String file = dir.resolve("tasks.idx").toString();
+        IndexedTaskStore store = new IndexedTaskStore(file);
+        store.append(new Todo("read book", 0));
+        store.append(new Deadline("return book", 1, "2025-09-02"));
+        store.close();
+        // Records without event times are the same in version 2; mark the file as that version.
+        byte[] bytes = Files.readAllBytes(Path.of(file));
+        bytes[4] = 2;
+        Files.write(Path.of(file), bytes);
+
+        IndexedTaskStore reopened = new IndexedTaskStore(file);
+        reopened.append(new Todo("write essay", 2));
+        reopened.close();
+        assertEquals(3, Files.readAllBytes(Path.of(file))[4]);
+        assertEquals(List.of("T | 0 | read book | #0", "D | 0 | return book | 2025-09-02 | #1", "T | 0 | write essay | #2"),
+                lines(loadAll(file)));
+    }
+
+    @Test
+    void oversizedTask_isRejected() {
+        IndexedTaskStore store = new IndexedTaskStore(dir.resolve("tasks.idx").toString());
+        assertThrows(IllegalArgumentException.class, () -> store.append(new Todo("x".repeat(2_000), 0)));
+        store.close();
+    }
+
+    /** Writes a rollback file that restores every page of {@code committed}, in the store's layout. */
+    private static void writeRollback(Path rollback, byte[] committed) throws Exception {
+        int pages = committed.length / IndexedTaskStore.PAGE_SIZE;
+        ByteBuffer buf = ByteBuffer.allocate(Integer.BYTES * (pages + 2) + committed.length);
+        buf.putInt(pages);
+        for (int p = 0; p < pages; p++) {
+            buf.putInt(p).put(committed, p * IndexedTaskStore.PAGE_SIZE, IndexedTaskStore.PAGE_SIZE);
+        }
+        buf.putInt(-1);
+        Files.write(rollback, buf.array());
+    }
+}
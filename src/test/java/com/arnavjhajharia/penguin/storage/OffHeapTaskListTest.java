@@ -0,0 +1,114 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskSelection;
+import com.arnavjhajharia.penguin.model.TaskType;
+import com.arnavjhajharia.penguin.model.task.Deadline;
+import com.arnavjhajharia.penguin.model.task.Event;
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTaskListTest {
+
+    @TempDir
+    Path dir;
+
+    private static Task task(int i) {
+        Task t = switch (i % 3) {
+            case 0 -> new Todo("read chapter " + i + " — ünïcode", i);
+            case 1 -> new Deadline("return book " + i, i, "2025-09-02");
+            default -> new Event("meeting " + i, i, "2025-09-02T14:30:15", "2025-09-02T15:00");
+        };
+        if (i % 4 == 0) {
+            t.markDone();
+        }
+        return t;
+    }
+
+    private static List<String> lines(List<Task> tasks) {
+        List<String> out = new ArrayList<>();
+        for (Task t : tasks) {
+            out.add(t.toStorageLine());
+        }
+        return out;
+    }
+
+    @Test
+    void arena_behavesLikeArrayList() {
+        OffHeapTaskList arena = new OffHeapTaskList(256); // tiny chunks, to cross and compact them often
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            arena.add(task(i));
+            expected.add(task(i));
+        }
+        assertEquals(lines(expected), lines(arena));
+
+        for (int i = 0; i < 1_000; i += 3) {
+            arena.remove(i);
+            expected.remove(i);
+        }
+        arena.removeAll(new int[] {0, 1, 2, 500, 501});
+        for (int i : new int[] {501, 500, 2, 1, 0}) {
+            expected.remove(i);
+        }
+        arena.set(7, task(9_999));
+        expected.set(7, task(9_999));
+        arena.setDone(8, true);
+        expected.get(8).markDone();
+
+        assertEquals(lines(expected), lines(arena));
+        assertEquals(expected.get(8).getId(), arena.idAt(8));
+        assertTrue(arena.isDone(8));
+        assertEquals('E', arena.typeAt(expected.indexOf(expected.stream().filter(t -> t instanceof Event)
+                .findFirst().orElseThrow())));
+
+        long before = arena.arenaBytes();
+        int[] head = new int[1_200];
+        for (int i = 0; i < head.length; i++) {
+            head[i] = i;
+        }
+        arena.removeAll(head); // leaves most of the arena dead, so it is compacted
+        expected.subList(0, head.length).clear();
+        assertEquals(lines(expected), lines(arena));
+        assertTrue(arena.arenaBytes() < before / 2);
+        arena.clear();
+        assertTrue(arena.isEmpty());
+    }
+
+    @Test
+    void offHeapMode_behavesLikeInMemoryList() {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList memory = new TaskList(TaskList.UNBOUNDED);
+        TaskList offHeap = new TaskList(TaskList.UNBOUNDED);
+        assertTrue(offHeap.enableOffHeap(1 << 12));
+        assertFalse(offHeap.enableTombstones());
+        for (TaskList tl : new TaskList[] {memory, offHeap}) {
+            for (int i = 0; i < 3_000; i++) {
+                tl.add(i % 2 == 0 ? "read chapter " + i : "return book " + i + " /by 2025-09-02",
+                        i % 2 == 0 ? TaskType.TODO : TaskType.DEADLINE);
+            }
+            tl.markDone(57);
+            tl.delete(3);
+            tl.mark(TaskSelection.parse("100-200").orElseThrow(), true);
+            tl.delete(TaskSelection.parse("done").orElseThrow());
+        }
+        assertTrue(offHeap.snapshot().isEmpty());
+        assertEquals(memory.list().toString(), offHeap.list().toString());
+        assertEquals(memory.find("chapter 58").toString(), offHeap.find("chapter 58").toString());
+        assertEquals(memory.indexOfId(2_000), offHeap.indexOfId(2_000));
+
+        assertTrue(offHeap.saveToFile(file));
+        TaskList loaded = new TaskList(TaskList.UNBOUNDED);
+        assertTrue(loaded.enableOffHeap());
+        loaded.loadFromFile(file);
+        assertEquals(memory.list().toString(), loaded.list().toString());
+    }
+}
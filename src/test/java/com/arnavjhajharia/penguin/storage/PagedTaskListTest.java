@@ -0,0 +1,69 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedTaskListTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pagedList_behavesLikeInMemoryList() {
+        String file = dir.resolve("tasks.bin").toString();
+        TaskList memory = new TaskList(10_000);
+        memory.setStorageFormat(StorageFormat.BINARY);
+        for (int i = 0; i < 3_000; i++) {
+            memory.add(i % 2 == 0 ? "read chapter " + i : "return book " + i + " /by 2025-09-02",
+                    i % 2 == 0 ? TaskType.TODO : TaskType.DEADLINE);
+        }
+        assertTrue(memory.saveToFile(file));
+
+        TaskList paged = new TaskList(10_000, file, 2);
+        assertEquals(memory.list().toString(), paged.list().toString());
+
+        for (TaskList tl : new TaskList[] {memory, paged}) {
+            tl.markDone(57);
+            tl.delete(3);
+            tl.add("write essay", TaskType.TODO);
+            tl.markDone(tl.size() - 1);
+        }
+        // Touch every page so that the page holding task 57 is evicted and read again.
+        assertEquals(memory.list().toString(), paged.list().toString());
+        assertEquals(memory.find("chapter 58").toString(), paged.find("chapter 58").toString());
+
+        PagedTaskList.Stats stats = paged.pageCacheStats().orElseThrow();
+        assertTrue(stats.misses() > 0);
+        assertTrue(stats.hits() > 0);
+        assertTrue(stats.evictions() > 0);
+        assertTrue(stats.cachedPages() <= 2);
+        assertTrue(memory.pageCacheStats().isEmpty());
+
+        assertTrue(paged.save());
+        assertEquals(memory.list().toString(), new TaskList(10_000, file).list().toString());
+        assertEquals(memory.list().toString(), paged.list().toString());
+    }
+
+    @Test
+    void textSnapshot_isConvertedOnOpen() throws Exception {
+        Path file = dir.resolve("tasks.txt");
+        Files.writeString(file, "# checkpoint 4\nT | 1 | read book\nE | 0 | standup | 2025-08-06T14:00 | 2025-08-06T16:00\n");
+
+        PagedTaskList list = PagedTaskList.open(file, 1);
+
+        assertTrue(BinaryTaskCodec.isBinary(file));
+        assertEquals(4, list.checkpoint());
+        assertEquals(2, list.size());
+        assertTrue(list.isDone(0));
+        assertEquals('E', list.typeAt(1));
+        assertEquals("T | 1 | read book | #0", list.get(0).toStorageLine());
+        list.close();
+    }
+}
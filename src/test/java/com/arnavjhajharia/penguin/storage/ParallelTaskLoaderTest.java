@@ -0,0 +1,87 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.logic.FileParser;
+import com.arnavjhajharia.penguin.model.task.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTaskLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void load_matchesSequentialOrder() throws Exception {
+        Path file = writeSnapshot(120_000);
+
+        ParallelTaskLoader.Result result = ParallelTaskLoader.load(file.toString(), 0, Integer.MAX_VALUE);
+
+        List<String> expected = new ArrayList<>();
+        FileParser.streamLines(file.toString(), line -> {
+            Task t = TaskLineParser.parse(line, expected.size());
+            if (t != null) expected.add(t.toStorageLine());
+            return true;
+        });
+        assertEquals(7, result.checkpoint());
+        assertEquals(expected.size(), result.tasks().size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), result.tasks().get(i).toStorageLine());
+        }
+    }
+
+    @Test
+    void load_respectsMaxTasks() throws Exception {
+        Path file = writeSnapshot(120_000);
+
+        ParallelTaskLoader.Result result = ParallelTaskLoader.load(file.toString(), 0, 1_000);
+        assertEquals(1_000, result.tasks().size());
+        assertEquals("T | 0 | task 0 | #0", result.tasks().get(0).toStorageLine());
+    }
+
+    @Test
+    void load_handsTasksToSinkInFileOrder() throws Exception {
+        Path file = writeSnapshot(120_000);
+        List<Task> all = ParallelTaskLoader.load(file.toString(), 0, Integer.MAX_VALUE).tasks();
+
+        List<Task> received = new ArrayList<>();
+        SnapshotHeader header = ParallelTaskLoader.load(file.toString(), 0, 50_001, received::add);
+        assertEquals(7, header.checkpoint());
+        assertEquals(50_001, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(all.get(i).toStorageLine(), received.get(i).toStorageLine());
+        }
+    }
+
+    @Test
+    void isTaskLine_agreesWithParse() {
+        for (String line : List.of("T | 1 | read", " d|0|x|2025-01-01", "T | 1 |  ", "X | 0 | a", "# checkpoint 3", "# next-id 9", "T | 1 | read | #3", "", "T x | 0 | a")) {
+            assertEquals(TaskLineParser.parse(line, 0) != null, TaskLineParser.isTaskLine(line), line);
+        }
+    }
+
+    private Path writeSnapshot(int lines) throws Exception {
+        Path file = dir.resolve("tasks.txt");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write(TaskJournal.checkpointHeader(7));
+            out.newLine();
+            for (int i = 0; i < lines; i++) {
+                out.write(switch (i % 4) {
+                    case 0 -> "T | 0 | task " + i;
+                    case 1 -> "D | 1 | deadline " + i + " | 2025-09-0" + (1 + i % 9);
+                    case 2 -> "";
+                    default -> "E | 0 | event " + i + " | 2025-08-06T14:00 | 2025-08-06T16:00";
+                });
+                out.newLine();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,112 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskType;
+import com.arnavjhajharia.penguin.model.task.Task;
+import com.arnavjhajharia.penguin.model.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFlusherTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mark_patchesSingleByte() {
+        String file = dir.resolve("tasks.bin").toString();
+        TaskList tl = new TaskList(20_000, file);
+        for (int i = 0; i < 10_000; i++) {
+            tl.add("task " + i, TaskType.TODO);
+        }
+        assertTrue(tl.enableAutoSave());
+        long before = tl.autoSaveBytesWritten();
+
+        tl.markDone(57);
+        assertTrue(tl.save());
+
+        assertEquals(1, tl.autoSaveBytesWritten() - before);
+        tl.close();
+        TaskList reopened = new TaskList(20_000, file);
+        assertEquals(10_000, reopened.size());
+        assertEquals(tl.list().toString(), reopened.list().toString());
+    }
+
+    @Test
+    void mixedChanges_matchInMemoryList() {
+        String file = dir.resolve("tasks.bin").toString();
+        TaskList tl = new TaskList(100, file);
+        assertTrue(tl.enableAutoSave());
+
+        tl.add("read book", TaskType.TODO);
+        tl.add("return book /by 2025-09-02", TaskType.DEADLINE);
+        tl.markDone(1);
+        tl.add("standup /from 2025-08-06T14:00 /to 2025-08-06T16:30", TaskType.EVENT);
+        tl.delete(0);
+        tl.add("write essay", TaskType.TODO);
+        tl.markDone(2);
+        tl.markUndone(0);
+        tl.close(); // flushes without save()
+
+        assertEquals(tl.list().toString(), new TaskList(100, file).list().toString());
+    }
+
+    @Test
+    void deletingNewestTask_doesNotFreeItsIdAfterReload() {
+        String file = dir.resolve("tasks.bin").toString();
+        TaskList tl = new TaskList(100, file);
+        assertTrue(tl.enableAutoSave());
+        tl.add("read book", TaskType.TODO);      // #0
+        tl.add("scratch", TaskType.TODO);        // #1, deleted before it reaches the file
+        tl.delete(1);
+        tl.close();
+
+        TaskList reopened = new TaskList(100, file);
+        reopened.add("write essay", TaskType.TODO);
+        assertTrue(reopened.list().toString().contains("write essay (#2)"), reopened.list().toString());
+        reopened.close();
+    }
+
+    @Test
+    void rewrite_neverLowersTheStoredNextId() throws Exception {
+        Path file = dir.resolve("tasks.bin");
+        Todo first = new Todo("read book", 0);
+        PatchableSnapshot snapshot = PatchableSnapshot.create(file.toString(), 10, List.of(first, new Todo("scratch", 1)));
+
+        snapshot.rewrite(new Task[] {first}, 1); // a caller with an older view of the next id
+        snapshot.close();
+
+        assertEquals(10, BinaryTaskCodec.read(file, 0, t -> true).nextId());
+    }
+
+    @Test
+    void debounce_flushesWithoutSave() throws Exception {
+        String file = dir.resolve("tasks.bin").toString();
+        TaskList tl = new TaskList(100, file);
+        assertTrue(tl.enableAutoSave(10, 50));
+        long before = tl.autoSaveBytesWritten();
+
+        tl.add("read book", TaskType.TODO);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (tl.autoSaveBytesWritten() == before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertTrue(tl.autoSaveBytesWritten() > before);
+        assertEquals(1, new TaskList(100, file).size());
+        tl.close();
+    }
+
+    @Test
+    void journalAndAutoSave_areExclusive() {
+        TaskList tl = new TaskList(10, dir.resolve("tasks.txt").toString());
+        assertTrue(tl.enableJournal());
+        assertFalse(tl.enableAutoSave());
+        tl.close();
+    }
+}
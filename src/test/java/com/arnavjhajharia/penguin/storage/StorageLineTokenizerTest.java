@@ -0,0 +1,67 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.model.task.Deadline;
+import com.arnavjhajharia.penguin.model.task.Event;
+import com.arnavjhajharia.penguin.model.task.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageLineTokenizerTest {
+
+    @Test
+    void tokenize_agreesWithRegexSplit() {
+        StorageLineTokenizer fields = new StorageLineTokenizer();
+        for (String line : List.of(
+                "T | 1 | read book",
+                "  D|0|  return book  |2025-09-02  ",
+                "T | 0 | trailing | | ",
+                "E | 0 | a |  | 2025-08-06T16:00",
+                "   ",
+                "|",
+                "T")) {
+            String[] expected = line.trim().split("\\s*\\|\\s*");
+            if (expected.length == 1 && expected[0].isEmpty()) expected = new String[0];
+
+            String[] actual = new String[fields.tokenize(line)];
+            for (int i = 0; i < actual.length; i++) actual[i] = fields.field(i);
+
+            assertEquals(Arrays.asList(expected), Arrays.asList(actual), line);
+        }
+    }
+
+    @Test
+    void parse_readsIsoDatesInPlace() {
+        Task d = TaskLineParser.parse("d | true | return book | 2025-09-02", 3);
+        Task e = TaskLineParser.parse("E | 0 | standup | 2025-08-07T10:00 | 2025-08-07T11:00:30", 4);
+
+        assertInstanceOf(Deadline.class, d);
+        assertTrue(d.isDone());
+        assertEquals("D | 1 | return book | 2025-09-02 | #3", d.toStorageLine());
+        assertInstanceOf(Event.class, e);
+        assertEquals("E | 0 | standup | 2025-08-07T10:00:00 | 2025-08-07T11:00:30 | #4", e.toStorageLine());
+    }
+
+    @Test
+    void parse_prefersStoredId() {
+        assertEquals(42, TaskLineParser.parse("T | 0 | read book | #42", 7).getId());
+        assertEquals(42, TaskLineParser.parse("E | 0 | standup | 2025-08-07T10:00 | 2025-08-07T11:00 | #42", 7).getId());
+        assertEquals(7, TaskLineParser.parse("T | 0 | read book", 7).getId());
+        assertEquals(12, TaskLineParser.parseNextId(TaskLineParser.nextIdHeader(12)));
+        assertEquals(-1, TaskLineParser.parseNextId("T | 0 | read book"));
+    }
+
+    @Test
+    void parse_keepsOriginalErrors() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> TaskLineParser.parse("D | 0 | x | 2025-02-30", 0));
+        assertTrue(ex.getMessage().contains("2025-02-30"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TaskLineParser.parse("E | 0 | x | 2025-08-07T10:00", 0));
+        assertNull(TaskLineParser.parse("Q | 0 | x", 0));
+        assertNull(TaskLineParser.parse("T | 0", 0));
+    }
+}
@@ -0,0 +1,201 @@
+package com.arnavjhajharia.penguin.storage;
+
+import com.arnavjhajharia.penguin.model.TaskList;
+import com.arnavjhajharia.penguin.model.TaskType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mutations_withoutSave_areRecoveredFromJournal() {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList tl = new TaskList(10, file);
+        assertTrue(tl.enableJournal());
+        tl.add("read book", TaskType.TODO);
+        tl.add("return book /by 2025-09-02", TaskType.DEADLINE);
+        tl.add("scratch", TaskType.TODO);
+        tl.markDone(1);
+        tl.delete(2);
+        tl.close(); // simulate a crash: no save()
+
+        TaskList reopened = new TaskList(10, file);
+        assertEquals(2, reopened.size());
+        String listed = reopened.list().toString();
+        assertTrue(listed.contains("read book"));
+        assertTrue(listed.contains("[D] [X] return book"));
+        assertFalse(listed.contains("scratch"));
+    }
+
+    @Test
+    void mutations_surviveSeveralRestartsWithoutSave() {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList tl = new TaskList(10, file);
+        assertTrue(tl.enableJournal());
+        tl.add("read book", TaskType.TODO);
+        tl.add("scratch", TaskType.TODO);
+        tl.close(); // crash
+
+        TaskList second = new TaskList(10, file);
+        assertTrue(second.enableJournal()); // must keep the segment it just replayed
+        second.add("team meeting", TaskType.TODO);
+        second.delete(1);
+        second.close(); // crash again
+
+        TaskList third = new TaskList(10, file);
+        assertEquals(2, third.size());
+        String listed = third.list().toString();
+        assertTrue(listed.contains("read book"));
+        assertTrue(listed.contains("team meeting"));
+        assertFalse(listed.contains("scratch"));
+    }
+
+    @Test
+    void save_truncatesJournal() throws Exception {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList tl = new TaskList(10, file);
+        tl.enableJournal();
+        tl.add("read book", TaskType.TODO);
+        assertTrue(tl.save());
+        tl.close();
+
+        assertEquals(0, TaskJournal.replay(TaskJournal.pathFor(file), new CountingReplayer()));
+        assertEquals(1, new TaskList(10, file).size());
+    }
+
+    @Test
+    void compaction_foldsJournalIntoSnapshot() throws Exception {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskList tl = new TaskList(100, file);
+        tl.enableJournal(Long.MAX_VALUE, 5);
+        for (int i = 0; i < 12; i++) {
+            tl.add("task " + i, TaskType.TODO);
+        }
+        tl.markDone(0);
+        tl.close(); // waits for the background compaction, no save()
+
+        String snapshot = Files.readString(Path.of(file));
+        assertTrue(snapshot.startsWith("# checkpoint "));
+        assertTrue(snapshot.contains("task 4"));
+        assertFalse(Files.exists(Path.of(file + ".log.old")));
+
+        TaskList reopened = new TaskList(100, file);
+        assertEquals(12, reopened.size());
+        assertTrue(reopened.list().toString().startsWith("1. [T] [X] task 0"));
+    }
+
+    @Test
+    void staleSegment_coveredByCheckpoint_isNotReplayedTwice() throws Exception {
+        String file = dir.resolve("tasks.txt").toString();
+        // Crash after the snapshot was swapped in but before the journal was reset.
+        Files.writeString(Path.of(file), "# checkpoint 3\nT | 0 | only once\n");
+        Files.writeString(TaskJournal.pathFor(file), "G 3\nA T | 0 | only once\n");
+
+        TaskList tl = new TaskList(10, file);
+        assertEquals(1, tl.size());
+    }
+
+    @Test
+    void sealedSegment_leftByACrash_isFoldedIntoTheSnapshotOnOpen() throws Exception {
+        String file = dir.resolve("tasks.txt").toString();
+        // Crash after the segment was sealed but before its compaction swapped the snapshot in.
+        Files.writeString(Path.of(file), "T | 0 | first\n");
+        Files.writeString(Path.of(file + ".log.old"), "G 1\nA T | 0 | second\n");
+        Files.writeString(TaskJournal.pathFor(file), "G 2\nA T | 0 | third\n");
+
+        TaskList tl = new TaskList(10, file);
+        assertTrue(tl.enableJournal());
+        assertFalse(Files.exists(Path.of(file + ".log.old")));
+        assertTrue(Files.readString(Path.of(file)).contains("second"));
+        tl.add("fourth", TaskType.TODO);
+        tl.close();
+
+        TaskList reopened = new TaskList(10, file);
+        assertEquals(4, reopened.size());
+        assertTrue(reopened.list().toString().contains("4. [T] [] fourth"));
+    }
+
+    @Test
+    void failedCompaction_isRetriedWithItsSnapshot() throws Exception {
+        String file = dir.resolve("tasks.txt").toString();
+        TaskJournal journal = new TaskJournal(file, 0);
+        JournalCompactor compactor = new JournalCompactor(1, 1);
+        assertFalse(compactor.retry(file, journal));
+
+        AtomicInteger writes = new AtomicInteger();
+        JournalCompactor.Snapshot snapshot = path -> writes.incrementAndGet() > 1; // the first write fails
+        assertTrue(journal.appendAdd("T | 0 | task"));
+        assertEquals(1, journal.rotate());
+        compactor.submit(file, snapshot, journal);
+        compactor.awaitIdle();
+        assertTrue(journal.hasSealed());
+        assertEquals(-1, journal.rotate());
+
+        assertTrue(compactor.retry(file, journal));
+        compactor.awaitIdle();
+        assertEquals(2, writes.get());
+        assertFalse(journal.hasSealed());
+        compactor.close();
+        journal.close();
+    }
+
+    @Test
+    void replay_ignoresTornTrailingRecord() throws Exception {
+        Path log = dir.resolve("j.log");
+        Files.writeString(log, "A T | 0 | one\nM 0\nA T | 0 | tw", StandardOpenOption.CREATE);
+        CountingReplayer counter = new CountingReplayer();
+        int replayed = TaskJournal.replay(log, counter);
+        assertEquals(2, replayed);
+        assertEquals(1, counter.adds);
+    }
+
+    @Test
+    void indexes_roundTripAsRanges() {
+        int[] indexes = {0, 1, 2, 3, 7, 9, 10, 412};
+        assertEquals("0-3,7,9-10,412", TaskJournal.formatIndexes(indexes));
+        assertArrayEquals(indexes, TaskJournal.parseIndexes("0-3,7,9-10,412"));
+        assertArrayEquals(new int[] {5}, TaskJournal.parseIndexes(" 5"));
+        assertThrows(NumberFormatException.class, () -> TaskJournal.parseIndexes("4-2"));
+    }
+
+    @Test
+    void replay_deletesSeveralIndexesOfOneRecordFromTheTop() throws Exception {
+        Path log = dir.resolve("j.log");
+        Files.writeString(log, "X 1-2,5\nX 4\n", StandardOpenOption.CREATE);
+        StringBuilder deleted = new StringBuilder();
+        TaskJournal.replay(log, new TaskJournal.Replayer() {
+            @Override
+            public void onAdd(String storageLine) { }
+
+            @Override
+            public void onMark(int idx, boolean done) { }
+
+            @Override
+            public void onDelete(int idx) { deleted.append(idx).append(' '); }
+        });
+        assertEquals("5 2 1 4 ", deleted.toString());
+    }
+
+    private static final class CountingReplayer implements TaskJournal.Replayer {
+        private int adds;
+
+        @Override
+        public void onAdd(String storageLine) { adds++; }
+
+        @Override
+        public void onMark(int idx, boolean done) { }
+
+        @Override
+        public void onDelete(int idx) { }
+    }
+}